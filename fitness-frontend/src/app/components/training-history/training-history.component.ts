@@ -18,6 +18,9 @@ export class TrainingHistoryComponent implements OnInit {
   history: SessionLogSummary[] = [];
   errorMessage = '';
   loading = true;
+  loadingMore = false;
+  nextCursor?: string;
+  hasMore = false;
 
   ngOnInit() {
     this.loadHistory();
@@ -25,16 +28,32 @@ export class TrainingHistoryComponent implements OnInit {
 
   loadHistory() {
     this.loading = true;
-    this.service.getTrainingHistory().subscribe({
-      next: (data) => {
-        // Nur abgeschlossene Trainings anzeigen
-        this.history = data.filter(log => log.status === 'COMPLETED');
+    this.history = [];
+    this.nextCursor = undefined;
+    this.loadPage();
+  }
+
+  loadMore() {
+    if (!this.hasMore || this.loadingMore) return;
+    this.loadingMore = true;
+    this.loadPage();
+  }
+
+  private loadPage() {
+    // Nur abgeschlossene Trainings anzeigen (Filter im Backend)
+    this.service.getTrainingHistory({ status: 'COMPLETED', cursor: this.nextCursor }).subscribe({
+      next: (page) => {
+        this.history = [...this.history, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.hasMore = page.hasMore;
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.detectChanges();
       },
       error: (err) => {
         this.errorMessage = 'Fehler beim Laden der Trainingshistorie: ' + err.message;
         this.loading = false;
+        this.loadingMore = false;
         this.cdr.detectChanges();
       }
     });
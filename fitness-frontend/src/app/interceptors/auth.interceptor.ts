@@ -4,10 +4,10 @@ import { AuthService } from '../services/auth.service';
 
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
-  const authHeader = authService.getBasicAuthHeader();
+  const authHeader = authService.getAuthHeader();
 
   if (authHeader) {
-    // Füge Basic Authentication Header hinzu
+    // Füge Bearer-Token Header hinzu
     const cloned = req.clone({
       setHeaders: {
         Authorization: authHeader
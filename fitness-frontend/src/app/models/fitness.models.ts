@@ -13,6 +13,29 @@ export interface ExerciseRequest {
   description?: string;
 }
 
+export interface ExerciseSearchHit {
+  id: number;
+  name: string;
+  category: string;
+  muscleGroups: string[];
+  score: number; // Relevanz (höher = besser)
+}
+
+export interface ExerciseSearchPage {
+  items: ExerciseSearchHit[];
+  page: number;
+  size: number;
+  total: number;
+}
+
+export interface SimilarExercise {
+  id: number;
+  name: string;
+  category: string;
+  muscleGroups: string[];
+  similarity: number; // 0..1, höher = ähnlicher
+}
+
 export interface TrainingPlanOverview {
   id: number;
   name: string;
@@ -90,6 +113,45 @@ export interface SessionLogSummary {
   startTime: string;
   endTime?: string;
   status: LogStatus;
+  newRecords?: PersonalRecordAchievement[]; // nur beim Abschluss: übertroffene Bestleistungen
+}
+
+// Eine Seite der Trainingshistorie (Keyset-Pagination)
+export interface SessionLogHistoryPage {
+  items: SessionLogSummary[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
+export interface SessionLogHistoryQuery {
+  status?: LogStatus;
+  templateId?: number;
+  from?: string;
+  to?: string;
+  cursor?: string;
+  size?: number;
+}
+
+// --- Auswertung: Trainingsvolumen (Sätze × Wiederholungen × Gewicht) ---
+export type VolumeGranularity = 'DAY' | 'WEEK' | 'MONTH';
+export type VolumeDimension = 'EXERCISE' | 'MUSCLE_GROUP';
+
+export interface VolumeQuery {
+  granularity?: VolumeGranularity;
+  dimension?: VolumeDimension;
+  from?: string; // yyyy-MM-dd
+  to?: string;   // yyyy-MM-dd
+}
+
+export interface VolumeBucket {
+  granularity: VolumeGranularity;
+  bucketStart: string; // erster Tag des Zeitraums
+  dimension: VolumeDimension;
+  dimensionId: number; // ID der Übung bzw. Bit der Muskelgruppe
+  label?: string;
+  volume: number;
+  sets: number;
+  reps: number;
 }
 
 // --- Session-Template Übersicht (Sprint 3) ---
@@ -109,3 +171,95 @@ export interface TrainingSessionTemplateRequest {
   name: string;
   orderIndex: number;
 }
+
+// --- Auswertung: persönliche Bestleistungen ---
+export type PersonalRecordType = 'MAX_WEIGHT' | 'ESTIMATED_ONE_REP_MAX' | 'MAX_VOLUME';
+
+export interface PersonalRecordAchievement {
+  exerciseId: number;
+  exerciseName?: string;
+  type: PersonalRecordType;
+  previousValue: number;
+  value: number;
+}
+
+export interface PersonalRecord {
+  exerciseId: number;
+  exerciseName?: string;
+  maxWeight?: number;
+  maxWeightReps?: number;
+  maxWeightAchievedAt?: string;
+  epleyOneRepMax?: number;
+  brzyckiOneRepMax?: number;
+  oneRepMaxWeight?: number;
+  oneRepMaxReps?: number;
+  oneRepMaxAchievedAt?: string;
+  maxVolume?: number;
+  maxVolumeAchievedAt?: string;
+}
+
+// --- Auswertung: Verhältnis akute (7 Tage) zu chronische (28 Tage) Belastung ---
+export interface WorkloadRatio {
+  muscleGroupBit: number;
+  muscleGroup?: string;
+  acuteLoad: number;
+  chronicLoad: number;
+  ratio?: number; // 1.0 = gleichbleibend, > 1.5 = starker Anstieg
+}
+
+// --- Auswertung: geplant vs. ausgeführt (spaltenorientierter Speicher) ---
+export type ExecutionGroupBy = 'EXERCISE' | 'DAY' | 'WEEK' | 'MONTH';
+
+export interface ExecutionStatsQuery {
+  exerciseId?: number;
+  groupBy?: ExecutionGroupBy;
+  from?: string; // yyyy-MM-dd
+  to?: string;   // yyyy-MM-dd
+}
+
+export interface ExecutionStats {
+  exerciseId?: number;
+  exerciseName?: string;
+  bucketStart?: string;
+  executions: number;
+  avgPlannedSets: number;
+  avgActualSets: number;
+  avgPlannedReps: number;
+  avgActualReps: number;
+  avgPlannedWeight: number;
+  avgActualWeight: number;
+  maxActualWeight: number;
+  plannedVolume: number;
+  actualVolume: number;
+}
+
+// --- Auswertung: Plantreue (geplant vs. ausgeführt) ---
+export interface AdherenceQuery {
+  granularity?: VolumeGranularity;
+  from?: string; // yyyy-MM-dd
+  to?: string;   // yyyy-MM-dd
+}
+
+export interface AdherenceStats {
+  sessionLogId?: number;
+  planId?: number;
+  planName?: string;
+  bucketStart?: string;
+  sessions: number;
+  plannedExercises: number;
+  completedExercises: number;
+  skippedExercises: number;
+  completionRate: number;       // 0..1
+  avgWeightDeviation?: number;  // relative Abweichung vom geplanten Gewicht
+  score: number;                // 0..1
+}
+
+export interface AdherenceReport {
+  from: string;
+  to: string;
+  granularity: VolumeGranularity;
+  overall: AdherenceStats;
+  plans: AdherenceStats[];
+  series: AdherenceStats[];
+  sessions: AdherenceStats[];
+}
@@ -9,6 +9,7 @@ export interface LoginRequest {
 }
 
 export interface LoginResponse {
+  token?: string;
   username: string;
   message: string;
 }
@@ -19,49 +20,47 @@ export interface LoginResponse {
 export class AuthService {
   private http = inject(HttpClient);
   private baseUrl = 'http://localhost:8080/api';
-  private readonly CREDENTIALS_KEY = 'auth_credentials';
+  private readonly TOKEN_KEY = 'auth_token';
   private readonly USERNAME_KEY = 'auth_username';
 
-  private isAuthenticatedSubject = new BehaviorSubject<boolean>(this.hasCredentials());
+  private isAuthenticatedSubject = new BehaviorSubject<boolean>(this.hasToken());
   public isAuthenticated$ = this.isAuthenticatedSubject.asObservable();
 
   private currentUserSubject = new BehaviorSubject<string | null>(this.getStoredUsername());
   public currentUser$ = this.currentUserSubject.asObservable();
 
   login(credentials: LoginRequest): Observable<LoginResponse> {
-    // Erstelle Basic Auth Header
-    const authHeader = this.createBasicAuthHeader(credentials.username, credentials.password);
-    
-    // Teste die Credentials mit einem einfachen Request
-    return this.http.get<any>(`${this.baseUrl}/auth/validate`, {
-      headers: { 'Authorization': authHeader }
-    }).pipe(
-      tap(() => {
-        // Speichere Credentials (base64 encoded)
-        this.storeAuthData(credentials.username, credentials.password);
+    // Passwort wird nur einmal beim Login übertragen, danach wird das Bearer-Token verwendet
+    return this.http.post<LoginResponse>(`${this.baseUrl}/auth/login`, credentials).pipe(
+      tap(response => {
+        this.storeAuthData(response.token ?? '', response.username);
         this.isAuthenticatedSubject.next(true);
-        this.currentUserSubject.next(credentials.username);
+        this.currentUserSubject.next(response.username);
       }),
-      map(() => ({
-        username: credentials.username,
-        message: 'Anmeldung erfolgreich'
+      map(response => ({
+        username: response.username,
+        message: response.message
       })),
       catchError(this.handleError)
     );
   }
 
   logout(): void {
+    const authHeader = this.getAuthHeader();
+    if (authHeader) {
+      // Token serverseitig ungültig machen (Fehler ignorieren, lokal wird trotzdem abgemeldet)
+      this.http.post(`${this.baseUrl}/auth/logout`, null, {
+        headers: { 'Authorization': authHeader }
+      }).subscribe({ error: () => {} });
+    }
     this.clearAuthData();
     this.isAuthenticatedSubject.next(false);
     this.currentUserSubject.next(null);
   }
 
-  getBasicAuthHeader(): string | null {
-    const credentials = this.getStoredCredentials();
-    if (!credentials) {
-      return null;
-    }
-    return this.createBasicAuthHeader(credentials.username, credentials.password);
+  getAuthHeader(): string | null {
+    const token = localStorage.getItem(this.TOKEN_KEY);
+    return token ? `Bearer ${token}` : null;
   }
 
   getUsername(): string | null {
@@ -69,41 +68,24 @@ export class AuthService {
   }
 
   isLoggedIn(): boolean {
-    return this.hasCredentials();
-  }
-
-  private createBasicAuthHeader(username: string, password: string): string {
-    const credentials = btoa(`${username}:${password}`);
-    return `Basic ${credentials}`;
+    return this.hasToken();
   }
 
-  private hasCredentials(): boolean {
-    return !!localStorage.getItem(this.CREDENTIALS_KEY);
+  private hasToken(): boolean {
+    return !!localStorage.getItem(this.TOKEN_KEY);
   }
 
   private getStoredUsername(): string | null {
     return localStorage.getItem(this.USERNAME_KEY);
   }
 
-  private getStoredCredentials(): { username: string; password: string } | null {
-    const credentialsJson = localStorage.getItem(this.CREDENTIALS_KEY);
-    if (!credentialsJson) {
-      return null;
-    }
-    try {
-      return JSON.parse(credentialsJson);
-    } catch {
-      return null;
-    }
-  }
-
-  private storeAuthData(username: string, password: string): void {
-    localStorage.setItem(this.CREDENTIALS_KEY, JSON.stringify({ username, password }));
+  private storeAuthData(token: string, username: string): void {
+    localStorage.setItem(this.TOKEN_KEY, token);
     localStorage.setItem(this.USERNAME_KEY, username);
   }
 
   private clearAuthData(): void {
-    localStorage.removeItem(this.CREDENTIALS_KEY);
+    localStorage.removeItem(this.TOKEN_KEY);
     localStorage.removeItem(this.USERNAME_KEY);
   }
 
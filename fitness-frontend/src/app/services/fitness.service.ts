@@ -1,11 +1,14 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient, HttpErrorResponse } from '@angular/common/http';
+import { HttpClient, HttpErrorResponse, HttpParams } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
 import { catchError } from 'rxjs/operators';
 import {
-  Exercise, ExerciseRequest,
+  Exercise, ExerciseRequest, ExerciseSearchPage, SimilarExercise,
   TrainingPlanOverview, TrainingPlanDetail, TrainingPlanRequest,
   ExerciseExecutionTemplate, SessionLog, ExecutionLog, SessionLogSummary,
+  SessionLogHistoryPage, SessionLogHistoryQuery,
+  VolumeBucket, VolumeQuery, PersonalRecord, WorkloadRatio, ExecutionStats, ExecutionStatsQuery,
+  AdherenceReport, AdherenceQuery,
   TrainingSessionTemplateOverview, TrainingSessionTemplateRequest
 } from '../models/fitness.models';
 
@@ -23,6 +26,38 @@ export class FitnessService {
     return this.http.get<Exercise[]>(`${this.baseUrl}/exercises`);
   }
 
+  // Volltext-/Tippfehler-Suche über Name, Beschreibung und Muskelgruppen
+  searchExercises(q: string, page = 0, size = 20): Observable<ExerciseSearchPage> {
+    const params = new HttpParams().set('q', q).set('page', page).set('size', size);
+    return this.http
+      .get<ExerciseSearchPage>(`${this.baseUrl}/exercises/search`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Übungen nach Muskelgruppen filtern (all = alle, any = mindestens eine, none = keine davon)
+  filterExercises(all: string[] = [], any: string[] = [], none: string[] = []): Observable<Exercise[]> {
+    let params = new HttpParams();
+    all.forEach(g => params = params.append('all', g));
+    any.forEach(g => params = params.append('any', g));
+    none.forEach(g => params = params.append('none', g));
+    return this.http
+      .get<Exercise[]>(`${this.baseUrl}/exercises/filter`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Ähnliche Übungen als Ersatz (z. B. wenn ein Gerät belegt ist)
+  getSimilarExercises(id: number, k = 5): Observable<SimilarExercise[]> {
+    return this.http
+      .get<SimilarExercise[]>(`${this.baseUrl}/exercises/${id}/similar`, { params: new HttpParams().set('k', k) })
+      .pipe(catchError(this.handleError));
+  }
+
+  getMuscleGroups(): Observable<string[]> {
+    return this.http
+      .get<string[]>(`${this.baseUrl}/exercises/muscle-groups`)
+      .pipe(catchError(this.handleError));
+  }
+
   getExerciseById(id: number): Observable<Exercise> {
     return this.http.get<Exercise>(`${this.baseUrl}/exercises/${id}`);
   }
@@ -124,6 +159,16 @@ export class FitnessService {
       .pipe(catchError(this.handleError));
   }
 
+  // Setzt die Reihenfolge aller Übungen einer Session in einem Request (vollständige ID-Liste)
+  reorderExerciseTemplates(sessionId: number, templateIds: number[]): Observable<ExerciseExecutionTemplate[]> {
+    return this.http
+      .put<ExerciseExecutionTemplate[]>(
+        `${this.baseUrl}/trainingsessions/${sessionId}/exercise-templates/order`,
+        { templateIds }
+      )
+      .pipe(catchError(this.handleError));
+  }
+
   deleteExerciseTemplate(sessionId: number, templateId: number): Observable<void> {
     return this.http
       .delete<void>(`${this.baseUrl}/trainingsessions/${sessionId}/exercise-templates/${templateId}`)
@@ -164,6 +209,21 @@ export class FitnessService {
       .pipe(catchError(this.handleError));
   }
 
+  // Speichert mehrere Übungen einer Session mit einem Request (eine Transaktion im Backend)
+  updateExecutionLogs(logId: number, payloads: {
+    executionLogId?: number;
+    actualSets: number;
+    actualReps: number;
+    actualWeight: number;
+    completed?: boolean;
+    notes?: string;
+    exerciseTemplateId?: number;
+  }[]): Observable<ExecutionLog[]> {
+    return this.http
+      .put<ExecutionLog[]>(`${this.baseUrl}/sessionlogs/${logId}/executions`, payloads)
+      .pipe(catchError(this.handleError));
+  }
+
   completeTraining(logId: number): Observable<SessionLog> {
     return this.http
       .post<SessionLog>(`${this.baseUrl}/sessionlogs/${logId}/complete`, {})
@@ -177,9 +237,77 @@ export class FitnessService {
   }
 
   // --- Training History ---
-  getTrainingHistory(): Observable<SessionLogSummary[]> {
+  // Seitenweise: nextCursor der vorherigen Seite als cursor übergeben
+  getTrainingHistory(query: SessionLogHistoryQuery = {}): Observable<SessionLogHistoryPage> {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+    return this.http
+      .get<SessionLogHistoryPage>(`${this.baseUrl}/sessionlogs/history`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Export der kompletten Historie als Datei (NDJSON oder CSV)
+  exportTrainingHistory(format: 'ndjson' | 'csv' = 'csv'): Observable<Blob> {
+    return this.http
+      .get(`${this.baseUrl}/sessionlogs/export`, { params: { format }, responseType: 'blob' })
+      .pipe(catchError(this.handleError));
+  }
+
+  // --- Auswertung ---
+  // Trainingsvolumen je Tag/Woche/Monat und Übung bzw. Muskelgruppe
+  getVolume(query: VolumeQuery = {}): Observable<VolumeBucket[]> {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+    return this.http
+      .get<VolumeBucket[]>(`${this.baseUrl}/analytics/volume`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Persönliche Bestleistungen je Übung (inkl. geschätztem 1RM)
+  getPersonalRecords(): Observable<PersonalRecord[]> {
+    return this.http
+      .get<PersonalRecord[]>(`${this.baseUrl}/analytics/records`)
+      .pipe(catchError(this.handleError));
+  }
+
+  // Belastungsverhältnis (akut/chronisch) je Muskelgruppe
+  getWorkload(): Observable<WorkloadRatio[]> {
+    return this.http
+      .get<WorkloadRatio[]>(`${this.baseUrl}/analytics/workload`)
+      .pipe(catchError(this.handleError));
+  }
+
+  // Geplant vs. ausgeführt je Übung oder Zeitraum
+  getExecutionStats(query: ExecutionStatsQuery = {}): Observable<ExecutionStats[]> {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+    return this.http
+      .get<ExecutionStats[]>(`${this.baseUrl}/analytics/executions`, { params })
+      .pipe(catchError(this.handleError));
+  }
+
+  // Plantreue gesamt, je Plan, je Zeitraum und je Session
+  getAdherence(query: AdherenceQuery = {}): Observable<AdherenceReport> {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
     return this.http
-      .get<SessionLogSummary[]>(`${this.baseUrl}/sessionlogs/history`)
+      .get<AdherenceReport>(`${this.baseUrl}/analytics/adherence`, { params })
       .pipe(catchError(this.handleError));
   }
 
@@ -0,0 +1,10 @@
+package com.example.fitnessapp.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Aktiviert @Scheduled-Methoden (z. B. das Aufräumen abgelaufener Tokens)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
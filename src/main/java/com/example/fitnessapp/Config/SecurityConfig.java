@@ -1,6 +1,8 @@
 package com.example.fitnessapp.Config;
 
-import com.example.fitnessapp.Security.CustomUserDetailsService;
+import com.example.fitnessapp.Security.BearerTokenAuthenticationFilter;
+import com.example.fitnessapp.Security.CachingAuthenticationProvider;
+import com.example.fitnessapp.Service.AuthService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,6 +12,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,14 +24,10 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final CustomUserDetailsService userDetailsService;
-
-    public SecurityConfig(CustomUserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
-    }
-
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   CachingAuthenticationProvider authenticationProvider,
+                                                   AuthService authService) throws Exception {
         http
             // CORS konfigurieren
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -38,18 +37,21 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             // HTTP Basic Authentication
             .httpBasic(httpBasic -> {})
+            // Bearer-Token (aus POST /api/auth/login) vor Basic Auth prüfen
+            .addFilterBefore(new BearerTokenAuthenticationFilter(authService), BasicAuthenticationFilter.class)
             // Authorization-Regeln
             .authorizeHttpRequests(auth -> auth
                 // Öffentliche Endpunkte
                 .requestMatchers("/api/auth/validate").authenticated() // Validiert Basic Auth
+                .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll() // Tauscht Benutzername/Passwort gegen ein Token
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 // Alle anderen API-Endpunkte erfordern Authentifizierung
                 .requestMatchers("/api/**").authenticated()
                 // Alle anderen Requests erlauben (für statische Ressourcen, etc.)
                 .anyRequest().permitAll()
             )
-            // UserDetailsService setzen
-            .userDetailsService(userDetailsService)
+            // AuthenticationProvider mit Cache für bereits geprüfte Anmeldedaten (BCrypt nur bei Cache-Miss)
+            .authenticationProvider(authenticationProvider)
             // Exception Handling für 401/403
             .exceptionHandling(exceptions -> exceptions
                 .authenticationEntryPoint((request, response, authException) -> {
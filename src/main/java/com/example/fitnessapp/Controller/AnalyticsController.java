@@ -0,0 +1,104 @@
+package com.example.fitnessapp.Controller;
+
+import com.example.fitnessapp.DTOs.AdherenceReportResponse;
+import com.example.fitnessapp.DTOs.ExecutionStatsResponse;
+import com.example.fitnessapp.DTOs.PersonalRecordResponse;
+import com.example.fitnessapp.DTOs.VolumeBucketResponse;
+import com.example.fitnessapp.DTOs.WorkloadRatioResponse;
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Security.RequiresAuth;
+import com.example.fitnessapp.Service.AcuteChronicWorkloadService;
+import com.example.fitnessapp.Service.AdherenceService;
+import com.example.fitnessapp.Service.ExecutionAnalyticsService;
+import com.example.fitnessapp.Service.ExecutionColumnStore;
+import com.example.fitnessapp.Service.PersonalRecordService;
+import com.example.fitnessapp.Service.VolumeRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final VolumeRollupService volumeRollupService;
+    private final PersonalRecordService personalRecordService;
+    private final AcuteChronicWorkloadService workloadService;
+    private final ExecutionAnalyticsService executionAnalyticsService;
+    private final AdherenceService adherenceService;
+
+    public AnalyticsController(VolumeRollupService volumeRollupService,
+                               PersonalRecordService personalRecordService,
+                               AcuteChronicWorkloadService workloadService,
+                               ExecutionAnalyticsService executionAnalyticsService,
+                               AdherenceService adherenceService) {
+        this.volumeRollupService = volumeRollupService;
+        this.personalRecordService = personalRecordService;
+        this.workloadService = workloadService;
+        this.executionAnalyticsService = executionAnalyticsService;
+        this.adherenceService = adherenceService;
+    }
+
+    /**
+     * Trainingsvolumen des angemeldeten Benutzers je Zeitraum und Übung bzw. Muskelgruppe
+     */
+    @GetMapping("/volume")
+    @RequiresAuth
+    public List<VolumeBucketResponse> volume(
+            @RequestParam(defaultValue = "WEEK") VolumeGranularity granularity, // DAY, WEEK oder MONTH
+            @RequestParam(defaultValue = "EXERCISE") VolumeDimension dimension, // EXERCISE oder MUSCLE_GROUP
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, // Optional: erster Tag (inklusive)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) { // Optional: letzter Tag (inklusive)
+        return volumeRollupService.getVolume(granularity, dimension, from, to);
+    }
+
+    /**
+     * Persönliche Bestleistungen des angemeldeten Benutzers je Übung (inkl. geschätztem 1RM nach Epley und Brzycki)
+     */
+    @GetMapping("/records")
+    @RequiresAuth
+    public List<PersonalRecordResponse> records() {
+        return personalRecordService.getRecords();
+    }
+
+    /**
+     * Verhältnis akute (7 Tage) zu chronische (28 Tage) Belastung des angemeldeten Benutzers je Muskelgruppe
+     */
+    @GetMapping("/workload")
+    @RequiresAuth
+    public List<WorkloadRatioResponse> workload() {
+        return workloadService.getWorkload();
+    }
+
+    /**
+     * Geplant vs. ausgeführt (Sätze, Wiederholungen, Gewicht) je Übung oder Zeitraum, aus dem spaltenorientierten Speicher
+     */
+    @GetMapping("/executions")
+    @RequiresAuth
+    public List<ExecutionStatsResponse> executions(
+            @RequestParam(required = false) Long exerciseId, // Optional: nur diese Übung
+            @RequestParam(defaultValue = "EXERCISE") ExecutionColumnStore.GroupBy groupBy, // EXERCISE, DAY, WEEK oder MONTH
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, // Optional: erster Tag (inklusive)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) { // Optional: letzter Tag (inklusive)
+        return executionAnalyticsService.getStats(exerciseId, from, to, groupBy);
+    }
+
+    /**
+     * Plantreue des angemeldeten Benutzers (Abschlussquote, Gewichtsabweichung, übersprungene Übungen)
+     * gesamt, je Trainingsplan, je Zeitraum und je Session
+     */
+    @GetMapping("/adherence")
+    @RequiresAuth
+    public AdherenceReportResponse adherence(
+            @RequestParam(defaultValue = "WEEK") VolumeGranularity granularity, // DAY, WEEK oder MONTH
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, // Optional: erster Tag (inklusive)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) { // Optional: letzter Tag (inklusive)
+        return adherenceService.getReport(granularity, from, to);
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.fitnessapp.Controller;
 
+import com.example.fitnessapp.DTOs.LoginRequest;
 import com.example.fitnessapp.DTOs.LoginResponse;
+import com.example.fitnessapp.Security.BearerTokenAuthenticationFilter;
+import com.example.fitnessapp.Service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -9,6 +15,29 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private final AuthService authService;
+
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * Prüft Benutzername/Passwort einmalig und liefert ein Bearer-Token für alle weiteren Requests
+     */
+    @PostMapping("/login")
+    public LoginResponse login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request);
+    }
+
+    /**
+     * Macht das übergebene Bearer-Token ungültig
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        authService.invalidateToken(BearerTokenAuthenticationFilter.extractToken(request));
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Validiert die Basic Authentication Credentials
      * Wird vom Frontend verwendet, um zu prüfen, ob die Anmeldedaten korrekt sind
@@ -23,4 +52,5 @@ public class AuthController {
                 .message("Authentifizierung erfolgreich")
                 .build();
     }
+
 }
@@ -0,0 +1,30 @@
+package com.example.fitnessapp.Controller;
+
+import com.example.fitnessapp.DTOs.CacheRegionStatsResponse;
+import com.example.fitnessapp.Security.RequiresAuth;
+import com.example.fitnessapp.Service.EntityCacheStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    private final EntityCacheStatsService cacheStatsService;
+
+    public CacheStatsController(EntityCacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    /**
+     * Liefert Treffer-/Fehlzugriffszahlen je Region des Second-Level-Caches
+     */
+    @GetMapping("/stats")
+    @RequiresAuth
+    public List<CacheRegionStatsResponse> stats() {
+        return cacheStatsService.stats();
+    }
+}
@@ -2,11 +2,18 @@ package com.example.fitnessapp.Controller;
 
 
 import com.example.fitnessapp.DTOs.ExerciseRequest;
+import com.example.fitnessapp.DTOs.ExerciseSearchPage;
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
 import com.example.fitnessapp.Model.Exercise1;
 import com.example.fitnessapp.Security.RequiresAuth;
+import com.example.fitnessapp.Service.ExerciseCatalogSnapshot;
+import com.example.fitnessapp.Service.ExerciseSearchIndex;
 import com.example.fitnessapp.Service.ExerciseService1;
+import com.example.fitnessapp.Service.ExerciseSimilarityIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,9 +27,43 @@ public class ExerciseController1 {
     @Autowired
     private ExerciseService1 exerciseService1;
 
+    @Autowired
+    private ExerciseCatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private ExerciseSearchIndex searchIndex;
+
+    @Autowired
+    private ExerciseSimilarityIndex similarityIndex;
+
     @GetMapping // GET-Anfrage auf /api/exercises -> alle Übungen werden zurückgegeben
-    public List<Exercise1> getAllExercises() {
-        return exerciseService1.getAllExercises();
+    public ResponseEntity<byte[]> getAllExercises() {
+        // Fertig serialisierter Katalog; bei passendem If-None-Match antwortet Spring mit 304 ohne Body
+        ExerciseCatalogSnapshot.Snapshot snapshot = catalogSnapshot.get();
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache()) // Client darf speichern, muss aber per ETag nachfragen
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/search") // GET-Anfrage auf /api/exercises/search?q=... -> Volltext-/Tippfehler-Suche (beste Treffer zuerst)
+    public ExerciseSearchPage searchExercises(@RequestParam String q,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        return searchIndex.search(q, page, size);
+    }
+
+    @GetMapping("/filter") // GET-Anfrage auf /api/exercises/filter?all=Brust,Trizeps -> Übungen nach Muskelgruppen filtern
+    public List<Exercise1> filterExercises(@RequestParam(defaultValue = "") List<String> all,
+                                           @RequestParam(defaultValue = "") List<String> any,
+                                           @RequestParam(defaultValue = "") List<String> none) {
+        return exerciseService1.filterByMuscleGroups(all, any, none);
+    }
+
+    @GetMapping("/muscle-groups") // GET-Anfrage auf /api/exercises/muscle-groups -> alle bekannten Muskelgruppen
+    public List<String> getMuscleGroups() {
+        return exerciseService1.getMuscleGroups();
     }
 
     @GetMapping("/{id}") // GET-Anfrage auf /api/exercises/{id} -> gibt eine Übung mit passender ID zurück
@@ -30,6 +71,12 @@ public class ExerciseController1 {
         return ResponseEntity.ok(exerciseService1.getExerciseById(id));
     }
 
+    @GetMapping("/{id}/similar") // GET-Anfrage auf /api/exercises/{id}/similar?k=5 -> ähnliche Übungen als Ersatz
+    public List<SimilarExerciseResponse> getSimilarExercises(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "5") int k) {
+        return similarityIndex.findSimilar(id, k);
+    }
+
     @PostMapping // POST-Anfrage auf /api/exercises -> erstellt eine neue Übung
     @RequiresAuth
     public ResponseEntity<Exercise1> createExercise(@Valid @RequestBody ExerciseRequest exercise) {
@@ -2,6 +2,8 @@ package com.example.fitnessapp.Controller;
 
 import com.example.fitnessapp.DTOs.ExerciseExecutionTemplateRequest;
 import com.example.fitnessapp.DTOs.ExerciseExecutionTemplateResponse;
+import com.example.fitnessapp.DTOs.ExerciseTemplateOrderRequest;
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
 import com.example.fitnessapp.Security.RequiresAuth;
 import com.example.fitnessapp.Service.ExerciseExecutionTemplateService;
 import jakarta.validation.Valid;
@@ -42,6 +44,20 @@ public class ExerciseExecutionTemplateController {
         return service.update(id, request);  // Aktualisiert das Template über den Service
     }
 
+    @PutMapping("/order") // PUT-Endpunkt zum Umsortieren aller Exercise-Templates einer Trainingseinheit in einem Schritt
+    @RequiresAuth
+    public List<ExerciseExecutionTemplateResponse> reorder(@PathVariable Long sessionId,
+                                                           @Valid @RequestBody ExerciseTemplateOrderRequest request) { // Vollständige, geordnete ID-Liste
+        return service.reorder(sessionId, request.getTemplateIds()); // Liefert die Templates in neuer Reihenfolge zurück
+    }
+
+    @GetMapping("/{id}/substitutes") // GET-Endpunkt für Ersatzübungen (z. B. wenn das Gerät belegt ist)
+    public List<SimilarExerciseResponse> substitutes(@PathVariable Long sessionId,
+                                                     @PathVariable Long id,
+                                                     @RequestParam(defaultValue = "5") int k) { // Anzahl Vorschläge
+        return service.getSubstitutes(sessionId, id, k); // Tausch erfolgt anschließend über PUT /{id}
+    }
+
     @DeleteMapping("/{id}")   // DELETE-Endpunkt zum Löschen eines Exercise-Templates
     @RequiresAuth
     public ResponseEntity<Void> delete(@PathVariable Long id) { // Löscht das Template anhand der ID
@@ -1,21 +1,33 @@
 package com.example.fitnessapp.Controller;
 
 import com.example.fitnessapp.DTOs.*;
+import com.example.fitnessapp.Model.LogStatus;
+import com.example.fitnessapp.Security.CurrentUser;
+import com.example.fitnessapp.Service.SessionLogExportService;
 import com.example.fitnessapp.Service.SessionLogService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController // REST-Controller für das Logging und die Steuerung von Trainingseinheiten
 @RequestMapping("/api/sessionlogs") // Basis-URL für alle Session-Log-Endpunkte
 public class SessionLogController {
 
     private final SessionLogService service; // Service-Schicht mit der Geschäftslogik für Session-Logs
+    private final SessionLogExportService exportService; // Export der Historie (NDJSON/CSV)
 
-    public SessionLogController(SessionLogService service) {
+    public SessionLogController(SessionLogService service, SessionLogExportService exportService) {
         this.service = service;
+        this.exportService = exportService;
     } // Konstruktor-Injection des Services
 
     @PostMapping("/start") // Startet eine neue Trainingseinheit (Session-Log)
@@ -23,9 +35,28 @@ public class SessionLogController {
         return service.start(request);   // Delegiert den Start der Session an den Service
     }
 
-    @GetMapping("/history") // Liefert die Trainingshistorie des angemeldeten Benutzers
-    public List<SessionLogSummaryResponse> getHistory() { // Trainingshistorie (nur eigene Sessions)
-        return service.getTrainingHistory(); // Ruft die Historie über den Service ab
+    @GetMapping("/history") // Liefert die Trainingshistorie des angemeldeten Benutzers seitenweise (neueste zuerst)
+    public SessionLogHistoryPage getHistory( // Trainingshistorie (nur eigene Sessions)
+            @RequestParam(required = false) LogStatus status, // Optional: nur Sessions mit diesem Status
+            @RequestParam(required = false) Long templateId, // Optional: nur Sessions dieser Vorlage
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from, // Optional: Start ab (inklusive)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to, // Optional: Start vor (exklusive)
+            @RequestParam(required = false) String cursor, // nextCursor der vorherigen Seite
+            @RequestParam(defaultValue = "20") int size) { // Anzahl Einträge pro Seite (max. 100)
+        return service.getTrainingHistory(status, templateId, from, to, cursor, size); // Ruft die Historie über den Service ab
+    }
+
+    @GetMapping("/export") // Exportiert die komplette Historie des Benutzers als NDJSON (Standard) oder CSV
+    public void export(@RequestParam(defaultValue = "ndjson") String format, // Exportformat: ndjson oder csv
+                       HttpServletResponse response) throws IOException {
+        SessionLogExportService.Format exportFormat = SessionLogExportService.parseFormat(format);
+        boolean csv = exportFormat == SessionLogExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"training-history." + (csv ? "csv" : "ndjson") + "\"");
+        // Zeilen werden direkt aus dem Datenbank-Cursor in die Antwort geschrieben
+        exportService.export(CurrentUser.id(), exportFormat, response.getOutputStream());
     }
 
     @GetMapping("/{id}")  // Liefert Detailinformationen zu einer laufenden oder abgeschlossenen Session
@@ -38,6 +69,19 @@ public class SessionLogController {
         return service.updateExecution(request); // Übergibt das Update an den Service
     }
 
+    @PutMapping("/{id}/executions") // Aktualisiert alle übergebenen Execution-Logs einer Session in einer Transaktion
+    public List<ExecutionLogResponse> updateExecutions(@PathVariable Long id, // ID der Session aus der URL
+                                                       @RequestBody List<ExecutionLogUpdateRequest> requests) { // Werte werden im Service geprüft
+        return service.updateExecutions(id, requests); // Batch-Update über den Service
+    }
+
+    @PostMapping("/{id}/sets") // Nimmt einzelne Sätze (Wiederholungen, Gewicht, RPE) einer laufenden Session an
+    public ResponseEntity<Map<String, Object>> ingestSets(@PathVariable Long id, // ID der Session aus der URL
+                                                          @RequestBody List<SetLogRequest> requests) { // Werte werden im Service geprüft
+        int accepted = service.ingestSets(id, requests); // Sätze werden gepuffert und gesammelt geschrieben
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("accepted", accepted)); // HTTP 202: angenommen, noch nicht zwingend gespeichert
+    }
+
     @PostMapping("/{id}/complete") // Markiert eine Session als abgeschlossen und berechnet die Zusammenfassung
     public SessionLogSummaryResponse complete(@PathVariable Long id) { // ID der abzuschließenden Session
         return service.complete(id); // Schließt die Session über den Service ab
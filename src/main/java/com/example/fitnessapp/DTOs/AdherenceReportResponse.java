@@ -0,0 +1,24 @@
+package com.example.fitnessapp.DTOs;
+
+import com.example.fitnessapp.Model.VolumeGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdherenceReportResponse {
+    private LocalDate from; // Erster Tag des Zeitraums
+    private LocalDate to; // Letzter Tag des Zeitraums
+    private VolumeGranularity granularity; // Zeitauflösung der Zeitreihe
+    private AdherenceStatsResponse overall; // Alle Sessions im Zeitraum
+    private List<AdherenceStatsResponse> plans; // Je Trainingsplan
+    private List<AdherenceStatsResponse> series; // Je Zeitraum (nur Zeiträume mit Sessions)
+    private List<AdherenceStatsResponse> sessions; // Je Session, neueste zuerst
+}
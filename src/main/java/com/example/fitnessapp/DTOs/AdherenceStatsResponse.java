@@ -0,0 +1,26 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdherenceStatsResponse {
+    private Long sessionLogId; // Nur bei einzelnen Sessions gesetzt
+    private Long planId; // Trainingsplan (bei Sessions und Plänen; null = Vorlage ohne Plan)
+    private String planName; // Name des Trainingsplans
+    private LocalDate bucketStart; // Tag der Session bzw. erster Tag des Zeitraums
+    private int sessions; // Anzahl abgeschlossener Sessions
+    private int plannedExercises; // Geplante Übungen
+    private int completedExercises; // Abgeschlossene Übungen
+    private int skippedExercises; // Übersprungene Übungen
+    private double completionRate; // Abgeschlossen / geplant (0..1)
+    private Double avgWeightDeviation; // Mittlere relative Abweichung vom geplanten Gewicht (null = kein geplantes Gewicht)
+    private double score; // Abschlussquote × (1 − min(1, Gewichtsabweichung)), 0..1
+}
@@ -0,0 +1,19 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsResponse {
+    private String region; // Name der Cache-Region (Entity, Collection oder Abfrage-Cache)
+    private long elementCount; // Anzahl der Einträge im Speicher (-1 wenn vom Provider nicht geliefert)
+    private long hitCount; // Zugriffe ohne Datenbankabfrage
+    private long missCount; // Zugriffe, die in der Datenbank nachladen mussten
+    private long putCount; // In den Cache geschriebene Einträge
+    private double hitRate; // Anteil der Treffer (0..1)
+}
@@ -0,0 +1,18 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialCacheStatsResponse {
+    private long size; // Geschätzte Anzahl der Einträge im Cache
+    private long hitCount; // Anfragen ohne BCrypt-Prüfung
+    private long missCount; // Anfragen mit vollständiger Prüfung (DB + BCrypt)
+    private long evictionCount; // Wegen Größe oder TTL verdrängte Einträge
+    private double hitRate; // Anteil der Treffer (0..1)
+}
@@ -0,0 +1,28 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionStatsResponse {
+    private Long exerciseId; // ID der Übung (bei Gruppierung nach Übung)
+    private String exerciseName; // Name der Übung (bei Gruppierung nach Übung)
+    private LocalDate bucketStart; // Erster Tag des Zeitraums (bei Gruppierung nach Tag, Woche oder Monat)
+    private int executions; // Anzahl abgeschlossener Übungsausführungen
+    private double avgPlannedSets; // Durchschnittlich geplante Sätze
+    private double avgActualSets; // Durchschnittlich ausgeführte Sätze
+    private double avgPlannedReps; // Durchschnittlich geplante Wiederholungen
+    private double avgActualReps; // Durchschnittlich ausgeführte Wiederholungen
+    private double avgPlannedWeight; // Durchschnittlich geplantes Gewicht
+    private double avgActualWeight; // Durchschnittlich verwendetes Gewicht
+    private double maxActualWeight; // Höchstes verwendetes Gewicht
+    private double plannedVolume; // Summe geplanter Sätze × Wiederholungen × Gewicht
+    private double actualVolume; // Summe ausgeführter Sätze × Wiederholungen × Gewicht
+}
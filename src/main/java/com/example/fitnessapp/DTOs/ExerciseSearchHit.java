@@ -0,0 +1,20 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseSearchHit {
+    private Long id; // ID der Übung
+    private String name; // Name der Übung
+    private String category; // Kategorie der Übung
+    private Set<String> muscleGroups; // Betroffene Muskelgruppen
+    private double score; // Relevanz (höher = besser), Grundlage der Sortierung
+}
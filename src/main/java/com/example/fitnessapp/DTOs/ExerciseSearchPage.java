@@ -0,0 +1,19 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExerciseSearchPage {
+    private List<ExerciseSearchHit> items; // Treffer dieser Seite (beste zuerst)
+    private int page; // Aktuelle Seite (ab 0)
+    private int size; // Seitengröße
+    private long total; // Gesamtzahl der Treffer
+}
@@ -0,0 +1,13 @@
+package com.example.fitnessapp.DTOs;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExerciseTemplateOrderRequest { // Request-DTO zum Umsortieren aller Exercise-Templates einer Session
+
+    @NotNull
+    private List<Long> templateIds; // Vollständige Liste der Template-IDs in der gewünschten Reihenfolge (Position 1..n)
+}
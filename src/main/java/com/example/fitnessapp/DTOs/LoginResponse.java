@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class LoginResponse {
+    private String token; // Bearer-Token (nur bei POST /api/auth/login gesetzt)
     private String username;
     private String message;
 }
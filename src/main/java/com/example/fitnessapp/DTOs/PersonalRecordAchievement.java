@@ -0,0 +1,19 @@
+package com.example.fitnessapp.DTOs;
+
+import com.example.fitnessapp.Model.PersonalRecordType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecordAchievement {
+    private Long exerciseId; // ID der Übung
+    private String exerciseName; // Name der Übung
+    private PersonalRecordType type; // Art der Bestleistung
+    private double previousValue; // Bisherige Bestleistung
+    private double value; // Neue Bestleistung
+}
@@ -0,0 +1,27 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonalRecordResponse {
+    private Long exerciseId; // ID der Übung
+    private String exerciseName; // Name der Übung
+    private Double maxWeight; // Höchstes bewegtes Gewicht
+    private Integer maxWeightReps; // Wiederholungen mit diesem Gewicht
+    private LocalDateTime maxWeightAchievedAt; // Beginn der Session, in der das Gewicht erreicht wurde
+    private Double epleyOneRepMax; // Geschätztes 1RM nach Epley (Grundlage der Bestleistung)
+    private Double brzyckiOneRepMax; // Geschätztes 1RM nach Brzycki aus demselben Satz (null ab 37 Wiederholungen)
+    private Double oneRepMaxWeight; // Gewicht des Satzes, aus dem das 1RM geschätzt wurde
+    private Integer oneRepMaxReps; // Wiederholungen dieses Satzes
+    private LocalDateTime oneRepMaxAchievedAt; // Beginn der Session, in der das 1RM erreicht wurde
+    private Double maxVolume; // Höchstes Volumen einer Übungsausführung
+    private LocalDateTime maxVolumeAchievedAt; // Beginn der Session, in der das Volumen erreicht wurde
+}
@@ -0,0 +1,32 @@
+package com.example.fitnessapp.DTOs;
+
+import com.example.fitnessapp.Model.LogStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Eine Zeile des Exports: eine Übungsausführung inkl. der Daten ihrer Session (flach, ohne Entities)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // Wird von der JPQL-Konstruktor-Projektion verwendet (Reihenfolge beachten)
+public class SessionLogExportRow {
+    private Long sessionLogId; // ID der Session
+    private String sessionName; // Name der Session-Vorlage
+    private LocalDateTime startTime; // Startzeit der Session
+    private LocalDateTime endTime; // Endzeit der Session (null, wenn noch laufend)
+    private LogStatus status; // Status der Session
+    private String sessionNotes; // Notizen zur Session
+    private Long executionLogId; // ID der Übungsausführung (null, wenn die Session keine Übungen hat)
+    private String exerciseName; // Name der Übung
+    private Integer orderIndex; // Position der Übung in der Session
+    private Integer plannedSets; // Geplante Sätze
+    private Integer plannedReps; // Geplante Wiederholungen
+    private Double plannedWeight; // Geplantes Gewicht
+    private Integer actualSets; // Tatsächliche Sätze
+    private Integer actualReps; // Tatsächliche Wiederholungen
+    private Double actualWeight; // Tatsächliches Gewicht
+    private Boolean completed; // Übung abgeschlossen
+    private String executionNotes; // Notizen zur Übungsausführung
+}
@@ -0,0 +1,18 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionLogHistoryPage {
+    private List<SessionLogSummaryResponse> items; // Einträge dieser Seite (neueste zuerst)
+    private String nextCursor; // Cursor für die nächste Seite (null, wenn keine weiteren Einträge)
+    private boolean hasMore; // Gibt an, ob weitere Einträge vorhanden sind
+}
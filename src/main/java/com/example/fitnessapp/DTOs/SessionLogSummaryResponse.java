@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -19,6 +20,13 @@ public class SessionLogSummaryResponse {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private LogStatus status;
+    private List<PersonalRecordAchievement> newRecords; // Nur beim Abschluss: übertroffene Bestleistungen
+
+    // Für die Konstruktor-Projektion der Trainingshistorie
+    public SessionLogSummaryResponse(Long id, Long sessionTemplateId, String sessionName,
+                                     LocalDateTime startTime, LocalDateTime endTime, LogStatus status) {
+        this(id, sessionTemplateId, sessionName, startTime, endTime, status, null);
+    }
 }
 
 
@@ -0,0 +1,35 @@
+package com.example.fitnessapp.DTOs;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data // Lombok: erzeugt Getter, Setter, equals, hashCode und toString
+public class SetLogRequest {
+
+    @NotNull
+    private Long executionLogId; // Übung (ExecutionLog) innerhalb der Session, zu der der Satz gehört
+
+    @NotNull
+    @Positive
+    private Integer setNumber; // Nummer des Satzes (beginnend bei 1)
+
+    @NotNull
+    @Positive
+    private Integer reps; // Ausgeführte Wiederholungen
+
+    @NotNull
+    @PositiveOrZero
+    private Double weight; // Verwendetes Gewicht (0 erlaubt, z. B. Körpergewicht)
+
+    @DecimalMin("1.0")
+    @DecimalMax("10.0")
+    private Double rpe; // Optional: Belastungseinschätzung (1-10)
+
+    private LocalDateTime performedAt; // Optional: Zeitpunkt des Satzes (Standard: Empfangszeit)
+}
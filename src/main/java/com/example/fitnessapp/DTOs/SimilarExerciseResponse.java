@@ -0,0 +1,20 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarExerciseResponse {
+    private Long id; // ID der ähnlichen Übung
+    private String name; // Name der Übung
+    private String category; // Kategorie der Übung
+    private Set<String> muscleGroups; // Betroffene Muskelgruppen
+    private double similarity; // Ähnlichkeit zur Ausgangsübung (0..1, höher = ähnlicher)
+}
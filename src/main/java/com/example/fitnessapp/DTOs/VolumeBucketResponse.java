@@ -0,0 +1,25 @@
+package com.example.fitnessapp.DTOs;
+
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeBucketResponse {
+    private VolumeGranularity granularity; // Zeitauflösung (DAY, WEEK, MONTH)
+    private LocalDate bucketStart; // Erster Tag des Zeitraums
+    private VolumeDimension dimension; // Aufschlüsselung (EXERCISE, MUSCLE_GROUP)
+    private Long dimensionId; // ID der Übung bzw. Bit der Muskelgruppe
+    private String label; // Name der Übung bzw. Muskelgruppe
+    private double volume; // Summe aus Sätze × Wiederholungen × Gewicht
+    private long sets; // Anzahl Sätze
+    private long reps; // Anzahl Wiederholungen
+}
@@ -0,0 +1,18 @@
+package com.example.fitnessapp.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadRatioResponse {
+    private Integer muscleGroupBit; // Bit der Muskelgruppe im Wörterbuch
+    private String muscleGroup; // Name der Muskelgruppe
+    private double acuteLoad; // Volumen der letzten 7 Tage
+    private double chronicLoad; // Volumen der letzten 28 Tage
+    private Double ratio; // Akut/chronisch als Tagesdurchschnitte (1.0 = gleichbleibend, > 1.5 = starker Anstieg)
+}
@@ -14,16 +14,17 @@ import lombok.*;
 public class ExecutionLog {
 
     @Id // Markiert das Feld als Primärschlüssel
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "execution_log_seq") // Sequenz statt IDENTITY: IDENTITY würde JDBC-Batching für Inserts abschalten
+    @SequenceGenerator(name = "execution_log_seq", sequenceName = "execution_log_seq", allocationSize = 50)
     private Long id;
 
     //Verweist auf das zugehörige SessionLog zu dem diese Übung gehört
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "session_log_id")
     private SessionLog sessionLog;
 
     //Verweist auf die Vorlage der Übungsausführung (ExerciseExecutionTemplate) die diese spezifische Ausführung beschreibt
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "exercise_execution_template_id")
     private ExerciseExecutionTemplate exerciseTemplate;
 
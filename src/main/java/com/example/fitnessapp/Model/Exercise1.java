@@ -1,7 +1,10 @@
 package com.example.fitnessapp.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
@@ -11,9 +14,12 @@ import java.util.Set;
 @NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
 @AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
 @Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+@Cacheable // Second-Level-Cache: selten geänderte Katalogdaten
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exercise")
 public class Exercise1 {
     @Id // Markiert das Feld als Primärschlüssel
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_seq")
+    @SequenceGenerator(name = "exercise_seq", sequenceName = "exercise_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)   // Name darf nicht doppelt vorkommen und nicht null sein
@@ -23,9 +29,16 @@ public class Exercise1 {
     private String category;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exercise-muscle-groups")
     @CollectionTable(name = "exercise_muscle_groups", joinColumns = @JoinColumn(name = "exercise_id"))
     @Column(name = "muscle_group")  // Eine Liste von betroffenen Muskelgruppen (wird in separater Tabelle gespeichert)
     private Set<String> muscleGroups;
 
+    //Muskelgruppen als Bitmaske (Bits laut Wörterbuch MuscleGroup), wird vom ExerciseService1 mitgeführt
+    @JsonIgnore
+    @Column(nullable = false)
+    @Builder.Default
+    private long muscleGroupMask = 0L;
+
     private String description;
 }
@@ -4,6 +4,8 @@ package com.example.fitnessapp.Model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity//Kennzeichnet die Klasse als JPA-Entity
 @Getter //Generiert automatisch Getter-Methoden
@@ -11,19 +13,22 @@ import lombok.*;
 @NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
 @AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
 @Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+@Cacheable // Second-Level-Cache: selten geänderte Katalogdaten
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "exercise-execution-template")
 public class ExerciseExecutionTemplate {
 
     @Id // Markiert das Feld als Primärschlüssel
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercise_execution_template_seq")
+    @SequenceGenerator(name = "exercise_execution_template_seq", sequenceName = "exercise_execution_template_seq", allocationSize = 50)
     private Long id;
 
     //Verweist auf die zugehörige Trainingssitzung (TrainingSession1) in der diese Übung eingeplant ist
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "training_session_id")
     private TrainingSession1 trainingSession;
 
    //Verweist auf die spezifische Übung (Exercise1) die geplant ist
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "exercise_id")
     private Exercise1 exercise;
 
@@ -0,0 +1,30 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse ist ein Eintrag im Wörterbuch der Muskelgruppen.
+// Jede Muskelgruppe erhält ein festes Bit (0..63); die Muskelgruppen einer Übung werden als 64-Bit-Maske gespeichert.
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class MuscleGroup {
+
+    public static final int MAX_GROUPS = Long.SIZE; // Anzahl verfügbarer Bits in der Maske
+
+    //Bitposition in Exercise1.muscleGroupMask (wird vom Wörterbuch vergeben, nicht generiert)
+    @Id
+    @Column(name = "bit_index")
+    private Integer bit;
+
+    //Anzeigename, wie er zuerst eingegeben wurde (z. B. "Brust")
+    @Column(nullable = false)
+    private String name;
+
+    //Normalisierter Schlüssel (MuscleGroupDictionary.key), damit "brust" und "Brust" dasselbe Bit erhalten
+    @Column(nullable = false, unique = true)
+    private String normalizedKey;
+}
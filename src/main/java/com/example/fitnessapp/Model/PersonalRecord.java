@@ -0,0 +1,48 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse speichert die persönlichen Bestleistungen eines Benutzers für eine Übung.
+// Beim Abschluss einer Session werden nur die Übungen dieser Session verglichen und bei Bedarf überschrieben,
+// die Historie wird dafür nicht erneut gelesen.
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_personal_record_user_exercise",
+        columnNames = {"user_id", "exercise_id"}))
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class PersonalRecord {
+
+    @Id // Markiert das Feld als Primärschlüssel
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personal_record_seq")
+    @SequenceGenerator(name = "personal_record_seq", sequenceName = "personal_record_seq", allocationSize = 50)
+    private Long id;
+
+    //ID des Benutzers
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //ID der Übung
+    @Column(name = "exercise_id", nullable = false)
+    private Long exerciseId;
+
+    //Höchstes bewegtes Gewicht und die Wiederholungen dazu
+    private Double maxWeight;
+    private Integer maxWeightReps;
+    private LocalDateTime maxWeightAchievedAt;
+
+    //Höchstes geschätztes 1RM (Epley) und der Satz, aus dem es berechnet wurde
+    private Double estimatedOneRepMax;
+    private Double oneRepMaxWeight;
+    private Integer oneRepMaxReps;
+    private LocalDateTime oneRepMaxAchievedAt;
+
+    //Höchstes Volumen einer einzelnen Übungsausführung (Sätze × Wiederholungen × Gewicht)
+    private Double maxVolume;
+    private LocalDateTime maxVolumeAchievedAt;
+}
@@ -0,0 +1,11 @@
+package com.example.fitnessapp.Model;
+
+//Dieses Enum gibt an, welche Bestleistung übertroffen wurde
+public enum PersonalRecordType {
+    //Höchstes bewegtes Gewicht
+    MAX_WEIGHT,
+    //Höchstes geschätztes 1RM (Epley)
+    ESTIMATED_ONE_REP_MAX,
+    //Höchstes Volumen einer Übungsausführung
+    MAX_VOLUME
+}
@@ -0,0 +1,53 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse speichert, wie genau eine abgeschlossene Session dem Plan gefolgt ist (geplant vs. ausgeführt).
+// Gespeichert werden nur Summen, damit sich Sessions zu Plänen und Zeiträumen addieren lassen;
+// die Zeile wird beim Abschluss der Session einmal geschrieben.
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_session_adherence_log", columnNames = "session_log_id"),
+        indexes = @Index(name = "idx_session_adherence_user_day", columnList = "user_id, session_day"))
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class SessionAdherence {
+
+    @Id // Markiert das Feld als Primärschlüssel
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_adherence_seq")
+    @SequenceGenerator(name = "session_adherence_seq", sequenceName = "session_adherence_seq", allocationSize = 50)
+    private Long id;
+
+    //ID der abgeschlossenen Session
+    @Column(name = "session_log_id", nullable = false)
+    private Long sessionLogId;
+
+    //ID des Benutzers
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //ID des Trainingsplans der Vorlage (optional, kann auch null sein)
+    @Column(name = "plan_id")
+    private Long planId;
+
+    //Tag, an dem die Session begonnen wurde
+    @Column(name = "session_day", nullable = false)
+    private LocalDate sessionDay;
+
+    //Anzahl geplanter Übungen der Session
+    private int plannedExercises;
+
+    //Anzahl abgeschlossener Übungen (der Rest gilt als übersprungen)
+    private int completedExercises;
+
+    //Summe der relativen Gewichtsabweichungen |ausgeführt − geplant| / geplant der abgeschlossenen Übungen mit geplantem Gewicht
+    private double weightDeviationSum;
+
+    //Anzahl Übungen, die in weightDeviationSum eingehen
+    private int weightDeviationCount;
+}
@@ -8,6 +8,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+// Passt zur Sortierung der Trainingshistorie (Benutzer, Startzeit, ID) für Keyset-Pagination
+@Table(indexes = @Index(name = "idx_session_log_user_start", columnList = "user_id, start_time, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,15 +18,16 @@ import java.util.Set;
 public class SessionLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_log_seq")
+    @SequenceGenerator(name = "session_log_seq", sequenceName = "session_log_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "training_session_id")
     private TrainingSession1 templateSession;
     
     // Benutzer, dem diese Session zugeordnet ist (User-Isolation)
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
     
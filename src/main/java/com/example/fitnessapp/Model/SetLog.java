@@ -0,0 +1,66 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse speichert einen einzelnen ausgeführten Satz (Set) einer Übung während einer Trainingseinheit.
+// Die Einträge werden nur angehängt (append-only) und gesammelt per Batch-Insert geschrieben.
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Table(indexes = @Index(name = "idx_set_log_session_log", columnList = "session_log_id"))
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class SetLog {
+
+    @Id // Markiert das Feld als Primärschlüssel
+    // Sequenz statt IDENTITY, damit Hibernate die Inserts bündeln kann
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "set_log_seq")
+    @SequenceGenerator(name = "set_log_seq", sequenceName = "set_log_seq", allocationSize = 50)
+    private Long id;
+
+    //ID des zugehörigen SessionLogs (als Wert gespeichert, damit beim Schreiben keine Entities geladen werden)
+    @Column(name = "session_log_id", nullable = false)
+    private Long sessionLogId;
+
+    //ID des zugehörigen ExecutionLogs (Übung innerhalb der Session)
+    @Column(name = "execution_log_id", nullable = false)
+    private Long executionLogId;
+
+    //Nur für die Fremdschlüssel: ein Satz, der nach dem Abbruch seiner Session geschrieben wird, schlägt fehl statt zu verwaisen
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_log_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_set_log_session_log"))
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SessionLog sessionLog;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "execution_log_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(name = "fk_set_log_execution_log"))
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutionLog executionLog;
+
+    //Nummer des Satzes innerhalb der Übung (beginnend bei 1)
+    @Column(nullable = false)
+    private Integer setNumber;
+
+    //Tatsächlich ausgeführte Wiederholungen in diesem Satz
+    @Column(nullable = false)
+    private Integer reps;
+
+    //Verwendetes Gewicht in diesem Satz
+    @Column(nullable = false)
+    private Double weight;
+
+    //Optionale Belastungseinschätzung (Rate of Perceived Exertion, 1-10)
+    private Double rpe;
+
+    //Zeitpunkt, an dem der Satz ausgeführt wurde
+    @Column(nullable = false)
+    private LocalDateTime performedAt;
+}
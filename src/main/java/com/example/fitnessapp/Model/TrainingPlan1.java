@@ -3,6 +3,9 @@ package com.example.fitnessapp.Model;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
@@ -12,9 +15,13 @@ import java.util.List;
 @NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
 @AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
 @Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+@DynamicUpdate // Nur geänderte Spalten schreiben (sessionCount wird gesondert unter Zeilensperre gepflegt)
+@Cacheable // Second-Level-Cache: selten geänderte Katalogdaten
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "training-plan")
 public class TrainingPlan1 {
     @Id // Markiert das Feld als Primärschlüssel
-    @GeneratedValue(strategy = GenerationType.IDENTITY)//autom. erstellung von IDs durch die Datenbank
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_plan_seq")
+    @SequenceGenerator(name = "training_plan_seq", sequenceName = "training_plan_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false) //Name muss eindeutig und niht leer sein
@@ -23,6 +30,10 @@ public class TrainingPlan1 {
     @Column(nullable = false) // Beschreibung darf nicht leer sein
     private String description;
 
+    @Column(nullable = false) //Anzahl der Sessions mit diesem Plan (nur über TrainingPlanCounterRepository ändern)
+    @Builder.Default
+    private long sessionCount = 0;
+
     @OneToMany(mappedBy = "trainingPlan", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JsonIgnore //verhindert Endlosschleifen bei JSON-Ausgabe
     private List<TrainingSession1> sessions; //Liste aller Trainingseinheiten, die zum Plan gehören
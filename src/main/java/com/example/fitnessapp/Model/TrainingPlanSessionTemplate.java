@@ -13,9 +13,12 @@ import java.time.LocalDateTime;
 @Builder
 public class TrainingPlanSessionTemplate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_plan_session_template_seq")
+    @SequenceGenerator(name = "training_plan_session_template_seq", sequenceName = "training_plan_session_template_seq", allocationSize = 50)
     private Long id;
 
+    public static final int POSITION_GAP = 1024; // Abstand zwischen zwei Positionsschlüsseln nach einer Neunummerierung
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "training_plan_id")
     private TrainingPlan1 trainingPlan;
@@ -24,7 +27,8 @@ public class TrainingPlanSessionTemplate {
     @JoinColumn(name = "training_session_id")
     private TrainingSession1 trainingSession; // Referenz auf die Session-Vorlage
 
-    private Integer position; // optional: Reihenfolge innerhalb des Plans
+    // Sortierschlüssel innerhalb des Plans mit Lücken (Vielfache von POSITION_GAP), nicht die angezeigte Position 1..n
+    private Integer position;
 
     private LocalDateTime createdAt;
 
@@ -2,6 +2,9 @@ package com.example.fitnessapp.Model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Set;
 
@@ -11,9 +14,13 @@ import java.util.Set;
 @NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
 @AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
 @Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+@DynamicUpdate // Nur geänderte Spalten schreiben, damit die Zähler nicht mit veralteten Werten überschrieben werden
+@Cacheable // Second-Level-Cache: selten geänderte Katalogdaten
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "training-session")
 public class TrainingSession1 {
     @Id // Markiert das Feld als Primärschlüssel
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_session_seq")
+    @SequenceGenerator(name = "training_session_seq", sequenceName = "training_session_seq", allocationSize = 50)
     private Long id;
 
     //Verbindung zu einem Trainingsplan (optional, kann auch null sein)
@@ -29,6 +36,16 @@ public class TrainingSession1 {
     @Column(nullable = false)
     private Integer orderIndex;
 
+    //Anzahl der Übungs-Templates (nur über TrainingSessionCounterRepository ändern)
+    @Column(nullable = false)
+    @Builder.Default
+    private int exerciseCount = 0;
+
+    //Anzahl der SessionLogs zu dieser Vorlage (nur über TrainingSessionCounterRepository ändern)
+    @Column(nullable = false)
+    @Builder.Default
+    private long executionCount = 0;
+
     //Beziehung zu den Übungs-Templates über ExerciseExecutionTemplate
     @OneToMany(mappedBy = "trainingSession", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ExerciseExecutionTemplate> exerciseExecutions;
@@ -1,5 +1,6 @@
 package com.example.fitnessapp.Model;
 
+import com.example.fitnessapp.Security.UserCredentialListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,9 +11,11 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Table(name = "users")
+@EntityListeners(UserCredentialListener.class) // Verwirft gecachte Anmeldedaten bei Änderungen
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
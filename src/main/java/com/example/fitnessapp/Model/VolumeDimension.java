@@ -0,0 +1,9 @@
+package com.example.fitnessapp.Model;
+
+//Dieses Enum gibt an, wonach das Trainingsvolumen aufgeschlüsselt wird
+public enum VolumeDimension {
+    //Pro Übung (dimensionId = ID der Übung)
+    EXERCISE,
+    //Pro Muskelgruppe (dimensionId = Bit der Muskelgruppe im Wörterbuch)
+    MUSCLE_GROUP
+}
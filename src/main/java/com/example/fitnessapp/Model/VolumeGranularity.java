@@ -0,0 +1,24 @@
+package com.example.fitnessapp.Model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+//Dieses Enum gibt die Zeitauflösung der Volumen-Auswertung an
+public enum VolumeGranularity {
+    //Ein Eintrag pro Kalendertag
+    DAY,
+    //Ein Eintrag pro Woche (beginnend am Montag)
+    WEEK,
+    //Ein Eintrag pro Kalendermonat
+    MONTH;
+
+    //Liefert den ersten Tag des Zeitraums, in den das Datum fällt
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
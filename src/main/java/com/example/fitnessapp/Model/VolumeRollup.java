@@ -0,0 +1,59 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse speichert das aufsummierte Trainingsvolumen (Sätze × Wiederholungen × Gewicht)
+// eines Benutzers je Zeitraum und Übung bzw. Muskelgruppe.
+// Die Werte werden beim Abschluss einer Session erhöht, Auswertungen lesen nur diese Zeilen.
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_volume_rollup_bucket",
+        columnNames = {"user_id", "granularity", "dimension", "bucket_start", "dimension_id"}))
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class VolumeRollup {
+
+    @Id // Markiert das Feld als Primärschlüssel
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "volume_rollup_seq")
+    @SequenceGenerator(name = "volume_rollup_seq", sequenceName = "volume_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    //ID des Benutzers (als Wert gespeichert, damit beim Aktualisieren keine Entities geladen werden)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //Zeitauflösung (Tag, Woche, Monat)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VolumeGranularity granularity;
+
+    //Aufschlüsselung (Übung oder Muskelgruppe)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VolumeDimension dimension;
+
+    //ID der Übung bzw. Bit der Muskelgruppe
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    //Erster Tag des Zeitraums
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    //Summe aus Sätze × Wiederholungen × Gewicht
+    @Column(nullable = false)
+    private double volume;
+
+    //Summe der Sätze
+    @Column(nullable = false)
+    private long sets;
+
+    //Summe der Wiederholungen (Sätze × Wiederholungen)
+    @Column(nullable = false)
+    private long reps;
+}
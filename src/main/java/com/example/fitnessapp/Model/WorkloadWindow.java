@@ -0,0 +1,40 @@
+package com.example.fitnessapp.Model;
+
+// Diese Klasse speichert die Trainingsbelastung der letzten 28 Tage eines Benutzers für eine Muskelgruppe
+// als Ringpuffer mit einem Eintrag pro Tag (Grundlage für das Verhältnis akute/chronische Belastung).
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity //Kennzeichnet die Klasse als JPA-Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_workload_window_user_group",
+        columnNames = {"user_id", "muscle_group_bit"}))
+@Getter //Generiert automatisch Getter-Methoden
+@Setter //Generiert automatisch Setter-Methoden
+@NoArgsConstructor //Erstellt einen parameterlosen Konstruktor
+@AllArgsConstructor // Erstellt einen Konstruktor mit allen Parametern
+@Builder //Ermöglicht das Erstellen von Objekten mit dem Builder-Pattern
+public class WorkloadWindow {
+
+    @Id // Markiert das Feld als Primärschlüssel
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workload_window_seq")
+    @SequenceGenerator(name = "workload_window_seq", sequenceName = "workload_window_seq", allocationSize = 50)
+    private Long id;
+
+    //ID des Benutzers
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //Bit der Muskelgruppe im Wörterbuch
+    @Column(name = "muscle_group_bit", nullable = false)
+    private Integer muscleGroupBit;
+
+    //Jüngster Tag im Ringpuffer
+    @Column(nullable = false)
+    private LocalDate lastDay;
+
+    //Tagesbelastungen als 28 Double-Werte (Index = Epochentag modulo 28)
+    @Column(nullable = false, length = 8 * 28)
+    private byte[] dailyLoads;
+}
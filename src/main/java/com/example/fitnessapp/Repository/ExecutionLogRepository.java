@@ -3,12 +3,116 @@ package com.example.fitnessapp.Repository;
 import com.example.fitnessapp.Model.ExecutionLog;
 import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
 import com.example.fitnessapp.Model.SessionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ExecutionLogRepository extends JpaRepository<ExecutionLog, Long> {
     Optional<ExecutionLog> findBySessionLogAndExerciseTemplate(SessionLog sessionLog, ExerciseExecutionTemplate exerciseTemplate);
-}
 
+    // Lädt ein ExecutionLog zusammen mit SessionLog und Übung in einer Abfrage (für Besitzprüfung und Response)
+    @Query("SELECT e FROM ExecutionLog e JOIN FETCH e.sessionLog JOIN FETCH e.exerciseTemplate t JOIN FETCH t.exercise WHERE e.id = :id")
+    Optional<ExecutionLog> findWithSessionLogById(@Param("id") Long id);
+
+    // Nur die IDs der ExecutionLogs einer Session (z. B. zur Prüfung eingehender Sätze)
+    @Query("SELECT e.id FROM ExecutionLog e WHERE e.sessionLog.id = :sessionLogId")
+    Set<Long> findIdsBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+
+    // Legt für jede Übungsvorlage der Trainingssession ein ExecutionLog mit den geplanten Werten an (eine INSERT ... SELECT-Anweisung).
+    // Nativ, da Hibernate bei gepoolter Sequenz die IDs per Temp-Tabelle und einem UPDATE je Zeile vergibt;
+    // die Sequenzwerte selbst liegen nie in einem von Hibernate reservierten Bereich.
+    // Query-Space nur execution_log, damit die native Anweisung nicht den ganzen Second-Level-Cache leert
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "execution_log"))
+    @Query(value = "INSERT INTO execution_log (id, session_log_id, exercise_execution_template_id, " +
+                   "actual_sets, actual_reps, actual_weight, completed) " +
+                   "SELECT NEXT VALUE FOR execution_log_seq, :sessionLogId, t.id, " +
+                   "t.planned_sets, t.planned_reps, t.planned_weight, FALSE " +
+                   "FROM exercise_execution_template t WHERE t.training_session_id = :trainingSessionId",
+           nativeQuery = true)
+    int insertFromTemplates(@Param("sessionLogId") Long sessionLogId, @Param("trainingSessionId") Long trainingSessionId);
+
+    // Paare (ExecutionLog-ID, Template-ID) einer Session, ohne Entities zu laden
+    @Query("SELECT e.id, e.exerciseTemplate.id FROM ExecutionLog e WHERE e.sessionLog.id = :sessionLogId")
+    List<Object[]> findIdAndTemplateIdBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+
+    // Volumen einer Session je Übung: [exerciseId, muscleGroupMask, Volumen, Sätze, Wiederholungen] (nur abgeschlossene Übungen)
+    @Query("SELECT ex.id, ex.muscleGroupMask, SUM(e.actualSets * e.actualReps * e.actualWeight), " +
+           "SUM(e.actualSets), SUM(e.actualSets * e.actualReps) " +
+           "FROM ExecutionLog e JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE e.sessionLog.id = :sessionLogId AND e.completed = true " +
+           "GROUP BY ex.id, ex.muscleGroupMask")
+    List<Object[]> sumVolumeBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+
+    // Wie oben, aber für alle abgeschlossenen Sessions eines Benutzers: [startTime, exerciseId, muscleGroupMask, Volumen, Sätze, Wiederholungen]
+    @Query("SELECT s.startTime, ex.id, ex.muscleGroupMask, SUM(e.actualSets * e.actualReps * e.actualWeight), " +
+           "SUM(e.actualSets), SUM(e.actualSets * e.actualReps) " +
+           "FROM ExecutionLog e JOIN e.sessionLog s JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE s.user.id = :userId AND s.status = com.example.fitnessapp.Model.LogStatus.COMPLETED AND e.completed = true " +
+           "GROUP BY s.id, s.startTime, ex.id, ex.muscleGroupMask")
+    List<Object[]> sumVolumeByUserId(@Param("userId") Long userId);
+
+    // Abgeschlossene Übungen einer Session für den Vergleich mit den Bestleistungen: [exerciseId, Name, Sätze, Wiederholungen, Gewicht]
+    @Query("SELECT ex.id, ex.name, e.actualSets, e.actualReps, e.actualWeight " +
+           "FROM ExecutionLog e JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE e.sessionLog.id = :sessionLogId AND e.completed = true AND e.actualReps > 0 AND e.actualWeight > 0")
+    List<Object[]> findCompletedSetsBySessionLogId(@Param("sessionLogId") Long sessionLogId);
 
+    // Volumen je Session und Übung ab einem Zeitpunkt: [startTime, muscleGroupMask, Volumen] (Neuaufbau der Belastungsfenster)
+    @Query("SELECT s.startTime, ex.muscleGroupMask, SUM(e.actualSets * e.actualReps * e.actualWeight) " +
+           "FROM ExecutionLog e JOIN e.sessionLog s JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE s.user.id = :userId AND s.status = com.example.fitnessapp.Model.LogStatus.COMPLETED " +
+           "AND e.completed = true AND s.startTime >= :since " +
+           "GROUP BY s.id, s.startTime, ex.id, ex.muscleGroupMask")
+    List<Object[]> sumVolumeByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    // Abgeschlossene Übungen aller abgeschlossenen Sessions für den spaltenorientierten Analyse-Speicher:
+    // [userId, startTime, exerciseId, plannedSets, plannedReps, plannedWeight, actualSets, actualReps, actualWeight, sessionLogId].
+    // Sessions ohne Startzeit lassen sich keinem Tag zuordnen und fehlen.
+    // Wird als Stream über einen Forward-only-Cursor gelesen (nur innerhalb einer Transaktion verwenden und schließen).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), // Zeilen pro Datenbank-Roundtrip
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.user.id, s.startTime, ex.id, t.plannedSets, t.plannedReps, t.plannedWeight, " +
+           "e.actualSets, e.actualReps, e.actualWeight, s.id " +
+           "FROM ExecutionLog e JOIN e.sessionLog s JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE s.status = com.example.fitnessapp.Model.LogStatus.COMPLETED AND e.completed = true " +
+           "AND s.startTime IS NOT NULL")
+    Stream<Object[]> streamColumnRows();
+
+    // Wie oben, aber nur für eine Session (Anhängen beim Abschluss)
+    @Query("SELECT s.user.id, s.startTime, ex.id, t.plannedSets, t.plannedReps, t.plannedWeight, " +
+           "e.actualSets, e.actualReps, e.actualWeight, s.id " +
+           "FROM ExecutionLog e JOIN e.sessionLog s JOIN e.exerciseTemplate t JOIN t.exercise ex " +
+           "WHERE s.id = :sessionLogId AND e.completed = true AND s.startTime IS NOT NULL")
+    List<Object[]> findColumnRowsBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+
+    // Geplant vs. ausgeführt je Session: [sessionLogId, startTime, planId, geplante Übungen, abgeschlossene Übungen,
+    // Summe |actualWeight − plannedWeight| / plannedWeight, Anzahl Übungen in dieser Summe] (nur Übungen mit geplantem Gewicht)
+    String ADHERENCE_SELECT = "SELECT s.id, s.startTime, p.id, COUNT(e), " +
+           "SUM(CASE WHEN e.completed = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.completed = true AND t.plannedWeight > 0 AND e.actualWeight IS NOT NULL " +
+           "THEN ABS(e.actualWeight - t.plannedWeight) / t.plannedWeight ELSE 0.0 END), " +
+           "SUM(CASE WHEN e.completed = true AND t.plannedWeight > 0 AND e.actualWeight IS NOT NULL THEN 1 ELSE 0 END) " +
+           "FROM ExecutionLog e JOIN e.sessionLog s JOIN e.exerciseTemplate t " +
+           "JOIN s.templateSession ts LEFT JOIN ts.trainingPlan p ";
+
+    @Query(ADHERENCE_SELECT + "WHERE s.id = :sessionLogId GROUP BY s.id, s.startTime, p.id")
+    List<Object[]> sumAdherenceBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+
+    // Wie oben, für alle abgeschlossenen Sessions eines Benutzers (Neuaufbau)
+    @Query(ADHERENCE_SELECT + "WHERE s.user.id = :userId AND s.status = com.example.fitnessapp.Model.LogStatus.COMPLETED " +
+           "GROUP BY s.id, s.startTime, p.id")
+    List<Object[]> sumAdherenceByUserId(@Param("userId") Long userId);
+}
@@ -1,15 +1,33 @@
 package com.example.fitnessapp.Repository;
 
 import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ExerciseExecutionTemplateRepository extends JpaRepository<ExerciseExecutionTemplate, Long> { // Spring Data JPA Repository für die ExerciseExecutionTemplate-Entity
 // Bietet CRUD-Operationen und benutzerdefinierte Abfragen
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // IDs im Abfrage-Cache, Templates und Übungen aus dem Second-Level-Cache
     List<ExerciseExecutionTemplate> findByTrainingSession_IdOrderByOrderIndexAsc(Long trainingSessionId);  // Liefert alle ExerciseExecutionTemplates einer Trainingssession, sortiert nach der Reihenfolge
 
+    @Query("SELECT t FROM ExerciseExecutionTemplate t JOIN FETCH t.exercise WHERE t.trainingSession.id = :trainingSessionId ORDER BY t.orderIndex ASC")
+    List<ExerciseExecutionTemplate> findWithExerciseByTrainingSessionId(@Param("trainingSessionId") Long trainingSessionId); // Wie oben, aber inkl. Übung in derselben Abfrage (z. B. für den Session-Start)
+
+    @Query("SELECT t.trainingSession.id FROM ExerciseExecutionTemplate t WHERE t.id = :id")
+    Optional<Long> findTrainingSessionIdById(@Param("id") Long id); // ID der Session eines Templates (ohne Entities zu laden)
+
+    @Query("SELECT t.exercise.id FROM ExerciseExecutionTemplate t WHERE t.trainingSession.id = :trainingSessionId")
+    List<Long> findExerciseIdsByTrainingSessionId(@Param("trainingSessionId") Long trainingSessionId); // IDs der Übungen, die bereits in der Session enthalten sind
+
+    long countByTrainingSession_Id(Long trainingSessionId); // Anzahl der Übungen einer Trainingssession (ohne die Templates zu laden)
+
     boolean existsByTrainingSession_IdAndOrderIndex(Long trainingSessionId, Integer orderIndex); // Prüft, ob bereits ein Template mit derselben Reihenfolge in der Session existiert
 
     boolean existsByTrainingSession_IdAndExercise_Id(Long trainingSessionId, Long exerciseId); // Prüft, ob eine Übung bereits in der Session existiert
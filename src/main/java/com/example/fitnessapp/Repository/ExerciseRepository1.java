@@ -1,15 +1,61 @@
 package com.example.fitnessapp.Repository;
 
 import com.example.fitnessapp.Model.Exercise1;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 // Repository-Schnittstelle für die Entity "Exercise1"
 // Ermöglicht Datenbankzugriffe (CRUD-Operationen) ohne eigene SQL-Abfragen
 public interface ExerciseRepository1 extends JpaRepository<Exercise1, Long> {
+    // Gesamter Übungskatalog; Ergebnis im Abfrage-Cache (wird bei jeder Änderung an exercise1 automatisch ungültig)
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Exercise1> findAll();
+
     // Sucht eine Übung anhand ihres Namens
     // Gibt ein Optional zurück (kann also leer sein, wenn kein Eintrag gefunden
     Optional<Exercise1> findByName(String name);
 
     Optional<Exercise1> findByNameAndIdNot(String name, Long id);
+
+    // Gesamter Katalog inkl. Muskelgruppen in einer Abfrage (Grundlage für den serialisierten Katalog-Schnappschuss)
+    @Query("SELECT DISTINCT e FROM Exercise1 e LEFT JOIN FETCH e.muscleGroups ORDER BY e.id")
+    List<Exercise1> findAllWithMuscleGroups();
+
+    // Einzelne Übung inkl. Muskelgruppen (z. B. für die Aktualisierung des Suchindex)
+    @Query("SELECT e FROM Exercise1 e LEFT JOIN FETCH e.muscleGroups WHERE e.id = :id")
+    Optional<Exercise1> findWithMuscleGroupsById(@Param("id") Long id);
+
+    // Alle Übungen inkl. Muskelgruppen-Maske für den Filter-Index (jeweils [id, muscleGroupMask], nach ID sortiert)
+    @Query("SELECT e.id, e.muscleGroupMask FROM Exercise1 e ORDER BY e.id")
+    List<Object[]> findAllMuscleGroupMasks();
+
+    // Merkmale für den Ähnlichkeitsindex: jeweils [id, muscleGroupMask, category]
+    @Query("SELECT e.id, e.muscleGroupMask, e.category FROM Exercise1 e")
+    List<Object[]> findAllSimilarityFeatures();
+
+    @Query("SELECT e.id, e.muscleGroupMask, e.category FROM Exercise1 e WHERE e.id = :id")
+    List<Object[]> findSimilarityFeaturesById(@Param("id") Long id);
+
+    @Query("SELECT e.muscleGroupMask FROM Exercise1 e WHERE e.id = :id")
+    Optional<Long> findMuscleGroupMaskById(@Param("id") Long id);
+
+    // Setzt die Maske direkt (z. B. für Übungen, die ohne ExerciseService1 angelegt wurden)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Exercise1 e SET e.muscleGroupMask = :mask WHERE e.id = :id")
+    int updateMuscleGroupMask(@Param("id") Long id, @Param("mask") long mask);
+
+    // Übungen zu den IDs inkl. Muskelgruppen in einer Abfrage (Ergebnis der Maskenfilter)
+    @Query("SELECT DISTINCT e FROM Exercise1 e LEFT JOIN FETCH e.muscleGroups WHERE e.id IN :ids ORDER BY e.name")
+    List<Exercise1> findAllWithMuscleGroupsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.MuscleGroup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Repository für das Wörterbuch der Muskelgruppen (Bit <-> Name)
+public interface MuscleGroupRepository extends JpaRepository<MuscleGroup, Integer> {
+}
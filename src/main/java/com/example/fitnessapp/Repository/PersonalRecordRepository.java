@@ -0,0 +1,15 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.PersonalRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PersonalRecordRepository extends JpaRepository<PersonalRecord, Long> {
+
+    // Bestleistungen eines Benutzers für die Übungen einer Session (eine Abfrage pro Abschluss)
+    List<PersonalRecord> findByUserIdAndExerciseIdIn(Long userId, Collection<Long> exerciseIds);
+
+    List<PersonalRecord> findByUserId(Long userId);
+}
@@ -0,0 +1,23 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.SessionAdherence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface SessionAdherenceRepository extends JpaRepository<SessionAdherence, Long> {
+
+    Optional<SessionAdherence> findBySessionLogId(Long sessionLogId);
+
+    // Sessions eines Benutzers im Zeitraum (nutzt den Index auf user_id, session_day)
+    List<SessionAdherence> findByUserIdAndSessionDayBetweenOrderBySessionDayAscIdAsc(Long userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM SessionAdherence a WHERE a.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
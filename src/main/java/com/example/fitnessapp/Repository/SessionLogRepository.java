@@ -1,24 +1,93 @@
 package com.example.fitnessapp.Repository;
 
+import com.example.fitnessapp.DTOs.SessionLogExportRow;
+import com.example.fitnessapp.DTOs.SessionLogSummaryResponse;
+import com.example.fitnessapp.Model.LogStatus;
 import com.example.fitnessapp.Model.SessionLog;
-import com.example.fitnessapp.Model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface SessionLogRepository extends JpaRepository<SessionLog, Long> {
     
     @Query("SELECT COUNT(sl) FROM SessionLog sl WHERE sl.templateSession.id = :sessionId")
     long countByTemplateSession_Id(@Param("sessionId") Long sessionId);
     
-    // Findet alle SessionLogs für einen bestimmten Benutzer (Trainingshistorie)
-    List<SessionLog> findByUserOrderByStartTimeDesc(User user);
+    // Trainingshistorie eines Benutzers als Keyset-Seite (neueste zuerst), nur die Spalten der Übersicht.
+    // Der Cursor (cursorStart, cursorId) ist der letzte Eintrag der vorherigen Seite; null = erste Seite.
+    @Query("SELECT new com.example.fitnessapp.DTOs.SessionLogSummaryResponse(" +
+            "sl.id, t.id, t.name, sl.startTime, sl.endTime, sl.status) " +
+            "FROM SessionLog sl JOIN sl.templateSession t " +
+            "WHERE sl.user.id = :userId " +
+            "AND (:status IS NULL OR sl.status = :status) " +
+            "AND (:templateId IS NULL OR t.id = :templateId) " +
+            "AND (:from IS NULL OR sl.startTime >= :from) " +
+            "AND (:to IS NULL OR sl.startTime < :to) " +
+            "AND (:cursorStart IS NULL OR sl.startTime < :cursorStart " +
+            "     OR (sl.startTime = :cursorStart AND sl.id < :cursorId)) " +
+            "ORDER BY sl.startTime DESC, sl.id DESC")
+    List<SessionLogSummaryResponse> findHistoryPage(@Param("userId") Long userId,
+                                                    @Param("status") LogStatus status,
+                                                    @Param("templateId") Long templateId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
     
     // Findet ein SessionLog anhand der ID, nur wenn es dem Benutzer gehört
-    Optional<SessionLog> findByIdAndUser(Long id, User user);
-}
+    Optional<SessionLog> findByIdAndUser_Id(Long id, Long userId);
+
+    // Wie findByIdAndUser_Id, sperrt die Zeile aber bis zum Ende der Transaktion (SELECT ... FOR UPDATE).
+    // Abschluss und Abbruch laufen so je SessionLog nacheinander und sehen den Status des jeweils anderen.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sl FROM SessionLog sl WHERE sl.id = :id AND sl.user.id = :userId")
+    Optional<SessionLog> findForUpdateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Liefert nur den Status eines SessionLogs des Benutzers (ohne die Entity zu laden)
+    @Query("SELECT sl.status FROM SessionLog sl WHERE sl.id = :id AND sl.user.id = :userId")
+    Optional<LogStatus> findStatusByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
+    // Lädt ein SessionLog des Benutzers inkl. Vorlage, aller ExecutionLogs, Templates und Übungen in einer Abfrage
+    @Query("SELECT DISTINCT sl FROM SessionLog sl JOIN FETCH sl.templateSession " +
+            "LEFT JOIN FETCH sl.exerciseLogs e LEFT JOIN FETCH e.exerciseTemplate t LEFT JOIN FETCH t.exercise " +
+            "WHERE sl.id = :id AND sl.user.id = :userId")
+    Optional<SessionLog> findWithExecutionsByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
+    // Gesamte Historie des Benutzers als flache Zeilen für den Export, chronologisch.
+    // Wird als Stream über einen Forward-only-Cursor gelesen (nur innerhalb einer Transaktion verwenden und schließen).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), // Zeilen pro Datenbank-Roundtrip
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.fitnessapp.DTOs.SessionLogExportRow(" +
+            "sl.id, ts.name, sl.startTime, sl.endTime, sl.status, sl.notes, " +
+            "e.id, x.name, t.orderIndex, t.plannedSets, t.plannedReps, t.plannedWeight, " +
+            "e.actualSets, e.actualReps, e.actualWeight, e.completed, e.notes) " +
+            "FROM SessionLog sl JOIN sl.templateSession ts " +
+            "LEFT JOIN sl.exerciseLogs e LEFT JOIN e.exerciseTemplate t LEFT JOIN t.exercise x " +
+            "WHERE sl.user.id = :userId " +
+            "ORDER BY sl.startTime ASC, sl.id ASC, t.orderIndex ASC")
+    Stream<SessionLogExportRow> streamExportRows(@Param("userId") Long userId);
+
+    // Benutzer mit mindestens einer abgeschlossenen Session (für den Neuaufbau der Volumen-Auswertung)
+    @Query("SELECT DISTINCT s.user.id FROM SessionLog s WHERE s.status = com.example.fitnessapp.Model.LogStatus.COMPLETED")
+    List<Long> findUserIdsWithCompletedLogs();
+
+    // Die noch vorhandenen SessionLogs unter den IDs (z. B. vor dem Schreiben gepufferter Sätze)
+    @Query("SELECT sl.id FROM SessionLog sl WHERE sl.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
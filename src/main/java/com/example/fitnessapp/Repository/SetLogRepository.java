@@ -0,0 +1,22 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.SetLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface SetLogRepository extends JpaRepository<SetLog, Long> {
+
+    // Alle Sätze einer Session in Ausführungsreihenfolge
+    List<SetLog> findBySessionLogIdOrderByPerformedAtAscIdAsc(Long sessionLogId);
+
+    // Löscht alle Sätze einer Session mit einer Anweisung (z. B. beim Abbruch)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SetLog s WHERE s.sessionLogId = :sessionLogId")
+    int deleteBySessionLogId(@Param("sessionLogId") Long sessionLogId);
+}
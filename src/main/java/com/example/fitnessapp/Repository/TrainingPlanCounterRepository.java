@@ -0,0 +1,8 @@
+package com.example.fitnessapp.Repository;
+
+// Zähleränderungen an TrainingPlan1 (Implementierung: TrainingPlanCounterRepositoryImpl)
+public interface TrainingPlanCounterRepository {
+
+    // Zähler der zugeordneten Sessions anpassen (delta = +1 / -1); liefert 0, wenn der Plan nicht existiert
+    int adjustSessionCount(Long id, long delta);
+}
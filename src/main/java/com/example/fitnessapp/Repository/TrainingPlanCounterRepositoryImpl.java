@@ -0,0 +1,36 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.TrainingPlan1;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ändert den Zähler atomar per UPDATE auf genau eine Zeile und verwirft nur den Cache-Eintrag dieses Plans,
+ * nicht die ganze Region "training-plan" (siehe TrainingSessionCounterRepositoryImpl).
+ */
+public class TrainingPlanCounterRepositoryImpl implements TrainingPlanCounterRepository {
+
+    private static final String COUNTER_SPACE = "training_plan_counters";
+
+    private final EntityManager entityManager;
+
+    public TrainingPlanCounterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int adjustSessionCount(Long id, long delta) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE training_plan1 SET session_count = session_count + :delta WHERE id = :id")
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, COUNTER_SPACE)
+                .executeUpdate();
+        if (updated > 0) {
+            TrainingSessionCounterRepositoryImpl.evictAfterCommit(entityManager, TrainingPlan1.class, id);
+        }
+        return updated;
+    }
+}
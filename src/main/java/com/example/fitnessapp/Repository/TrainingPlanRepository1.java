@@ -1,12 +1,31 @@
 package com.example.fitnessapp.Repository;
 
+import com.example.fitnessapp.DTOs.TrainingPlanOverviewResponse;
 import com.example.fitnessapp.Model.TrainingPlan1;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 // Repository für Datenbankzugriff auf die Klasse TrainingPlan1
-public interface TrainingPlanRepository1 extends JpaRepository<TrainingPlan1, Long> {
+public interface TrainingPlanRepository1 extends JpaRepository<TrainingPlan1, Long>, TrainingPlanCounterRepository {
     Optional<TrainingPlan1> findByName(String name);// sucht nach Trainingspläne anhand der Namen
 
     Optional<TrainingPlan1> findByNameAndIdNot(String name, Long id);
-}
\ No newline at end of file
+
+    // Übersicht aller Pläne inkl. Anzahl zugeordneter Sessions (Zählerspalte) in einer Abfrage
+    @Query("SELECT new com.example.fitnessapp.DTOs.TrainingPlanOverviewResponse(p.id, p.name, p.description, p.sessionCount) " +
+            "FROM TrainingPlan1 p ORDER BY p.id")
+    List<TrainingPlanOverviewResponse> findAllOverviews();
+
+    // Abgleich: korrigiert nur Zeilen, deren Zähler von der tatsächlichen Anzahl abweichen
+    // (Bulk-UPDATE leert die Cache-Region; läuft nur selten, laufende Änderungen gehen über TrainingPlanCounterRepository)
+    @Modifying
+    @Transactional
+    @Query("UPDATE TrainingPlan1 p SET p.sessionCount = (SELECT COUNT(s) FROM TrainingSession1 s WHERE s.trainingPlan = p) " +
+            "WHERE p.sessionCount <> (SELECT COUNT(s) FROM TrainingSession1 s WHERE s.trainingPlan = p)")
+    int reconcileSessionCounts();
+}
@@ -1,7 +1,10 @@
 package com.example.fitnessapp.Repository;
 
+import com.example.fitnessapp.DTOs.TrainingSessionSummaryResponse;
 import com.example.fitnessapp.Model.TrainingPlanSessionTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,17 @@ public interface TrainingPlanSessionTemplateRepository extends JpaRepository<Tra
     // Links nach SessionId
     List<TrainingPlanSessionTemplate> findByTrainingSession_Id(Long sessionId);
     void deleteByTrainingSession_Id(Long sessionId);
+
+    // Nur die Positionsschlüssel eines Plans (sortiert), ohne die Links selbst zu laden
+    @Query("SELECT l.position FROM TrainingPlanSessionTemplate l WHERE l.trainingPlan.id = :planId " +
+            "ORDER BY l.position ASC, l.id ASC")
+    List<Integer> findPositionsByPlanId(@Param("planId") Long planId);
+
+    // Session-Vorlagen eines Plans (nach Position) inkl. Anzahl Übungen in einer Abfrage;
+    // orderIndex enthält hier den (lückenhaften) Positionsschlüssel, der Service vergibt daraus 1..n
+    @Query("SELECT new com.example.fitnessapp.DTOs.TrainingSessionSummaryResponse(s.id, s.name, " +
+            "COALESCE(l.position, s.orderIndex), s.exerciseCount) " +
+            "FROM TrainingPlanSessionTemplate l JOIN l.trainingSession s " +
+            "WHERE l.trainingPlan.id = :planId ORDER BY l.position ASC, l.id ASC")
+    List<TrainingSessionSummaryResponse> findSessionSummariesByPlanId(@Param("planId") Long planId);
 }
@@ -0,0 +1,11 @@
+package com.example.fitnessapp.Repository;
+
+// Zähleränderungen an TrainingSession1 (Implementierung: TrainingSessionCounterRepositoryImpl)
+public interface TrainingSessionCounterRepository {
+
+    // Zähler der Übungs-Templates anpassen (delta = +1 / -1); liefert 0, wenn die Session nicht existiert
+    int adjustExerciseCount(Long id, int delta);
+
+    // Zähler der SessionLogs anpassen (delta = +1 / -1); liefert 0, wenn die Session nicht existiert
+    int adjustExecutionCount(Long id, long delta);
+}
@@ -0,0 +1,66 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.TrainingSession1;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ändert die Zähler mit einem atomaren UPDATE ... SET c = c + :delta auf genau eine Zeile.
+ * Ein Bulk-UPDATE per JPQL (oder ein natives ohne Query-Space) leert die ganze Region "training-session"
+ * im Second-Level-Cache; hier gehört der Query-Space zu keiner Entity, verworfen wird nur der Eintrag dieser ID.
+ * Kein gecachtes Abfrageergebnis liest die Zähler, der Abfrage-Cache muss daher nicht ungültig werden.
+ */
+public class TrainingSessionCounterRepositoryImpl implements TrainingSessionCounterRepository {
+
+    // Query-Space der Zähler-Updates (keiner Entity zugeordnet, siehe oben)
+    static final String COUNTER_SPACE = "training_session_counters";
+
+    private final EntityManager entityManager;
+
+    public TrainingSessionCounterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int adjustExerciseCount(Long id, int delta) {
+        return adjust("exercise_count", id, delta);
+    }
+
+    @Override
+    @Transactional
+    public int adjustExecutionCount(Long id, long delta) {
+        return adjust("execution_count", id, delta);
+    }
+
+    private int adjust(String column, Long id, long delta) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE training_session1 SET " + column + " = " + column + " + :delta WHERE id = :id")
+                .setParameter("delta", delta)
+                .setParameter("id", id)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, COUNTER_SPACE)
+                .executeUpdate();
+        if (updated > 0) {
+            evictAfterCommit(entityManager, TrainingSession1.class, id);
+        }
+        return updated;
+    }
+
+    // Verwirft den Cache-Eintrag sofort und nach dem Commit erneut: dazwischen kann eine parallele Abfrage
+    // noch den alten Stand aus der Datenbank gelesen und wieder gecacht haben
+    static void evictAfterCommit(EntityManager entityManager, Class<?> entityClass, Long id) {
+        var cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(entityClass, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(entityClass, id);
+                }
+            });
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.fitnessapp.Repository;
 
+import com.example.fitnessapp.DTOs.TrainingSessionTemplateOverviewResponse;
 import com.example.fitnessapp.Model.TrainingSession1;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface TrainingSessionRepository1 extends JpaRepository<TrainingSession1, Long> {
+public interface TrainingSessionRepository1 extends JpaRepository<TrainingSession1, Long>, TrainingSessionCounterRepository {
 
     //Sucht nach einer Session mit gleicher Reihenfolge und Plan (für Eindeutigkeit)
     Optional<TrainingSession1> findByTrainingPlan_IdAndOrderIndex(Long planId, Integer orderIndex);
@@ -21,6 +24,10 @@ public interface TrainingSessionRepository1 extends JpaRepository<TrainingSessio
 
     //Anzahl Sessions pro Plan
     long countByTrainingPlan_Id(Long trainingPlanId);
+
+    //ID des Plans einer Session (leer, wenn keinem Plan zugeordnet)
+    @Query("SELECT p.id FROM TrainingSession1 s JOIN s.trainingPlan p WHERE s.id = :id")
+    Optional<Long> findTrainingPlanIdById(@Param("id") Long id);
     
     //Alle Sessions (auch ohne Plan)
     List<TrainingSession1> findAllByOrderByIdAsc();
@@ -32,4 +39,31 @@ public interface TrainingSessionRepository1 extends JpaRepository<TrainingSessio
     // Suche nach Name (globale Einzigartigkeit)
     Optional<TrainingSession1> findByName(String name);
     Optional<TrainingSession1> findByNameAndIdNot(String name, Long id);
-}
\ No newline at end of file
+
+    // Übersicht der Session-Vorlagen inkl. Plan und Zählern (Zählerspalten, keine Aggregation beim Lesen)
+    String OVERVIEW_SELECT = "SELECT new com.example.fitnessapp.DTOs.TrainingSessionTemplateOverviewResponse(" +
+            "s.id, s.name, p.id, COALESCE(p.name, 'Kein Plan'), s.orderIndex, s.exerciseCount, s.executionCount) " +
+            "FROM TrainingSession1 s LEFT JOIN s.trainingPlan p ";
+
+    @Query(OVERVIEW_SELECT + "ORDER BY s.id ASC")
+    List<TrainingSessionTemplateOverviewResponse> findAllOverviews();
+
+    @Query(OVERVIEW_SELECT + "WHERE s.id = :id")
+    Optional<TrainingSessionTemplateOverviewResponse> findOverviewById(@Param("id") Long id);
+
+    // Abgleich: korrigiert nur Zeilen, deren Zähler von der tatsächlichen Anzahl abweichen
+    // (Bulk-UPDATE leert die Cache-Region; läuft nur selten, laufende Änderungen gehen über TrainingSessionCounterRepository)
+    @Modifying
+    @Transactional
+    @Query("UPDATE TrainingSession1 s SET s.exerciseCount = " +
+            "CAST((SELECT COUNT(t) FROM ExerciseExecutionTemplate t WHERE t.trainingSession = s) AS Integer) " +
+            "WHERE s.exerciseCount <> (SELECT COUNT(t) FROM ExerciseExecutionTemplate t WHERE t.trainingSession = s)")
+    int reconcileExerciseCounts();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TrainingSession1 s SET s.executionCount = " +
+            "(SELECT COUNT(sl) FROM SessionLog sl WHERE sl.templateSession = s) " +
+            "WHERE s.executionCount <> (SELECT COUNT(sl) FROM SessionLog sl WHERE sl.templateSession = s)")
+    int reconcileExecutionCounts();
+}
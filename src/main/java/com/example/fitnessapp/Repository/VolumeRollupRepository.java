@@ -0,0 +1,38 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Model.VolumeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VolumeRollupRepository extends JpaRepository<VolumeRollup, Long> {
+
+    // Addiert atomar auf eine bestehende Zeile (kein Lesen und Zurückschreiben, parallele Abschlüsse gehen nicht verloren).
+    // Liefert 0, wenn die Zeile noch nicht existiert.
+    @Modifying
+    @Query("UPDATE VolumeRollup r SET r.volume = r.volume + :volume, r.sets = r.sets + :sets, r.reps = r.reps + :reps " +
+            "WHERE r.userId = :userId AND r.granularity = :granularity AND r.bucketStart = :bucketStart " +
+            "AND r.dimension = :dimension AND r.dimensionId = :dimensionId")
+    int addToBucket(@Param("userId") Long userId, @Param("granularity") VolumeGranularity granularity,
+                    @Param("bucketStart") LocalDate bucketStart, @Param("dimension") VolumeDimension dimension,
+                    @Param("dimensionId") Long dimensionId,
+                    @Param("volume") double volume, @Param("sets") long sets, @Param("reps") long reps);
+
+    // Zeitreihe für die Auswertung (liest nur die vorberechneten Zeilen im Zeitraum)
+    @Query("SELECT r FROM VolumeRollup r WHERE r.userId = :userId AND r.granularity = :granularity " +
+            "AND r.dimension = :dimension AND r.bucketStart >= :from AND r.bucketStart <= :to " +
+            "ORDER BY r.bucketStart ASC, r.dimensionId ASC")
+    List<VolumeRollup> findSeries(@Param("userId") Long userId, @Param("granularity") VolumeGranularity granularity,
+                                  @Param("dimension") VolumeDimension dimension,
+                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM VolumeRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,32 @@
+package com.example.fitnessapp.Repository;
+
+import com.example.fitnessapp.Model.WorkloadWindow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WorkloadWindowRepository extends JpaRepository<WorkloadWindow, Long> {
+
+    // Alle Fenster eines Benutzers (höchstens eines pro Muskelgruppe)
+    List<WorkloadWindow> findByUserId(Long userId);
+
+    // Wie findByUserId, sperrt die Fenster aber bis zum Ende der Transaktion (Fortschreiben beim Abschluss)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WorkloadWindow w WHERE w.userId = :userId")
+    List<WorkloadWindow> findForUpdateByUserId(@Param("userId") Long userId);
+
+    // Seitenweises Durchlaufen nach ID für den täglichen Vorschub (Keyset statt OFFSET).
+    // Gesperrt, damit ein paralleler Abschluss nicht durch den Vorschub überschrieben wird.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<WorkloadWindow> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WorkloadWindow w WHERE w.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
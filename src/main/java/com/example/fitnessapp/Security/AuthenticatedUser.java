@@ -0,0 +1,78 @@
+package com.example.fitnessapp.Security;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal des angemeldeten Benutzers inkl. User-ID.
+ * Wird einmal pro Request bei der Authentifizierung aufgelöst (Basic Auth oder Token),
+ * damit Services den Benutzer nicht erneut aus der Datenbank laden müssen.
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long id;
+    private final String username;
+    private String password; // Nur während der Basic-Auth-Prüfung gesetzt, danach gelöscht
+
+    public AuthenticatedUser(Long id, String username, String password) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return DEFAULT_AUTHORITIES;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + "]";
+    }
+}
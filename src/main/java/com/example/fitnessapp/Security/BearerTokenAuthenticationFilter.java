@@ -0,0 +1,58 @@
+package com.example.fitnessapp.Security;
+
+import com.example.fitnessapp.Service.AuthService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authentifiziert Requests mit "Authorization: Bearer <token>" über die signierten Tokens des AuthService.
+ * Kein Datenbankzugriff und keine BCrypt-Prüfung pro Request.
+ * Wird bewusst nicht als @Component registriert, damit er nur in der Security-Filterkette läuft.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthService authService;
+
+    public BearerTokenAuthenticationFilter(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = extractToken(request);
+        if (token != null) {
+            TokenClaims claims = authService.resolveToken(token);
+            if (claims != null) {
+                AuthenticatedUser principal = new AuthenticatedUser(claims.userId(), claims.username(), null);
+                UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                        principal, null, principal.getAuthorities());
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Liest das Token aus dem Authorization-Header (null, wenn kein Bearer-Token vorhanden ist)
+    public static String extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+}
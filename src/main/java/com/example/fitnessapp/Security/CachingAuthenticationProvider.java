@@ -0,0 +1,53 @@
+package com.example.fitnessapp.Security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * AuthenticationProvider für HTTP Basic, der erfolgreiche Prüfungen zwischenspeichert.
+ * Nur bei einem Cache-Miss wird der Benutzer geladen und BCrypt ausgeführt.
+ */
+@Component
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final DaoAuthenticationProvider delegate;
+    private final VerifiedCredentialCache credentialCache;
+
+    public CachingAuthenticationProvider(CustomUserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder,
+                                         VerifiedCredentialCache credentialCache) {
+        this.delegate = new DaoAuthenticationProvider(userDetailsService);
+        this.delegate.setPasswordEncoder(passwordEncoder);
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || credentials == null) {
+            return delegate.authenticate(authentication);
+        }
+        String presentedPassword = credentials.toString();
+
+        Authentication cached = credentialCache.get(username, presentedPassword);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Fehlgeschlagene Anmeldungen werfen hier eine Exception und werden nicht gecacht
+        Authentication verified = delegate.authenticate(authentication);
+        credentialCache.put(username, presentedPassword, verified);
+        return verified;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
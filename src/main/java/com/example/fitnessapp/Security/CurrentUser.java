@@ -0,0 +1,32 @@
+package com.example.fitnessapp.Security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Zugriff auf den im SecurityContext hinterlegten Principal (ohne Datenbankabfrage)
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    /**
+     * @return Der angemeldete Benutzer
+     * @throws ResponseStatusException wenn der Benutzer nicht authentifiziert ist
+     */
+    public static AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Benutzer nicht authentifiziert");
+        }
+        return principal;
+    }
+
+    public static Long id() {
+        return get().getId();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.fitnessapp.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Erzeugt und prüft selbsttragende, HMAC-SHA256-signierte Tokens.
+ * Format: base64url(payload) + "." + base64url(signatur), payload = "v1|kid|userId|exp|jti|username".
+ * Jede Instanz mit denselben Schlüsseln kann ein Token lokal prüfen (kein gemeinsamer Zustand nötig).
+ * Schlüsselrotation: neue Tokens werden mit dem aktiven Schlüssel signiert, ältere Schlüssel bleiben
+ * zur Prüfung konfiguriert, bis alle damit signierten Tokens abgelaufen sind.
+ */
+@Component
+public class SignedTokenCodec {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, SecretKeySpec> keys = new HashMap<>();
+    private final String activeKeyId;
+
+    /**
+     * @param keySpec     Kommagetrennte Liste "kid:base64-secret"; leer = zufälliger Schlüssel (nur Einzelinstanz)
+     * @param activeKeyId Schlüssel-ID, mit der neue Tokens signiert werden
+     */
+    public SignedTokenCodec(@Value("${fitness.security.token.keys:}") String keySpec,
+                            @Value("${fitness.security.token.active-key-id:}") String activeKeyId) {
+        for (String part : keySpec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int sep = trimmed.indexOf(':');
+            if (sep <= 0) {
+                throw new IllegalArgumentException("Ungültiger Token-Schlüssel (erwartet kid:base64): " + trimmed);
+            }
+            String kid = trimmed.substring(0, sep);
+            byte[] secret = Base64.getDecoder().decode(trimmed.substring(sep + 1));
+            if (secret.length < 32) {
+                throw new IllegalArgumentException("Token-Schlüssel " + kid + " muss mindestens 256 Bit lang sein");
+            }
+            keys.put(kid, new SecretKeySpec(secret, HMAC_ALGORITHM));
+        }
+        if (keys.isEmpty()) {
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            keys.put("local", new SecretKeySpec(secret, HMAC_ALGORITHM));
+            this.activeKeyId = "local";
+        } else if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("Aktiver Token-Schlüssel nicht konfiguriert: " + activeKeyId);
+        } else {
+            this.activeKeyId = activeKeyId;
+        }
+    }
+
+    public String issue(String username, Long userId, Instant expiresAt) {
+        String payload = String.join("|", VERSION, activeKeyId, String.valueOf(userId),
+                String.valueOf(expiresAt.getEpochSecond()), UUID.randomUUID().toString(), username);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(activeKeyId, payloadBytes));
+    }
+
+    /**
+     * Prüft Signatur und Ablaufzeit
+     * @return Die Claims oder null, wenn das Token manipuliert, unbekannt signiert oder abgelaufen ist
+     */
+    public TokenClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 6);
+            if (fields.length != 6 || !VERSION.equals(fields[0]) || !keys.containsKey(fields[1])) {
+                return null;
+            }
+            // Vergleich in konstanter Zeit
+            if (!MessageDigest.isEqual(sign(fields[1], payloadBytes), signature)) {
+                return null;
+            }
+            TokenClaims claims = new TokenClaims(fields[5], Long.valueOf(fields[2]),
+                    Instant.ofEpochSecond(Long.parseLong(fields[3])), fields[4]);
+            return claims.isExpired(Instant.now()) ? null : claims;
+        } catch (IllegalArgumentException e) {
+            // Ungültiges Base64 oder Zahlenformat
+            return null;
+        }
+    }
+
+    private byte[] sign(String keyId, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keys.get(keyId));
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC nicht verfügbar", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.fitnessapp.Security;
+
+import java.time.Instant;
+
+/**
+ * Inhalt eines signierten Tokens (Benutzer, Ablaufzeit und eindeutige Token-ID für den Widerruf)
+ */
+public record TokenClaims(String username, Long userId, Instant expiresAt, String tokenId) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fitnessapp.Security;
+
+import com.example.fitnessapp.Model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA-EntityListener für User: verwirft gecachte Anmeldedaten, sobald sich ein Benutzer
+ * (z. B. sein Passwort) ändert oder gelöscht wird.
+ * Wird über den SpringBeanContainer von Hibernate als Spring-Bean instanziiert.
+ */
+@Component
+public class UserCredentialListener {
+
+    private final VerifiedCredentialCache credentialCache;
+
+    public UserCredentialListener(VerifiedCredentialCache credentialCache) {
+        this.credentialCache = credentialCache;
+    }
+
+    // Erst nach dem Commit verwerfen: vorher liest eine parallele Anmeldung noch den alten Hash
+    // und würde ihn sonst erneut cachen. Ohne Transaktion sofort.
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            credentialCache.invalidateUser(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                credentialCache.invalidateUser(username);
+            }
+        });
+    }
+}
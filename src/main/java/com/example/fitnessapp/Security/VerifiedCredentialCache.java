@@ -0,0 +1,104 @@
+package com.example.fitnessapp.Security;
+
+import com.example.fitnessapp.DTOs.CredentialCacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Begrenzter Cache für bereits geprüfte Anmeldedaten (HTTP Basic).
+ * Der Schlüssel ist ein HMAC über (Benutzername, Passwort) mit einem zufälligen Schlüssel pro JVM,
+ * damit weder Klartext-Passwörter noch ein ungesalzener Hash im Speicher liegen.
+ * Treffer-/Fehlzugriffszahlen (zur Dimensionierung) werden periodisch protokolliert, nicht per API ausgeliefert.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VerifiedCredentialCache.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, CachedAuthentication> cache;
+    private final SecretKeySpec digestKey;
+
+    public VerifiedCredentialCache(@Value("${fitness.security.credential-cache.max-size:10000}") long maxSize,
+                                   @Value("${fitness.security.credential-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    // Liefert die bereits geprüfte Authentifizierung oder null (Cache-Miss)
+    public Authentication get(String username, String presentedPassword) {
+        CachedAuthentication cached = cache.getIfPresent(digest(username, presentedPassword));
+        return cached != null ? cached.authentication() : null;
+    }
+
+    public void put(String username, String presentedPassword, Authentication authentication) {
+        cache.put(digest(username, presentedPassword), new CachedAuthentication(username, authentication));
+    }
+
+    // Entfernt alle Einträge eines Benutzers, z. B. nach einer Passwortänderung
+    public void invalidateUser(String username) {
+        cache.asMap().values().removeIf(entry -> entry.username().equals(username));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CredentialCacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return CredentialCacheStatsResponse.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${fitness.security.credential-cache.stats-log-interval-ms:600000}",
+            initialDelayString = "${fitness.security.credential-cache.stats-log-interval-ms:600000}")
+    public void logStats() {
+        CredentialCacheStatsResponse stats = stats();
+        log.info("Credential cache: size={}, hits={}, misses={}, evictions={}, hitRate={}",
+                stats.getSize(), stats.getHitCount(), stats.getMissCount(), stats.getEvictionCount(),
+                String.format("%.3f", stats.getHitRate()));
+    }
+
+    private String digest(String username, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0); // Trenner, damit ("ab","c") und ("a","bc") verschieden sind
+            mac.update(presentedPassword.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC nicht verfügbar", e);
+        }
+    }
+
+    private record CachedAuthentication(String username, Authentication authentication) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.WorkloadRatioResponse;
+import com.example.fitnessapp.Model.WorkloadWindow;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.WorkloadWindowRepository;
+import com.example.fitnessapp.Security.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verhältnis von akuter (7 Tage) zu chronischer (28 Tage) Trainingsbelastung je Benutzer und Muskelgruppe.
+ * Je (Benutzer, Muskelgruppe) wird ein Ringpuffer mit Tagesvolumen gespeichert; der Abschluss einer Session
+ * addiert nur deren Volumen (siehe CompletedSessionProjection), ein täglicher Lauf schiebt alle Fenster weiter und entfernt leere.
+ * Abfragen lesen höchstens ein Fenster pro Muskelgruppe und sind unabhängig von der Länge der Historie.
+ */
+@Service
+public class AcuteChronicWorkloadService extends CompletedSessionProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(AcuteChronicWorkloadService.class);
+
+    private static final int TICK_BATCH_SIZE = 500;
+
+    private final WorkloadWindowRepository windowRepository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final MuscleGroupDictionary muscleGroupDictionary;
+    private final TransactionTemplate tickTransactionTemplate;
+
+    public AcuteChronicWorkloadService(WorkloadWindowRepository windowRepository,
+                                       ExecutionLogRepository executionLogRepository,
+                                       SessionLogRepository sessionLogRepository,
+                                       MuscleGroupDictionary muscleGroupDictionary,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${fitness.analytics.rebuild-threads:4}") int rebuildThreads) {
+        super(sessionLogRepository, transactionManager, rebuildThreads);
+        this.windowRepository = windowRepository;
+        this.executionLogRepository = executionLogRepository;
+        this.muscleGroupDictionary = muscleGroupDictionary;
+        this.tickTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Addiert das Volumen der abgeschlossenen Session auf die Fenster ihrer Muskelgruppen.
+     * Die Fenster des Benutzers sind dabei gesperrt; legt ein paralleler Abschluss ein fehlendes Fenster zuerst an,
+     * wird der Aufruf wiederholt.
+     */
+    @Override
+    protected void apply(SessionLogCompletedEvent event) {
+        List<Object[]> rows = executionLogRepository.sumVolumeBySessionLogId(event.sessionLogId());
+        Map<Integer, Double> loadByBit = new HashMap<>();
+        for (Object[] row : rows) {
+            addByMuscleGroup(loadByBit, ((Number) row[1]).longValue(), (Number) row[2]);
+        }
+        if (loadByBit.isEmpty()) {
+            return;
+        }
+        LocalDate day = event.startTime().toLocalDate();
+
+        Map<Integer, WorkloadWindow> windows = new HashMap<>();
+        for (WorkloadWindow window : windowRepository.findForUpdateByUserId(event.userId())) {
+            windows.put(window.getMuscleGroupBit(), window);
+        }
+        for (Map.Entry<Integer, Double> entry : loadByBit.entrySet()) {
+            WorkloadWindow window = windows.computeIfAbsent(entry.getKey(), bit -> WorkloadWindow.builder()
+                    .userId(event.userId())
+                    .muscleGroupBit(bit)
+                    .lastDay(day)
+                    .dailyLoads(WorkloadRing.empty(day).encode())
+                    .build());
+            WorkloadRing ring = WorkloadRing.decode(window.getDailyLoads(), window.getLastDay());
+            if (ring.add(day, entry.getValue())) {
+                store(window, ring);
+            }
+        }
+        windowRepository.saveAll(windows.values());
+    }
+
+    /**
+     * Belastungsverhältnis des angemeldeten Benutzers je Muskelgruppe zum heutigen Tag, alphabetisch nach Muskelgruppe
+     */
+    public List<WorkloadRatioResponse> getWorkload() {
+        LocalDate today = LocalDate.now();
+        List<WorkloadRatioResponse> result = new ArrayList<>();
+        for (WorkloadWindow window : windowRepository.findByUserId(CurrentUser.id())) {
+            // Nur im Speicher weiterschieben; gespeichert wird beim nächsten Abschluss bzw. Tageslauf
+            WorkloadRing ring = WorkloadRing.decode(window.getDailyLoads(), window.getLastDay());
+            ring.advanceTo(today);
+            if (ring.isEmpty()) {
+                continue;
+            }
+            result.add(WorkloadRatioResponse.builder()
+                    .muscleGroupBit(window.getMuscleGroupBit())
+                    .muscleGroup(muscleGroupDictionary.nameOf(window.getMuscleGroupBit()))
+                    .acuteLoad(ring.acuteLoad())
+                    .chronicLoad(ring.chronicLoad())
+                    .ratio(ring.ratio())
+                    .build());
+        }
+        result.sort(Comparator.comparing(WorkloadRatioResponse::getMuscleGroup,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return result;
+    }
+
+    @Scheduled(cron = "${fitness.analytics.workload-tick-cron:0 5 0 * * *}")
+    public void scheduledTick() {
+        tick(LocalDate.now());
+    }
+
+    /**
+     * Schiebt alle Fenster bis zum Tag weiter (seitenweise, je Seite eine Transaktion); leere Fenster werden gelöscht
+     * @return Anzahl gelöschter Fenster
+     */
+    public int tick(LocalDate today) {
+        long lastId = 0L;
+        int removed = 0;
+        while (true) {
+            final long afterId = lastId;
+            TickResult page = tickTransactionTemplate.execute(status -> {
+                List<WorkloadWindow> windows =
+                        windowRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, TICK_BATCH_SIZE));
+                List<WorkloadWindow> empty = new ArrayList<>();
+                for (WorkloadWindow window : windows) {
+                    WorkloadRing ring = WorkloadRing.decode(window.getDailyLoads(), window.getLastDay());
+                    if (ring.advanceTo(today)) {
+                        if (ring.isEmpty()) {
+                            empty.add(window);
+                        } else {
+                            store(window, ring); // Geändertes Fenster wird per Dirty Checking geschrieben
+                        }
+                    }
+                }
+                windowRepository.deleteAll(empty);
+                return new TickResult(windows.isEmpty() ? null : windows.get(windows.size() - 1).getId(),
+                        windows.size(), empty.size());
+            });
+            if (page == null || page.lastId() == null) {
+                break;
+            }
+            removed += page.removed();
+            lastId = page.lastId();
+            if (page.size() < TICK_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (removed > 0) {
+            log.info("Workload tick removed {} idle windows", removed);
+        }
+        return removed;
+    }
+
+    // Baut die Fenster eines Benutzers aus den ExecutionLogs der letzten 28 Tage bis heute neu auf
+    @Override
+    protected int rebuildRows(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime since = today.minusDays(WorkloadRing.WINDOW_DAYS - 1).atStartOfDay();
+        windowRepository.deleteByUserId(userId);
+        Map<Integer, WorkloadRing> rings = new HashMap<>();
+        for (Object[] row : executionLogRepository.sumVolumeByUserIdSince(userId, since)) {
+            LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+            Map<Integer, Double> loadByBit = new HashMap<>();
+            addByMuscleGroup(loadByBit, ((Number) row[1]).longValue(), (Number) row[2]);
+            for (Map.Entry<Integer, Double> entry : loadByBit.entrySet()) {
+                rings.computeIfAbsent(entry.getKey(), bit -> WorkloadRing.empty(today)).add(day, entry.getValue());
+            }
+        }
+        List<WorkloadWindow> windows = new ArrayList<>(rings.size());
+        for (Map.Entry<Integer, WorkloadRing> entry : rings.entrySet()) {
+            WorkloadWindow window = WorkloadWindow.builder().userId(userId).muscleGroupBit(entry.getKey()).build();
+            store(window, entry.getValue());
+            windows.add(window);
+        }
+        windowRepository.saveAll(windows);
+        return windows.size();
+    }
+
+    @Override
+    protected String description() {
+        return "workload window";
+    }
+
+    // Das Volumen einer Übung zählt für jede ihrer Muskelgruppen voll
+    private static void addByMuscleGroup(Map<Integer, Double> loadByBit, long mask, Number volume) {
+        if (volume == null || volume.doubleValue() <= 0.0) {
+            return;
+        }
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            loadByBit.merge(Long.numberOfTrailingZeros(rest), volume.doubleValue(), Double::sum);
+        }
+    }
+
+    private static void store(WorkloadWindow window, WorkloadRing ring) {
+        window.setLastDay(ring.lastDay());
+        window.setDailyLoads(ring.encode());
+    }
+
+    private record TickResult(Long lastId, int size, int removed) {
+    }
+}
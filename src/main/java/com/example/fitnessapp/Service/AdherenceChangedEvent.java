@@ -0,0 +1,7 @@
+package com.example.fitnessapp.Service;
+
+/**
+ * Wird veröffentlicht, wenn sich die Plantreue-Werte eines Benutzers geändert haben (Cache wird nach dem Commit verworfen)
+ */
+public record AdherenceChangedEvent(Long userId) {
+}
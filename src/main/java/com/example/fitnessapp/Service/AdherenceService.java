@@ -0,0 +1,281 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.AdherenceReportResponse;
+import com.example.fitnessapp.DTOs.AdherenceStatsResponse;
+import com.example.fitnessapp.Model.SessionAdherence;
+import com.example.fitnessapp.Model.TrainingPlan1;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.SessionAdherenceRepository;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.TrainingPlanRepository1;
+import com.example.fitnessapp.Security.CurrentUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plantreue (geplant vs. ausgeführt) je Session, Trainingsplan und Zeitraum.
+ * Beim Abschluss einer Session wird genau eine Zeile mit deren Summen geschrieben (eine Aggregat-Abfrage,
+ * nach dem Commit, siehe CompletedSessionProjection);
+ * Auswertungen addieren nur die Zeilen im Zeitraum und werden je Benutzer gecacht, bis sich dessen Werte ändern.
+ * Score = Abschlussquote × (1 − min(1, mittlere relative Gewichtsabweichung)); Übungen ohne geplantes Gewicht
+ * zählen nur für die Abschlussquote.
+ */
+@Service
+public class AdherenceService extends CompletedSessionProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(AdherenceService.class);
+
+    // Anzahl Zeiträume, die ohne Angabe von "from" geliefert werden
+    private static final int DEFAULT_BUCKETS = 12;
+
+    // Längster abfragbarer Zeitraum (begrenzt die Anzahl gelesener Zeilen)
+    static final int MAX_RANGE_DAYS = 3660;
+
+    private final SessionAdherenceRepository adherenceRepository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final TrainingPlanRepository1 trainingPlanRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<ReportKey, AdherenceReportResponse> cache;
+
+    public AdherenceService(SessionAdherenceRepository adherenceRepository,
+                            ExecutionLogRepository executionLogRepository,
+                            SessionLogRepository sessionLogRepository,
+                            TrainingPlanRepository1 trainingPlanRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${fitness.analytics.rebuild-threads:4}") int rebuildThreads,
+                            @Value("${fitness.analytics.adherence-cache.max-size:1000}") long maxSize,
+                            @Value("${fitness.analytics.adherence-cache.ttl-seconds:600}") long ttlSeconds) {
+        super(sessionLogRepository, transactionManager, rebuildThreads);
+        this.adherenceRepository = adherenceRepository;
+        this.executionLogRepository = executionLogRepository;
+        this.trainingPlanRepository = trainingPlanRepository;
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Score aus den Summen: Abschlussquote × (1 − min(1, mittlere Gewichtsabweichung)); ohne geplante Übungen 0
+    public static double score(int plannedExercises, int completedExercises, double weightDeviationSum, int weightDeviationCount) {
+        if (plannedExercises <= 0) {
+            return 0.0;
+        }
+        double completionRate = (double) completedExercises / plannedExercises;
+        double deviation = weightDeviationCount > 0 ? weightDeviationSum / weightDeviationCount : 0.0;
+        return completionRate * (1 - Math.min(1.0, deviation));
+    }
+
+    // Schreibt die Plantreue der abgeschlossenen Session; der Cache wird nach dem Commit verworfen
+    @Override
+    protected void apply(SessionLogCompletedEvent event) {
+        List<Object[]> rows = executionLogRepository.sumAdherenceBySessionLogId(event.sessionLogId());
+        if (rows.isEmpty()) {
+            return;
+        }
+        SessionAdherence adherence = adherenceRepository.findBySessionLogId(event.sessionLogId())
+                .orElseGet(() -> SessionAdherence.builder().sessionLogId(event.sessionLogId()).build());
+        if (!fill(adherence, event.userId(), rows.get(0))) {
+            return;
+        }
+        adherenceRepository.save(adherence);
+        eventPublisher.publishEvent(new AdherenceChangedEvent(event.userId()));
+    }
+
+    /**
+     * Plantreue des angemeldeten Benutzers im Zeitraum: gesamt, je Plan, je Zeitraum und je Session
+     * @param from erster Tag (optional; Standard: die letzten 12 Zeiträume bis "to")
+     * @param to letzter Tag (optional; Standard: heute)
+     */
+    public AdherenceReportResponse getReport(VolumeGranularity granularity, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = granularity.bucketStart(from != null ? from : defaultFrom(granularity, end));
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return cache.get(new ReportKey(CurrentUser.id(), granularity, start, end), this::loadReport);
+    }
+
+    // Erst nach dem Commit verwerfen, damit kein paralleler Lesezugriff den alten Stand erneut cacht
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAdherenceChanged(AdherenceChangedEvent event) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(event.userId()));
+    }
+
+    // Berechnet die Zeilen eines Benutzers aus seinen abgeschlossenen Sessions neu
+    @Override
+    protected int rebuildRows(Long userId) {
+        adherenceRepository.deleteByUserId(userId);
+        List<SessionAdherence> rows = new ArrayList<>();
+        for (Object[] row : executionLogRepository.sumAdherenceByUserId(userId)) {
+            SessionAdherence adherence = SessionAdherence.builder().sessionLogId((Long) row[0]).build();
+            if (fill(adherence, userId, row)) {
+                rows.add(adherence);
+            }
+        }
+        adherenceRepository.saveAll(rows);
+        eventPublisher.publishEvent(new AdherenceChangedEvent(userId));
+        return rows.size();
+    }
+
+    @Override
+    protected String description() {
+        return "session adherence";
+    }
+
+    private AdherenceReportResponse loadReport(ReportKey key) {
+        List<SessionAdherence> rows = adherenceRepository
+                .findByUserIdAndSessionDayBetweenOrderBySessionDayAscIdAsc(key.userId(), key.from(), key.to());
+        Map<Long, String> planNames = planNames(rows);
+
+        Totals overall = new Totals();
+        Map<Long, Totals> byPlan = new HashMap<>();
+        Map<LocalDate, Totals> byBucket = new LinkedHashMap<>(); // Zeilen sind nach Tag sortiert
+        List<AdherenceStatsResponse> sessions = new ArrayList<>(rows.size());
+        for (SessionAdherence row : rows) {
+            overall.add(row);
+            byPlan.computeIfAbsent(row.getPlanId(), id -> new Totals()).add(row);
+            byBucket.computeIfAbsent(key.granularity().bucketStart(row.getSessionDay()), day -> new Totals()).add(row);
+
+            Totals single = new Totals();
+            single.add(row);
+            sessions.add(single.toResponse()
+                    .sessionLogId(row.getSessionLogId())
+                    .planId(row.getPlanId())
+                    .planName(planNames.get(row.getPlanId()))
+                    .bucketStart(row.getSessionDay())
+                    .build());
+        }
+
+        List<AdherenceStatsResponse> plans = new ArrayList<>(byPlan.size());
+        for (Map.Entry<Long, Totals> entry : byPlan.entrySet()) {
+            plans.add(entry.getValue().toResponse()
+                    .planId(entry.getKey())
+                    .planName(planNames.get(entry.getKey()))
+                    .build());
+        }
+        plans.sort(Comparator.comparing(AdherenceStatsResponse::getPlanName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        List<AdherenceStatsResponse> series = new ArrayList<>(byBucket.size());
+        for (Map.Entry<LocalDate, Totals> entry : byBucket.entrySet()) {
+            series.add(entry.getValue().toResponse().bucketStart(entry.getKey()).build());
+        }
+
+        return AdherenceReportResponse.builder()
+                .from(key.from())
+                .to(key.to())
+                .granularity(key.granularity())
+                .overall(overall.toResponse().build())
+                .plans(List.copyOf(plans))
+                .series(List.copyOf(series))
+                .sessions(List.copyOf(sessions.reversed()))
+                .build();
+    }
+
+    // Übernimmt eine Aggregat-Zeile [sessionLogId, startTime, planId, geplant, abgeschlossen, Abweichungssumme, Anzahl].
+    // Ohne Startzeit lässt sich die Session keinem Tag zuordnen: false, die Zeile wird nicht geschrieben.
+    private static boolean fill(SessionAdherence adherence, Long userId, Object[] row) {
+        LocalDateTime startTime = (LocalDateTime) row[1];
+        if (startTime == null) {
+            log.warn("SessionLog {} has no start time, skipping its adherence row", row[0]);
+            return false;
+        }
+        adherence.setUserId(userId);
+        adherence.setSessionDay(startTime.toLocalDate());
+        adherence.setPlanId((Long) row[2]);
+        adherence.setPlannedExercises(intValue(row[3]));
+        adherence.setCompletedExercises(intValue(row[4]));
+        adherence.setWeightDeviationSum(row[5] != null ? ((Number) row[5]).doubleValue() : 0.0);
+        adherence.setWeightDeviationCount(intValue(row[6]));
+        return true;
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    // Namen der Trainingspläne (eine Abfrage, meist aus dem Second-Level-Cache)
+    private Map<Long, String> planNames(List<SessionAdherence> rows) {
+        Set<Long> ids = new HashSet<>();
+        for (SessionAdherence row : rows) {
+            if (row.getPlanId() != null) {
+                ids.add(row.getPlanId());
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (TrainingPlan1 plan : trainingPlanRepository.findAllById(ids)) {
+                names.put(plan.getId(), plan.getName());
+            }
+        }
+        return names;
+    }
+
+    private static LocalDate defaultFrom(VolumeGranularity granularity, LocalDate to) {
+        return switch (granularity) {
+            case DAY -> to.minusDays(DEFAULT_BUCKETS - 1);
+            case WEEK -> to.minusWeeks(DEFAULT_BUCKETS - 1);
+            case MONTH -> to.minusMonths(DEFAULT_BUCKETS - 1);
+        };
+    }
+
+    // Summen mehrerer Sessions (Plan, Zeitraum oder gesamt)
+    private static final class Totals {
+        private int sessions;
+        private int planned;
+        private int completed;
+        private double deviationSum;
+        private int deviationCount;
+
+        void add(SessionAdherence row) {
+            sessions++;
+            planned += row.getPlannedExercises();
+            completed += row.getCompletedExercises();
+            deviationSum += row.getWeightDeviationSum();
+            deviationCount += row.getWeightDeviationCount();
+        }
+
+        AdherenceStatsResponse.AdherenceStatsResponseBuilder toResponse() {
+            return AdherenceStatsResponse.builder()
+                    .sessions(sessions)
+                    .plannedExercises(planned)
+                    .completedExercises(completed)
+                    .skippedExercises(planned - completed)
+                    .completionRate(planned > 0 ? (double) completed / planned : 0.0)
+                    .avgWeightDeviation(deviationCount > 0 ? deviationSum / deviationCount : null)
+                    .score(score(planned, completed, deviationSum, deviationCount));
+        }
+    }
+
+    // Cache-Schlüssel: ein Bericht je Benutzer, Auflösung und Zeitraum
+    private record ReportKey(Long userId, VolumeGranularity granularity, LocalDate from, LocalDate to) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.fitnessapp.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Neuaufbau der Auswertungen beim Start, z. B. java -jar app.jar --rebuild-volume-rollups --rebuild-workload-windows --rebuild-adherence
+ */
+@Component
+public class AnalyticsRebuildRunner implements ApplicationRunner {
+
+    static final String VOLUME_OPTION = "rebuild-volume-rollups";
+    static final String WORKLOAD_OPTION = "rebuild-workload-windows";
+    static final String ADHERENCE_OPTION = "rebuild-adherence";
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRebuildRunner.class);
+
+    private final VolumeRollupService volumeRollupService;
+    private final AcuteChronicWorkloadService workloadService;
+    private final AdherenceService adherenceService;
+
+    public AnalyticsRebuildRunner(VolumeRollupService volumeRollupService, AcuteChronicWorkloadService workloadService,
+                                  AdherenceService adherenceService) {
+        this.volumeRollupService = volumeRollupService;
+        this.workloadService = workloadService;
+        this.adherenceService = adherenceService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(VOLUME_OPTION)) {
+            long started = System.nanoTime();
+            int users = volumeRollupService.rebuildAll();
+            log.info("Volume rollups rebuilt for {} users in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+        }
+        if (args.containsOption(WORKLOAD_OPTION)) {
+            long started = System.nanoTime();
+            int users = workloadService.rebuildAll();
+            log.info("Workload windows rebuilt for {} users in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+        }
+        if (args.containsOption(ADHERENCE_OPTION)) {
+            long started = System.nanoTime();
+            int users = adherenceService.rebuildAll();
+            log.info("Session adherence rebuilt for {} users in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+}
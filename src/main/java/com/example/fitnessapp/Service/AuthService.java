@@ -4,23 +4,41 @@ import com.example.fitnessapp.DTOs.LoginRequest;
 import com.example.fitnessapp.DTOs.LoginResponse;
 import com.example.fitnessapp.Model.User;
 import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.SignedTokenCodec;
+import com.example.fitnessapp.Security.TokenClaims;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    // Speichert gültige Tokens (in Produktion sollte dies durch eine Datenbank oder Redis ersetzt werden)
-    private final Map<String, String> validTokens = new ConcurrentHashMap<>();
+    private final PasswordEncoder passwordEncoder;
+    private final SignedTokenCodec tokenCodec;
+    private final Duration tokenTtl;
+    private final int maxRevokedTokens;
+    // Widerrufsliste für vorzeitig abgemeldete Tokens (Token-ID -> Ablaufzeit), nur bis zum Ablauf gespeichert
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
 
-    public AuthService(UserRepository userRepository) {
+    public AuthService(UserRepository userRepository,
+                       PasswordEncoder passwordEncoder,
+                       SignedTokenCodec tokenCodec,
+                       @Value("${fitness.security.token.ttl-minutes:60}") long tokenTtlMinutes,
+                       @Value("${fitness.security.token.max-revoked:10000}") int maxRevokedTokens) {
         this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenCodec = tokenCodec;
+        this.tokenTtl = Duration.ofMinutes(tokenTtlMinutes);
+        this.maxRevokedTokens = maxRevokedTokens;
     }
 
     public LoginResponse login(LoginRequest request) {
@@ -28,16 +46,14 @@ public class AuthService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, 
                         "Benutzername oder Passwort ist falsch"));
 
-        if (!user.getPassword().equals(request.getPassword())) {
+        // Passwörter sind mit BCrypt gehasht gespeichert
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, 
                     "Benutzername oder Passwort ist falsch");
         }
 
-        // Erstelle einen einfachen Token (UUID)
-        String token = UUID.randomUUID().toString();
-        
-        // Speichere Token mit Benutzername
-        validTokens.put(token, user.getUsername());
+        // Signiertes Token mit Benutzername, User-ID und Ablaufzeit (kein serverseitiger Speicher nötig)
+        String token = tokenCodec.issue(user.getUsername(), user.getId(), Instant.now().plus(tokenTtl));
 
         return LoginResponse.builder()
                 .token(token)
@@ -46,8 +62,21 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Prüft ein Token lokal (Signatur, Ablaufzeit, Widerrufsliste) ohne Datenbankzugriff
+     * @param token Das Authentifizierungstoken
+     * @return Die Claims oder null, wenn das Token ungültig, abgelaufen oder widerrufen ist
+     */
+    public TokenClaims resolveToken(String token) {
+        TokenClaims claims = tokenCodec.verify(token);
+        if (claims == null || revokedTokens.containsKey(claims.tokenId())) {
+            return null;
+        }
+        return claims;
+    }
+
     public boolean validateToken(String token) {
-        return token != null && validTokens.containsKey(token);
+        return resolveToken(token) != null;
     }
 
     /**
@@ -56,13 +85,36 @@ public class AuthService {
      * @return Der Benutzername oder null, wenn das Token ungültig ist
      */
     public String getUsernameFromToken(String token) {
-        if (token == null || !validTokens.containsKey(token)) {
-            return null;
-        }
-        return validTokens.get(token);
+        TokenClaims claims = resolveToken(token);
+        return claims != null ? claims.username() : null;
     }
 
+    /**
+     * Widerruft ein Token bis zu seinem Ablauf (Logout).
+     * Ist die Widerrufsliste auch nach dem Entfernen abgelaufener Einträge voll, wird der Logout mit 503 abgelehnt:
+     * ein noch gültiger Widerruf darf nie verdrängt werden, sonst würde ein abgemeldetes Token wieder gültig.
+     */
     public void invalidateToken(String token) {
-        validTokens.remove(token);
+        TokenClaims claims = tokenCodec.verify(token);
+        if (claims == null) {
+            return;
+        }
+        synchronized (revokedTokens) {
+            if (revokedTokens.size() >= maxRevokedTokens && !revokedTokens.containsKey(claims.tokenId())) {
+                sweepExpiredRevocations();
+                if (revokedTokens.size() >= maxRevokedTokens) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Abmeldung derzeit nicht möglich, bitte später erneut versuchen");
+                }
+            }
+            revokedTokens.put(claims.tokenId(), claims.expiresAt());
+        }
+    }
+
+    // Entfernt periodisch Widerrufe, deren Token ohnehin abgelaufen ist
+    @Scheduled(fixedDelayString = "${fitness.security.token.sweep-interval-ms:60000}")
+    public void sweepExpiredRevocations() {
+        Instant now = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
     }
 }
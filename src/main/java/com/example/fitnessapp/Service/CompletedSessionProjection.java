@@ -0,0 +1,107 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Grundlage der Auswertungen, die beim Abschluss einer Session fortgeschrieben werden (Volumen, Belastung, Plantreue).
+ * Das Fortschreiben läuft erst nach dem Commit von complete() und in eigener Transaktion: ein Fehler in einer
+ * Auswertung rollt weder den Abschluss noch die anderen Auswertungen zurück und wird nur protokolliert,
+ * die betroffenen Zeilen lassen sich mit rebuildAll bzw. rebuildUser wiederherstellen.
+ * Unterklassen liefern nur die eigene Logik (apply und rebuildRows).
+ */
+public abstract class CompletedSessionProjection {
+
+    // Versuche je Ereignis, wenn ein paralleler Abschluss dieselbe Zeile zuerst angelegt hat
+    private static final int MAX_APPLY_ATTEMPTS = 3;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final SessionLogRepository sessionLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildThreads;
+
+    protected CompletedSessionProjection(SessionLogRepository sessionLogRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         int rebuildThreads) {
+        this.sessionLogRepository = sessionLogRepository;
+        // Nach dem Commit ist die Transaktion von complete() noch gebunden, daher immer eine neue starten
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+    }
+
+    /**
+     * Schreibt die Auswertung für die abgeschlossene Session fort (nach dem Commit, eigene Transaktion).
+     * Sessions ohne Startzeit lassen sich keinem Zeitraum zuordnen und werden übersprungen.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLogCompleted(SessionLogCompletedEvent event) {
+        if (event.startTime() == null) {
+            log.warn("SessionLog {} has no start time, skipping {}", event.sessionLogId(), description());
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(event));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Die Transaktion ist vollständig zurückgerollt, der nächste Versuch findet die neue Zeile vor
+                if (attempt >= MAX_APPLY_ATTEMPTS) {
+                    log.error("Updating {} for SessionLog {} failed after {} attempts, rebuild user {} to repair",
+                            description(), event.sessionLogId(), attempt, event.userId(), e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                log.error("Updating {} for SessionLog {} failed, rebuild user {} to repair",
+                        description(), event.sessionLogId(), event.userId(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Berechnet die Zeilen aller Benutzer neu, parallel mit bis zu rebuildThreads Threads (je Benutzer eine Transaktion).
+     * Gedacht für Wartung (z. B. nach Datenkorrekturen); parallel abgeschlossene Sessions des gleichen Benutzers
+     * können dabei überschrieben werden, der Neuaufbau sollte daher ohne Last laufen.
+     * @return Anzahl neu berechneter Benutzer
+     */
+    public int rebuildAll() {
+        List<Long> userIds = sessionLogRepository.findUserIdsWithCompletedLogs();
+        int rows = ParallelUserTasks.run(userIds, rebuildThreads, this::rebuildUser);
+        log.info("Rebuilt {} {} rows for {} users", rows, description(), userIds.size());
+        return userIds.size();
+    }
+
+    /**
+     * Berechnet die Zeilen eines Benutzers aus seinen abgeschlossenen Sessions neu (eigene Transaktion)
+     * @return Anzahl geschriebener Zeilen
+     */
+    public int rebuildUser(Long userId) {
+        return inTransaction(() -> rebuildRows(userId));
+    }
+
+    // Führt den Schritt in einer neuen Transaktion aus
+    protected final int inTransaction(IntSupplier step) {
+        Integer written = transactionTemplate.execute(status -> step.getAsInt());
+        return written != null ? written : 0;
+    }
+
+    // Schreibt die Werte einer abgeschlossenen Session fort (läuft in der Transaktion von onSessionLogCompleted)
+    protected abstract void apply(SessionLogCompletedEvent event);
+
+    // Ersetzt die Zeilen des Benutzers (läuft in der Transaktion von rebuildUser) und liefert deren Anzahl
+    protected abstract int rebuildRows(Long userId);
+
+    // Bezeichnung der Zeilen für Log-Meldungen, z. B. "volume rollup"
+    protected abstract String description();
+}
@@ -0,0 +1,48 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Repository.TrainingPlanRepository1;
+import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gleicht die Zählerspalten (exerciseCount, executionCount, sessionCount) regelmäßig mit den tatsächlichen Daten ab.
+ * Die Zähler werden beim Schreiben atomar angepasst; Abweichungen (z. B. durch direkte Datenbankänderungen)
+ * werden hier mit je einer mengenbasierten UPDATE-Anweisung korrigiert.
+ */
+@Component
+public class CounterReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationJob.class);
+
+    private final TrainingSessionRepository1 sessionRepository;
+    private final TrainingPlanRepository1 planRepository;
+
+    public CounterReconciliationJob(TrainingSessionRepository1 sessionRepository,
+                                    TrainingPlanRepository1 planRepository) {
+        this.sessionRepository = sessionRepository;
+        this.planRepository = planRepository;
+    }
+
+    @Scheduled(initialDelayString = "${fitness.counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${fitness.counters.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Korrigiert alle abweichenden Zähler
+     * @return Anzahl korrigierter Zeilen
+     */
+    public int reconcile() {
+        int repaired = sessionRepository.reconcileExerciseCounts()
+                + sessionRepository.reconcileExecutionCounts()
+                + planRepository.reconcileSessionCounts();
+        if (repaired > 0) {
+            log.info("Counter reconciliation repaired {} rows", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.CacheRegionStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Liefert Kennzahlen je Region des Hibernate Second-Level-Caches (zur Dimensionierung in application.conf)
+ */
+@Service
+public class EntityCacheStatsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<CacheRegionStatsResponse> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Cache statistics are disabled (fitness.cache.statistics-enabled)");
+        }
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+
+        List<CacheRegionStatsResponse> result = new ArrayList<>(regionNames.length);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            result.add(CacheRegionStatsResponse.builder()
+                    .region(regionName)
+                    .elementCount(region.getElementCountInMemory())
+                    .hitCount(hits)
+                    .missCount(misses)
+                    .putCount(region.getPutCount())
+                    .hitRate(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses))
+                    .build());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.ExecutionStatsResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Security.CurrentUser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ad-hoc-Auswertungen geplant vs. ausgeführt über die Übungsausführungen des angemeldeten Benutzers.
+ * Gerechnet wird ausschließlich im spaltenorientierten Speicher; ist dieser deaktiviert, antwortet der Endpunkt mit 503.
+ */
+@Service
+public class ExecutionAnalyticsService {
+
+    private final ObjectProvider<ExecutionColumnStore> columnStore;
+    private final ExerciseRepository1 exerciseRepository;
+
+    public ExecutionAnalyticsService(ObjectProvider<ExecutionColumnStore> columnStore,
+                                     ExerciseRepository1 exerciseRepository) {
+        this.columnStore = columnStore;
+        this.exerciseRepository = exerciseRepository;
+    }
+
+    /**
+     * @param from erster Tag (optional; Standard: ein Jahr vor "to")
+     * @param to letzter Tag (optional; Standard: heute)
+     */
+    public List<ExecutionStatsResponse> getStats(Long exerciseId, LocalDate from, LocalDate to,
+                                                 ExecutionColumnStore.GroupBy groupBy) {
+        ExecutionColumnStore store = columnStore.getIfAvailable();
+        if (store == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Execution analytics are disabled");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= ExecutionColumnStore.MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range must not exceed " + ExecutionColumnStore.MAX_RANGE_DAYS + " days");
+        }
+
+        List<ExecutionColumnStore.Group> groups = store.aggregate(CurrentUser.id(),
+                new ExecutionColumnStore.Query(exerciseId, start, end, groupBy));
+        Map<Long, String> names = exerciseNames(groups);
+
+        List<ExecutionStatsResponse> result = new ArrayList<>(groups.size());
+        for (ExecutionColumnStore.Group g : groups) {
+            double n = g.count();
+            result.add(ExecutionStatsResponse.builder()
+                    .exerciseId(g.exerciseId())
+                    .exerciseName(g.exerciseId() != null ? names.get(g.exerciseId()) : null)
+                    .bucketStart(g.bucketStart())
+                    .executions(g.count())
+                    .avgPlannedSets(g.plannedSets() / n)
+                    .avgActualSets(g.actualSets() / n)
+                    .avgPlannedReps(g.plannedReps() / n)
+                    .avgActualReps(g.actualReps() / n)
+                    .avgPlannedWeight(g.plannedWeight() / n)
+                    .avgActualWeight(g.actualWeight() / n)
+                    .maxActualWeight(g.maxActualWeight())
+                    .plannedVolume(g.plannedVolume())
+                    .actualVolume(g.actualVolume())
+                    .build());
+        }
+        return result;
+    }
+
+    // Namen der Übungen mit einer Abfrage (meist aus dem Second-Level-Cache)
+    private Map<Long, String> exerciseNames(List<ExecutionColumnStore.Group> groups) {
+        Set<Long> ids = new HashSet<>();
+        for (ExecutionColumnStore.Group g : groups) {
+            if (g.exerciseId() != null) {
+                ids.add(g.exerciseId());
+            }
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Exercise1 exercise : exerciseRepository.findAllById(ids)) {
+                names.put(exercise.getId(), exercise.getName());
+            }
+        }
+        return names;
+    }
+}
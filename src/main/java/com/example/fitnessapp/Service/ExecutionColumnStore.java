@@ -0,0 +1,347 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Spaltenorientierter In-Memory-Speicher der abgeschlossenen Übungsausführungen, partitioniert nach Benutzer.
+ * Jede Spalte ist ein primitives Array (Sätze/Wiederholungen als int[], Gewichte als float[], Startzeit als long[]),
+ * Übungs-IDs werden über ein Wörterbuch auf fortlaufende int-Codes abgebildet.
+ * Auswertungen laufen als enge Schleifen über die Arrays und gruppieren in dichte Akkumulator-Arrays statt Maps;
+ * die Zeilendatenbank wird dafür nicht gelesen. Aktiv nur mit fitness.analytics.column-store.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "fitness.analytics.column-store.enabled", havingValue = "true")
+public class ExecutionColumnStore {
+
+    public enum GroupBy { EXERCISE, DAY, WEEK, MONTH }
+
+    /**
+     * Anfrage an den Speicher
+     * @param exerciseId optional: nur diese Übung
+     * @param from erster Tag (inklusive)
+     * @param to letzter Tag (inklusive)
+     */
+    public record Query(Long exerciseId, LocalDate from, LocalDate to, GroupBy groupBy) {
+    }
+
+    /**
+     * Summen einer Gruppe; exerciseId bei EXERCISE, bucketStart bei DAY/WEEK/MONTH gesetzt
+     */
+    public record Group(Long exerciseId, LocalDate bucketStart, int count,
+                        long plannedSets, long plannedReps, double plannedWeight,
+                        long actualSets, long actualReps, double actualWeight, float maxActualWeight,
+                        double plannedVolume, double actualVolume) {
+    }
+
+    // Obergrenze für den Zeitraum einer Abfrage (begrenzt die Größe der Akkumulator-Arrays)
+    public static final int MAX_RANGE_DAYS = 3660;
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionColumnStore.class);
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private final ExecutionLogRepository executionLogRepository;
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+
+    // Wörterbuch exerciseId → Code (geschützt durch den Monitor des Wörterbuchs)
+    private final Map<Long, Integer> codesByExerciseId = new HashMap<>();
+    private long[] exerciseIdsByCode = new long[64];
+
+    // Solange geladen wird, merkt sich onSessionLogCompleted nur die Session; load hängt sie danach an,
+    // sofern der Cursor sie nicht schon gelesen hat (geschützt durch den Monitor von loadLock)
+    private final Object loadLock = new Object();
+    private Set<Long> pendingSessionIds = new HashSet<>();
+
+    public ExecutionColumnStore(ExecutionLogRepository executionLogRepository) {
+        this.executionLogRepository = executionLogRepository;
+    }
+
+    /**
+     * Liest alle abgeschlossenen Ausführungen über einen Cursor ein.
+     * Sessions, die währenddessen abgeschlossen werden, hängt load danach an, falls der Cursor sie nicht enthielt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (loadLock) {
+            if (pendingSessionIds == null) {
+                pendingSessionIds = new HashSet<>();
+            }
+        }
+        partitions.clear();
+        long rows = 0;
+        Set<Long> loadedSessionIds = new HashSet<>();
+        try (Stream<Object[]> stream = executionLogRepository.streamColumnRows()) {
+            for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                appendRow(row);
+                loadedSessionIds.add((Long) row[9]);
+                rows++;
+            }
+        }
+        int replayed = 0;
+        synchronized (loadLock) {
+            for (Long sessionLogId : pendingSessionIds) {
+                if (!loadedSessionIds.contains(sessionLogId)) {
+                    appendSession(sessionLogId);
+                    replayed++;
+                }
+            }
+            pendingSessionIds = null;
+        }
+        log.info("Execution column store loaded {} rows for {} users ({} sessions completed during the load)",
+                rows, partitions.size(), replayed);
+    }
+
+    // Hängt die Ausführungen einer abgeschlossenen Session erst nach dem Commit an
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionLogCompleted(SessionLogCompletedEvent event) {
+        synchronized (loadLock) {
+            if (pendingSessionIds != null) {
+                pendingSessionIds.add(event.sessionLogId()); // Wird am Ende von load angehängt
+                return;
+            }
+        }
+        appendSession(event.sessionLogId());
+    }
+
+    /**
+     * Hängt eine Ausführung an die Partition des Benutzers an
+     */
+    public void append(long userId, LocalDateTime startTime, long exerciseId,
+                       int plannedSets, int plannedReps, float plannedWeight,
+                       int actualSets, int actualReps, float actualWeight) {
+        int code = encode(exerciseId);
+        partitions.computeIfAbsent(userId, id -> new Partition())
+                .append(startTime.toEpochSecond(ZoneOffset.UTC), code,
+                        plannedSets, plannedReps, plannedWeight, actualSets, actualReps, actualWeight);
+    }
+
+    // Anzahl gespeicherter Ausführungen aller Benutzer
+    public long rowCount() {
+        long rows = 0;
+        for (Partition partition : partitions.values()) {
+            rows += partition.snapshot().size();
+        }
+        return rows;
+    }
+
+    /**
+     * Summen je Gruppe über die Ausführungen eines Benutzers; leere Gruppen werden ausgelassen.
+     * Gruppen nach Übung in Code-Reihenfolge, Zeiträume chronologisch.
+     */
+    public List<Group> aggregate(long userId, Query query) {
+        Partition partition = partitions.get(userId);
+        if (partition == null) {
+            return List.of();
+        }
+        Columns c = partition.snapshot();
+
+        int exerciseFilter = -1;
+        if (query.exerciseId() != null) {
+            Integer code = codeOf(query.exerciseId());
+            if (code == null) {
+                return List.of();
+            }
+            exerciseFilter = code;
+        }
+
+        long fromDay = query.from().toEpochDay();
+        long fromSecond = fromDay * SECONDS_PER_DAY;
+        long toSecond = (query.to().toEpochDay() + 1) * SECONDS_PER_DAY;
+        boolean byExercise = query.groupBy() == GroupBy.EXERCISE;
+
+        // Gruppe je Tag des Zeitraums vorab berechnen, damit die Schleife nur Array-Zugriffe enthält
+        int[] bucketByDay = null;
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        long[] idsByCode = null;
+        int groups;
+        if (byExercise) {
+            idsByCode = exerciseIds(); // Nach dem Snapshot lesen: enthält alle Codes der Partition
+            groups = idsByCode.length;
+        } else {
+            bucketByDay = new int[(int) (query.to().toEpochDay() - fromDay + 1)];
+            LocalDate currentStart = null;
+            for (int d = 0; d < bucketByDay.length; d++) {
+                LocalDate start = bucketStart(query.groupBy(), query.from().plusDays(d));
+                if (!start.equals(currentStart)) {
+                    bucketStarts.add(start);
+                    currentStart = start;
+                }
+                bucketByDay[d] = bucketStarts.size() - 1;
+            }
+            groups = bucketStarts.size();
+        }
+
+        int[] count = new int[groups];
+        long[] plannedSets = new long[groups];
+        long[] plannedReps = new long[groups];
+        double[] plannedWeight = new double[groups];
+        long[] actualSets = new long[groups];
+        long[] actualReps = new long[groups];
+        double[] actualWeight = new double[groups];
+        float[] maxActualWeight = new float[groups];
+        double[] plannedVolume = new double[groups];
+        double[] actualVolume = new double[groups];
+
+        int size = c.size();
+        int[] exercise = c.exercise();
+        long[] timestamps = c.timestamps();
+        int[] plannedSetsColumn = c.plannedSets();
+        int[] plannedRepsColumn = c.plannedReps();
+        float[] plannedWeightColumn = c.plannedWeight();
+        int[] actualSetsColumn = c.actualSets();
+        int[] actualRepsColumn = c.actualReps();
+        float[] actualWeightColumn = c.actualWeight();
+        for (int i = 0; i < size; i++) {
+            long ts = timestamps[i];
+            if (ts < fromSecond || ts >= toSecond || (exerciseFilter >= 0 && exercise[i] != exerciseFilter)) {
+                continue;
+            }
+            int g = byExercise ? exercise[i] : bucketByDay[(int) (Math.floorDiv(ts, SECONDS_PER_DAY) - fromDay)];
+            int ps = plannedSetsColumn[i];
+            int pr = plannedRepsColumn[i];
+            float pw = plannedWeightColumn[i];
+            int as = actualSetsColumn[i];
+            int ar = actualRepsColumn[i];
+            float aw = actualWeightColumn[i];
+            count[g]++;
+            plannedSets[g] += ps;
+            plannedReps[g] += pr;
+            plannedWeight[g] += pw;
+            actualSets[g] += as;
+            actualReps[g] += ar;
+            actualWeight[g] += aw;
+            maxActualWeight[g] = Math.max(maxActualWeight[g], aw);
+            plannedVolume[g] += (double) ps * pr * pw;
+            actualVolume[g] += (double) as * ar * aw;
+        }
+
+        List<Group> result = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            if (count[g] == 0) {
+                continue;
+            }
+            result.add(new Group(byExercise ? idsByCode[g] : null, byExercise ? null : bucketStarts.get(g), count[g],
+                    plannedSets[g], plannedReps[g], plannedWeight[g],
+                    actualSets[g], actualReps[g], actualWeight[g], maxActualWeight[g],
+                    plannedVolume[g], actualVolume[g]));
+        }
+        return result;
+    }
+
+    private void appendSession(Long sessionLogId) {
+        executionLogRepository.findColumnRowsBySessionLogId(sessionLogId).forEach(this::appendRow);
+    }
+
+    // Übernimmt eine Zeile [userId, startTime, exerciseId, geplant (Sätze, Wdh., Gewicht), ausgeführt (…), sessionLogId]
+    private void appendRow(Object[] row) {
+        append((Long) row[0], (LocalDateTime) row[1], (Long) row[2],
+                (Integer) row[3], (Integer) row[4], ((Double) row[5]).floatValue(),
+                (Integer) row[6], (Integer) row[7], ((Double) row[8]).floatValue());
+    }
+
+    private int encode(long exerciseId) {
+        synchronized (codesByExerciseId) {
+            Integer code = codesByExerciseId.get(exerciseId);
+            if (code == null) {
+                code = codesByExerciseId.size();
+                if (code == exerciseIdsByCode.length) {
+                    exerciseIdsByCode = Arrays.copyOf(exerciseIdsByCode, code * 2);
+                }
+                exerciseIdsByCode[code] = exerciseId;
+                codesByExerciseId.put(exerciseId, code);
+            }
+            return code;
+        }
+    }
+
+    private Integer codeOf(long exerciseId) {
+        synchronized (codesByExerciseId) {
+            return codesByExerciseId.get(exerciseId);
+        }
+    }
+
+    private long[] exerciseIds() {
+        synchronized (codesByExerciseId) {
+            return Arrays.copyOf(exerciseIdsByCode, codesByExerciseId.size());
+        }
+    }
+
+    private static LocalDate bucketStart(GroupBy groupBy, LocalDate day) {
+        return switch (groupBy) {
+            case WEEK -> day.minusDays(day.getDayOfWeek().getValue() - 1L);
+            case MONTH -> day.withDayOfMonth(1);
+            default -> day;
+        };
+    }
+
+    // Unveränderlicher Blick auf die ersten size Zeilen einer Partition
+    private record Columns(int size, int[] exercise, long[] timestamps,
+                           int[] plannedSets, int[] plannedReps, float[] plannedWeight,
+                           int[] actualSets, int[] actualReps, float[] actualWeight) {
+    }
+
+    /**
+     * Spalten eines Benutzers. Angehängt wird nur hinter size; beim Vergrößern entstehen neue Arrays,
+     * ein Snapshot bleibt daher ohne Sperre gültig.
+     */
+    private static final class Partition {
+        private int size;
+        private int[] exercise = new int[16];
+        private long[] timestamps = new long[16];
+        private int[] plannedSets = new int[16];
+        private int[] plannedReps = new int[16];
+        private float[] plannedWeight = new float[16];
+        private int[] actualSets = new int[16];
+        private int[] actualReps = new int[16];
+        private float[] actualWeight = new float[16];
+
+        synchronized void append(long timestamp, int exerciseCode, int ps, int pr, float pw, int as, int ar, float aw) {
+            if (size == exercise.length) {
+                int capacity = size * 2;
+                exercise = Arrays.copyOf(exercise, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                plannedSets = Arrays.copyOf(plannedSets, capacity);
+                plannedReps = Arrays.copyOf(plannedReps, capacity);
+                plannedWeight = Arrays.copyOf(plannedWeight, capacity);
+                actualSets = Arrays.copyOf(actualSets, capacity);
+                actualReps = Arrays.copyOf(actualReps, capacity);
+                actualWeight = Arrays.copyOf(actualWeight, capacity);
+            }
+            exercise[size] = exerciseCode;
+            timestamps[size] = timestamp;
+            plannedSets[size] = ps;
+            plannedReps[size] = pr;
+            plannedWeight[size] = pw;
+            actualSets[size] = as;
+            actualReps[size] = ar;
+            actualWeight[size] = aw;
+            size++;
+        }
+
+        synchronized Columns snapshot() {
+            return new Columns(size, exercise, timestamps, plannedSets, plannedReps, plannedWeight,
+                    actualSets, actualReps, actualWeight);
+        }
+    }
+}
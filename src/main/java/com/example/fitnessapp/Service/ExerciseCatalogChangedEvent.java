@@ -0,0 +1,7 @@
+package com.example.fitnessapp.Service;
+
+/**
+ * Wird nach dem Anlegen, Ändern oder Löschen einer Übung veröffentlicht (Listener reagieren nach dem Commit)
+ */
+public record ExerciseCatalogChangedEvent(Long exerciseId) {
+}
@@ -0,0 +1,80 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unveränderlicher Schnappschuss des Übungskatalogs als fertig serialisiertes JSON mit starkem ETag.
+ * Wird beim ersten Zugriff geladen und nach jeder Katalogänderung (nach dem Commit) neu aufgebaut;
+ * GET /api/exercises braucht dadurch weder Datenbank noch Jackson.
+ */
+@Component
+public class ExerciseCatalogSnapshot {
+
+    public record Snapshot(byte[] json, String etag) {
+    }
+
+    private final ExerciseRepository1 exerciseRepository;
+    private final ObjectWriter catalogWriter;
+
+    // Wird bei jeder Änderung erhöht; ein Neuaufbau wird nur übernommen, wenn sich der Katalog währenddessen nicht geändert hat
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot current;
+
+    public ExerciseCatalogSnapshot(ExerciseRepository1 exerciseRepository, ObjectMapper objectMapper) {
+        this.exerciseRepository = exerciseRepository;
+        this.catalogWriter = objectMapper.writerFor(new TypeReference<List<Exercise1>>() { });
+    }
+
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ExerciseCatalogChangedEvent event) {
+        generation.incrementAndGet();
+        current = null;
+        rebuild();
+    }
+
+    private Snapshot rebuild() {
+        long startedAt = generation.get();
+        Snapshot snapshot = build(exerciseRepository.findAllWithMuscleGroups());
+        synchronized (this) {
+            if (generation.get() == startedAt) {
+                current = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    private Snapshot build(List<Exercise1> exercises) {
+        try {
+            byte[] json = catalogWriter.writeValueAsBytes(exercises);
+            return new Snapshot(json, '"' + HexFormat.of().formatHex(sha256(json), 0, 16) + '"');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Exercise catalog could not be serialized", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.fitnessapp.Service;
 
 import com.example.fitnessapp.DTOs.ExerciseExecutionTemplateRequest;
 import com.example.fitnessapp.DTOs.ExerciseExecutionTemplateResponse;
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
 import com.example.fitnessapp.Model.Exercise1;
 import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
 import com.example.fitnessapp.Model.TrainingSession1;
@@ -10,9 +11,15 @@ import com.example.fitnessapp.Repository.ExerciseRepository1;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,13 +28,16 @@ public class ExerciseExecutionTemplateService {
     private final ExerciseExecutionTemplateRepository templateRepository;
     private final TrainingSessionRepository1 trainingSessionRepository;
     private final ExerciseRepository1 exerciseRepository;
+    private final ExerciseSimilarityIndex similarityIndex;
 
     public ExerciseExecutionTemplateService(ExerciseExecutionTemplateRepository templateRepository,
                                             TrainingSessionRepository1 trainingSessionRepository,
-                                            ExerciseRepository1 exerciseRepository) {
+                                            ExerciseRepository1 exerciseRepository,
+                                            ExerciseSimilarityIndex similarityIndex) {
         this.templateRepository = templateRepository;
         this.trainingSessionRepository = trainingSessionRepository;
         this.exerciseRepository = exerciseRepository;
+        this.similarityIndex = similarityIndex;
     }
     // holt alle Übungen als Liste einer Session und sortiert nach reihenfolge
     public List<ExerciseExecutionTemplateResponse> getForSession(Long sessionId) {
@@ -37,6 +47,7 @@ public class ExerciseExecutionTemplateService {
                 .collect(Collectors.toList());
     }
     // erstellt eine neue Übungsvorlage für eine Session
+    @Transactional
     public ExerciseExecutionTemplateResponse create(ExerciseExecutionTemplateRequest request) {
         TrainingSession1 session = trainingSessionRepository.findById(request.getSessionId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "TrainingSession not found"));
@@ -63,7 +74,9 @@ public class ExerciseExecutionTemplateService {
                 .orderIndex(request.getOrderIndex())
                 .build();
 
-        return toResponse(templateRepository.save(entity));
+        ExerciseExecutionTemplateResponse response = toResponse(templateRepository.save(entity));
+        trainingSessionRepository.adjustExerciseCount(session.getId(), 1); // Zähler der Session mitführen
+        return response;
     }
     // aktualisiert eine bestehende Übungsvorlage
     public ExerciseExecutionTemplateResponse update(Long id, ExerciseExecutionTemplateRequest request) {
@@ -95,9 +108,59 @@ public class ExerciseExecutionTemplateService {
 
         return toResponse(templateRepository.save(existing));
     }
+    // setzt die Reihenfolge aller Übungsvorlagen einer Session in einem Schritt (orderIndex = Position in der Liste)
+    @Transactional
+    public List<ExerciseExecutionTemplateResponse> reorder(Long sessionId, List<Long> templateIds) {
+        if (!trainingSessionRepository.existsById(sessionId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "TrainingSession not found");
+        }
+        List<ExerciseExecutionTemplate> templates = templateRepository.findWithExerciseByTrainingSessionId(sessionId);
+
+        // Prüfung im Speicher: jede Vorlage der Session genau einmal, keine fremden IDs
+        Map<Long, ExerciseExecutionTemplate> byId = new HashMap<>();
+        for (ExerciseExecutionTemplate template : templates) {
+            byId.put(template.getId(), template);
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Long id : templateIds) {
+            if (id == null || !seen.add(id)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate or missing template id in order");
+            }
+            if (!byId.containsKey(id)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Template " + id + " does not belong to session");
+            }
+        }
+        if (seen.size() != byId.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must contain all templates of the session");
+        }
+
+        // Nur geänderte Vorlagen werden beim Commit per (gebündeltem) UPDATE geschrieben
+        List<ExerciseExecutionTemplate> ordered = new ArrayList<>(templateIds.size());
+        for (int i = 0; i < templateIds.size(); i++) {
+            ExerciseExecutionTemplate template = byId.get(templateIds.get(i));
+            template.setOrderIndex(i + 1);
+            ordered.add(template);
+        }
+        return ordered.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+    // schlägt Ersatzübungen für eine Übungsvorlage vor (ähnlichste zuerst, ohne Übungen, die schon in der Session sind)
+    public List<SimilarExerciseResponse> getSubstitutes(Long sessionId, Long templateId, int k) {
+        ExerciseExecutionTemplate template = templateRepository.findById(templateId)
+                .filter(t -> t.getTrainingSession().getId().equals(sessionId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Template not found"));
+        Set<Long> inSession = new HashSet<>(templateRepository.findExerciseIdsByTrainingSessionId(sessionId));
+        return similarityIndex.findSimilar(template.getExercise().getId(), k, inSession);
+    }
     // löscht eine Übungsvorlage anhand der ID
+    @Transactional
     public void delete(Long id) {
+        Long sessionId = templateRepository.findTrainingSessionIdById(id).orElse(null);
         templateRepository.deleteById(id);
+        if (sessionId != null) {
+            trainingSessionRepository.adjustExerciseCount(sessionId, -1); // Zähler der Session mitführen
+        }
     }
     // Prüft ob alle pflichtwerte gültig sind
     private void validate(ExerciseExecutionTemplateRequest request) {
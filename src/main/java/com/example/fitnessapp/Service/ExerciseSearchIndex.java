@@ -0,0 +1,224 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.ExerciseSearchHit;
+import com.example.fitnessapp.DTOs.ExerciseSearchPage;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory-Suchindex über den Übungskatalog (Name, Beschreibung, Muskelgruppen).
+ * Jedes Feld wird in Trigramme zerlegt; eine Suche zählt je Übung die gemeinsamen Trigramme mit der Anfrage.
+ * Dadurch werden Teilwörter und Tippfehler gefunden, ohne die Datenbank abzufragen.
+ * Der Index wird beim Start aufgebaut und nach jeder Katalogänderung für die betroffene Übung aktualisiert.
+ */
+@Component
+public class ExerciseSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Felder als Bits in den Postings; Gewichte bestimmen, wie stark ein Treffer im jeweiligen Feld zählt
+    private static final int FIELD_NAME = 0;
+    private static final int FIELD_MUSCLE_GROUPS = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.6, 0.3};
+
+    // Mindestanteil der Anfrage-Trigramme, die in einem Feld vorkommen müssen
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private record IndexedExercise(Exercise1 exercise, Map<String, Integer> trigramFields) {
+    }
+
+    private final ExerciseRepository1 exerciseRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedExercise> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>(); // Trigramm -> (Übungs-ID -> Feld-Bits)
+
+    public ExerciseSearchIndex(ExerciseRepository1 exerciseRepository) {
+        this.exerciseRepository = exerciseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Exercise1> exercises = exerciseRepository.findAllWithMuscleGroups();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            exercises.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Aktualisiert nur die geänderte Übung (neu laden oder entfernen, falls gelöscht)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(ExerciseCatalogChangedEvent event) {
+        Exercise1 exercise = exerciseRepository.findWithMuscleGroupsById(event.exerciseId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.exerciseId());
+            if (exercise != null) {
+                add(exercise);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ExerciseSearchPage search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must not be empty");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<String> queryTrigrams = trigrams(query);
+        String normalizedQuery = normalize(query).trim();
+
+        List<ExerciseSearchHit> hits = new ArrayList<>();
+        if (queryTrigrams.isEmpty()) {
+            return ExerciseSearchPage.builder().items(hits).page(page).size(size).total(0).build();
+        }
+        lock.readLock().lock();
+        try {
+            // Je Übung und Feld die gemeinsamen Trigramme zählen
+            Map<Long, int[]> matches = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Map<Long, Integer> posting = postings.get(trigram);
+                if (posting == null) {
+                    continue;
+                }
+                for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                    int[] counts = matches.computeIfAbsent(entry.getKey(), id -> new int[FIELD_WEIGHTS.length]);
+                    int fields = entry.getValue();
+                    for (int field = 0; field < counts.length; field++) {
+                        if ((fields & (1 << field)) != 0) {
+                            counts[field]++;
+                        }
+                    }
+                }
+            }
+
+            for (Map.Entry<Long, int[]> entry : matches.entrySet()) {
+                double best = 0;
+                double score = 0;
+                for (int field = 0; field < FIELD_WEIGHTS.length; field++) {
+                    double similarity = (double) entry.getValue()[field] / queryTrigrams.size();
+                    best = Math.max(best, similarity);
+                    score += FIELD_WEIGHTS[field] * similarity;
+                }
+                if (best < MIN_SIMILARITY) {
+                    continue;
+                }
+                Exercise1 exercise = documents.get(entry.getKey()).exercise();
+                if (normalize(exercise.getName()).contains(normalizedQuery)) {
+                    score += 0.5; // Bonus für exakte Teilzeichenfolge im Namen
+                }
+                hits.add(ExerciseSearchHit.builder()
+                        .id(exercise.getId())
+                        .name(exercise.getName())
+                        .category(exercise.getCategory())
+                        .muscleGroups(exercise.getMuscleGroups())
+                        .score(score)
+                        .build());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble(ExerciseSearchHit::getScore).reversed()
+                .thenComparing(ExerciseSearchHit::getName, String.CASE_INSENSITIVE_ORDER));
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        return ExerciseSearchPage.builder()
+                .items(new ArrayList<>(hits.subList(from, to)))
+                .page(page)
+                .size(size)
+                .total(hits.size())
+                .build();
+    }
+
+    private void add(Exercise1 exercise) {
+        // Losgelöste Kopie, damit der Index keine Hibernate-Collections festhält
+        Exercise1 copy = Exercise1.builder()
+                .id(exercise.getId())
+                .name(exercise.getName())
+                .category(exercise.getCategory())
+                .muscleGroups(exercise.getMuscleGroups() != null ? Set.copyOf(exercise.getMuscleGroups()) : Set.of())
+                .description(exercise.getDescription())
+                .build();
+
+        Map<String, Integer> trigramFields = new HashMap<>();
+        addField(trigramFields, copy.getName(), FIELD_NAME);
+        copy.getMuscleGroups().forEach(group -> addField(trigramFields, group, FIELD_MUSCLE_GROUPS));
+        addField(trigramFields, copy.getDescription(), FIELD_DESCRIPTION);
+
+        documents.put(copy.getId(), new IndexedExercise(copy, trigramFields));
+        trigramFields.forEach((trigram, fields) ->
+                postings.computeIfAbsent(trigram, t -> new HashMap<>()).put(copy.getId(), fields));
+    }
+
+    private void remove(Long exerciseId) {
+        IndexedExercise existing = documents.remove(exerciseId);
+        if (existing == null) {
+            return;
+        }
+        for (String trigram : existing.trigramFields().keySet()) {
+            Map<Long, Integer> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(exerciseId);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Integer> trigramFields, String text, int field) {
+        if (text == null) {
+            return;
+        }
+        for (String trigram : trigrams(text)) {
+            trigramFields.merge(trigram, 1 << field, (a, b) -> a | b);
+        }
+    }
+
+    // Zerlegt einen Text wortweise in Trigramme; jedes Wort wird vorne mit zwei und hinten mit einem Leerzeichen aufgefüllt
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : normalize(text).split("[^a-z0-9]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    // Kleinbuchstaben, Umlaute/Akzente auf Grundbuchstaben (ü -> u, ß -> ss)
+    private static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT).replace("ß", "ss");
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
@@ -4,12 +4,18 @@ import com.example.fitnessapp.DTOs.ExerciseRequest;
 import com.example.fitnessapp.Model.Exercise1;
 import com.example.fitnessapp.Repository.ExerciseRepository1;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class ExerciseService1 {
@@ -17,6 +23,15 @@ public class ExerciseService1 {
     @Autowired
     private ExerciseRepository1 exerciseRepository;
 
+    @Autowired
+    private MuscleGroupDictionary muscleGroupDictionary; // Vergibt die Bits für die Muskelgruppen-Maske
+
+    @Autowired
+    private MuscleGroupFilterIndex muscleGroupFilterIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Meldet Katalogänderungen (z. B. an den Katalog-Schnappschuss)
+
     public List<Exercise1> getAllExercises() {
         return exerciseRepository.findAll();
     }
@@ -25,6 +40,65 @@ public class ExerciseService1 {
         return exerciseRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Exercise not found"));
     }
+    /**
+     * Filtert Übungen nach Muskelgruppen (bitweise über die Masken im Speicher)
+     * @param all Übung muss alle diese Gruppen enthalten
+     * @param any Übung muss mindestens eine dieser Gruppen enthalten (leer = keine Einschränkung)
+     * @param none Übung darf keine dieser Gruppen enthalten
+     */
+    public List<Exercise1> filterByMuscleGroups(List<String> all, List<String> any, List<String> none) {
+        List<String> unknownAll = new ArrayList<>();
+        List<String> unknownOther = new ArrayList<>();
+        long allMask = muscleGroupDictionary.encodeKnown(all, unknownAll);
+        long anyMask = muscleGroupDictionary.encodeKnown(any, unknownOther);
+        long noneMask = muscleGroupDictionary.encodeKnown(none, unknownOther);
+        if ((!unknownAll.isEmpty() || !unknownOther.isEmpty()) && muscleGroupDictionary.isFull()) {
+            // Wörterbuch voll: Ein unbekannter Name kann eine Gruppe ohne Bit sein, die Masken reichen nicht aus
+            return filterWithoutIndex(all, any, none);
+        }
+        if (!unknownAll.isEmpty()) {
+            return List.of(); // Eine unbekannte Pflicht-Gruppe kann keine Übung erfüllen
+        }
+        if (!any.isEmpty() && anyMask == 0) {
+            return List.of();
+        }
+
+        List<Long> ids = muscleGroupFilterIndex.filter(allMask, anyMask, noneMask);
+        return ids.isEmpty() ? List.of() : exerciseRepository.findAllWithMuscleGroupsByIdIn(ids);
+    }
+
+    // Filter über die gespeicherten Namen (langsamer Weg für Muskelgruppen ohne Bit)
+    private List<Exercise1> filterWithoutIndex(List<String> all, List<String> any, List<String> none) {
+        Set<String> allKeys = keys(all);
+        Set<String> anyKeys = keys(any);
+        Set<String> noneKeys = keys(none);
+        return exerciseRepository.findAllWithMuscleGroups().stream()
+                .filter(exercise -> {
+                    Set<String> groups = keys(exercise.getMuscleGroups());
+                    return groups.containsAll(allKeys)
+                            && (any.isEmpty() || anyKeys.stream().anyMatch(groups::contains))
+                            && noneKeys.stream().noneMatch(groups::contains);
+                })
+                .sorted(Comparator.comparing(Exercise1::getName))
+                .toList();
+    }
+
+    private static Set<String> keys(Collection<String> names) {
+        Set<String> keys = new HashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.isBlank()) {
+                    keys.add(MuscleGroupDictionary.key(name));
+                }
+            }
+        }
+        return keys;
+    }
+
+    // Alle bekannten Muskelgruppen (kanonisches Wörterbuch)
+    public List<String> getMuscleGroups() {
+        return muscleGroupDictionary.names();
+    }
     // Erstellt neue Übung
     @Transactional
     public Exercise1 createExercise(ExerciseRequest request) {
@@ -37,8 +111,11 @@ public class ExerciseService1 {
                 .category(request.getCategory())
                 .muscleGroups(request.getMuscleGroups())
                 .description(request.getDescription())
+                .muscleGroupMask(muscleGroupDictionary.encode(request.getMuscleGroups()))
                 .build();
-        return exerciseRepository.save(exercise);
+        Exercise1 saved = exerciseRepository.save(exercise);
+        eventPublisher.publishEvent(new ExerciseCatalogChangedEvent(saved.getId()));
+        return saved;
     }
     // Aktualisiert bestehende Übung
     @Transactional
@@ -51,14 +128,18 @@ public class ExerciseService1 {
         existing.setName(request.getName());
         existing.setCategory(request.getCategory());
         existing.setMuscleGroups(request.getMuscleGroups());
+        existing.setMuscleGroupMask(muscleGroupDictionary.encode(request.getMuscleGroups()));
         existing.setDescription(request.getDescription());
-        return exerciseRepository.save(existing);
+        Exercise1 saved = exerciseRepository.save(existing);
+        eventPublisher.publishEvent(new ExerciseCatalogChangedEvent(id));
+        return saved;
     }
     // Löscht Übung
     @Transactional
     public void deleteExercise(Long id) {
         Exercise1 existing = getExerciseById(id);
         exerciseRepository.delete(existing);
+        eventPublisher.publishEvent(new ExerciseCatalogChangedEvent(id));
     }
     // Validiert die Eingabedaten
     private void validateRequest(ExerciseRequest request) {
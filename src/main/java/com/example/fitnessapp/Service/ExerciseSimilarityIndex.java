@@ -0,0 +1,272 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Nächste-Nachbarn-Index für Ersatzübungen ("ähnlich wie Bankdrücken").
+ * Jede Übung wird als Vektor aus Muskelgruppen-Maske und Kategorie beschrieben;
+ * die Ähnlichkeit ist 0,8 × Jaccard der Muskelgruppen + 0,2 bei gleicher Kategorie.
+ * Kandidaten kommen nur aus den Postings der gemeinsamen Muskelgruppen-Bits und der Kategorie,
+ * der Katalog wird also nicht vollständig durchsucht.
+ */
+@Component
+public class ExerciseSimilarityIndex {
+
+    public static final int MAX_K = 50;
+
+    private static final double MUSCLE_WEIGHT = 0.8;
+    private static final double CATEGORY_WEIGHT = 0.2;
+
+    private record Features(long mask, String category) {
+    }
+
+    // Unveränderlicher Stand: Arrays über Index i (aufsteigend nach ID), dazu Postings je Muskelgruppen-Bit und je Kategorie
+    private record Snapshot(long[] ids, long[] masks, int[] categories, Map<Long, Integer> positions,
+                            int[][] bitPostings, Map<Integer, int[]> categoryPostings, Map<String, Integer> categoryIds) {
+    }
+
+    private record Scored(int index, double similarity) {
+    }
+
+    // Schlechtester Treffer zuerst: geringere Ähnlichkeit, bei Gleichstand die höhere ID (Index folgt der ID)
+    private static final Comparator<Scored> WORST_FIRST = Comparator.comparingDouble(Scored::similarity)
+            .thenComparing(Scored::index, Comparator.reverseOrder());
+
+    private final ExerciseRepository1 exerciseRepository;
+
+    private final TreeMap<Long, Features> features = new TreeMap<>();
+    private volatile Snapshot snapshot;
+
+    public ExerciseSimilarityIndex(ExerciseRepository1 exerciseRepository) {
+        this.exerciseRepository = exerciseRepository;
+    }
+
+    /**
+     * Lädt nur die geänderte Übung neu. Bei einer Änderung werden nur ihr Vektor und die Postings der
+     * betroffenen Bits und Kategorien ersetzt; Anlegen und Löschen verschieben die Positionen und bauen den Stand neu auf.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(ExerciseCatalogChangedEvent event) {
+        if (snapshot == null) {
+            return; // Noch nicht geladen; der erste Zugriff liest den aktuellen Stand
+        }
+        List<Object[]> rows = exerciseRepository.findSimilarityFeaturesById(event.exerciseId());
+        if (rows.isEmpty()) {
+            if (features.remove(event.exerciseId()) != null) {
+                snapshot = build();
+            }
+            return;
+        }
+        Features updated = toFeatures(rows.get(0)[1], rows.get(0)[2]);
+        Features previous = features.put(event.exerciseId(), updated);
+        if (previous == null) {
+            snapshot = build();
+        } else if (!previous.equals(updated)) {
+            snapshot = patch(snapshot, snapshot.positions().get(event.exerciseId()), updated);
+        }
+    }
+
+    // Für Aufrufer ohne Ausschlüsse
+    public List<SimilarExerciseResponse> findSimilar(Long exerciseId, int k) {
+        return findSimilar(exerciseId, k, Set.of());
+    }
+
+    /**
+     * Liefert die k ähnlichsten Übungen zu exerciseId (ohne die Übung selbst und ohne excludedIds)
+     */
+    public List<SimilarExerciseResponse> findSimilar(Long exerciseId, int k, Collection<Long> excludedIds) {
+        if (k < 1 || k > MAX_K) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k must be between 1 and " + MAX_K);
+        }
+        Snapshot current = loaded();
+        Integer target = current.positions().get(exerciseId);
+        if (target == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Exercise not found");
+        }
+
+        // Kandidaten: Übungen mit mindestens einer gemeinsamen Muskelgruppe oder derselben Kategorie
+        BitSet candidates = new BitSet(current.ids().length);
+        long mask = current.masks()[target];
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            for (int index : current.bitPostings()[Long.numberOfTrailingZeros(bits)]) {
+                candidates.set(index);
+            }
+        }
+        for (int index : current.categoryPostings().getOrDefault(current.categories()[target], new int[0])) {
+            candidates.set(index);
+        }
+        candidates.clear(target);
+
+        // Top-k mit einem Min-Heap der Größe k (deterministisch: bei gleicher Ähnlichkeit gewinnt die kleinere ID)
+        PriorityQueue<Scored> best = new PriorityQueue<>(WORST_FIRST);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (excludedIds.contains(current.ids()[i])) {
+                continue;
+            }
+            Scored scored = new Scored(i, similarity(mask, current.categories()[target], current.masks()[i], current.categories()[i]));
+            if (best.size() < k) {
+                best.add(scored);
+            } else if (WORST_FIRST.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        // Anzeige-Daten der (wenigen) Treffer in einer Abfrage nachladen
+        List<Long> ids = ranked.stream().map(s -> current.ids()[s.index()]).toList();
+        Map<Long, Exercise1> exercises = exerciseRepository.findAllWithMuscleGroupsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Exercise1::getId, Function.identity()));
+        List<SimilarExerciseResponse> result = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            Exercise1 exercise = exercises.get(current.ids()[scored.index()]);
+            if (exercise == null) {
+                continue; // Zwischenzeitlich gelöscht
+            }
+            result.add(SimilarExerciseResponse.builder()
+                    .id(exercise.getId())
+                    .name(exercise.getName())
+                    .category(exercise.getCategory())
+                    .muscleGroups(exercise.getMuscleGroups())
+                    .similarity(scored.similarity())
+                    .build());
+        }
+        return result;
+    }
+
+    private static double similarity(long maskA, int categoryA, long maskB, int categoryB) {
+        long union = maskA | maskB;
+        double jaccard = union == 0 ? 0.0 : (double) Long.bitCount(maskA & maskB) / Long.bitCount(union);
+        return MUSCLE_WEIGHT * jaccard + (categoryA == categoryB ? CATEGORY_WEIGHT : 0.0);
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                features.clear();
+                for (Object[] row : exerciseRepository.findAllSimilarityFeatures()) {
+                    features.put((Long) row[0], toFeatures(row[1], row[2]));
+                }
+                snapshot = build();
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot build() {
+        int size = features.size();
+        long[] ids = new long[size];
+        long[] masks = new long[size];
+        int[] categories = new int[size];
+        Map<Long, Integer> positions = new HashMap<>();
+        Map<String, Integer> categoryIds = new HashMap<>();
+        List<List<Integer>> bitLists = new ArrayList<>();
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            bitLists.add(new ArrayList<>());
+        }
+        Map<Integer, List<Integer>> categoryLists = new HashMap<>();
+
+        int i = 0;
+        for (Map.Entry<Long, Features> entry : features.entrySet()) {
+            ids[i] = entry.getKey();
+            masks[i] = entry.getValue().mask();
+            categories[i] = categoryIds.computeIfAbsent(entry.getValue().category(), c -> categoryIds.size());
+            positions.put(ids[i], i);
+            for (long bits = masks[i]; bits != 0; bits &= bits - 1) {
+                bitLists.get(Long.numberOfTrailingZeros(bits)).add(i);
+            }
+            categoryLists.computeIfAbsent(categories[i], c -> new ArrayList<>()).add(i);
+            i++;
+        }
+
+        int[][] bitPostings = new int[Long.SIZE][];
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            bitPostings[bit] = bitLists.get(bit).stream().mapToInt(Integer::intValue).toArray();
+        }
+        Map<Integer, int[]> categoryPostings = new HashMap<>();
+        categoryLists.forEach((category, list) ->
+                categoryPostings.put(category, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new Snapshot(ids, masks, categories, positions, bitPostings, categoryPostings, categoryIds);
+    }
+
+    // Neuer Stand mit geändertem Vektor an Position index; unveränderte Postings werden übernommen
+    private static Snapshot patch(Snapshot current, int index, Features updated) {
+        long[] masks = current.masks().clone();
+        int[] categories = current.categories().clone();
+        int[][] bitPostings = current.bitPostings().clone();
+        long changedBits = masks[index] ^ updated.mask();
+        for (long bits = changedBits; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            bitPostings[bit] = (updated.mask() & (1L << bit)) != 0
+                    ? with(bitPostings[bit], index)
+                    : without(bitPostings[bit], index);
+        }
+        masks[index] = updated.mask();
+
+        Map<String, Integer> categoryIds = current.categoryIds();
+        Map<Integer, int[]> categoryPostings = current.categoryPostings();
+        Integer category = categoryIds.get(updated.category());
+        if (category == null) {
+            categoryIds = new HashMap<>(categoryIds);
+            category = categoryIds.size();
+            categoryIds.put(updated.category(), category);
+        }
+        if (category != categories[index]) {
+            categoryPostings = new HashMap<>(categoryPostings);
+            int[] remaining = without(categoryPostings.get(categories[index]), index);
+            if (remaining.length == 0) {
+                categoryPostings.remove(categories[index]);
+            } else {
+                categoryPostings.put(categories[index], remaining);
+            }
+            categoryPostings.put(category, with(categoryPostings.getOrDefault(category, new int[0]), index));
+            categories[index] = category;
+        }
+        return new Snapshot(current.ids(), masks, categories, current.positions(), bitPostings, categoryPostings, categoryIds);
+    }
+
+    private static int[] with(int[] postings, int index) {
+        int[] result = Arrays.copyOf(postings, postings.length + 1);
+        result[postings.length] = index;
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static int[] without(int[] postings, int index) {
+        return Arrays.stream(postings).filter(i -> i != index).toArray();
+    }
+
+    private static Features toFeatures(Object mask, Object category) {
+        String normalized = category == null ? "" : category.toString().trim().toLowerCase(Locale.ROOT);
+        return new Features((Long) mask, normalized);
+    }
+}
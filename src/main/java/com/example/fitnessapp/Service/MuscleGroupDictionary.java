@@ -0,0 +1,163 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Model.MuscleGroup;
+import com.example.fitnessapp.Repository.MuscleGroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Kanonisches Wörterbuch der Muskelgruppen: ordnet jedem Namen ein festes Bit (0..63) zu.
+ * Neue Namen erhalten das nächste freie Bit; der Eintrag wird in einer eigenen Transaktion gespeichert,
+ * damit ein vergebenes Bit auch bei einem Rollback der aufrufenden Transaktion gültig bleibt.
+ * Sind alle Bits vergeben, bleiben weitere Namen ohne Bit (kein Fehler); Filter nach solchen Namen
+ * laufen dann ohne Index über die gespeicherten Namen (siehe ExerciseService1).
+ */
+@Component
+public class MuscleGroupDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(MuscleGroupDictionary.class);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final MuscleGroupRepository muscleGroupRepository;
+    private final TransactionTemplate requiresNew;
+
+    private final Map<String, Integer> bitsByKey = new HashMap<>();
+    private final String[] namesByBit = new String[MuscleGroup.MAX_GROUPS];
+    private volatile boolean loaded;
+
+    public MuscleGroupDictionary(MuscleGroupRepository muscleGroupRepository, PlatformTransactionManager transactionManager) {
+        this.muscleGroupRepository = muscleGroupRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Kodiert die Namen als Maske; unbekannte Namen werden dabei ins Wörterbuch aufgenommen,
+     * solange Bits frei sind. Namen ohne freies Bit fehlen in der Maske.
+     */
+    public synchronized long encode(Collection<String> names) {
+        ensureLoaded();
+        long mask = 0L;
+        if (names == null) {
+            return mask;
+        }
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            Integer bit = bitsByKey.get(key(name));
+            if (bit == null) {
+                bit = register(name.trim());
+            }
+            if (bit != null) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    // Kodiert nur bekannte Namen (für Filter); unbekannte Namen werden in unknown gesammelt
+    public synchronized long encodeKnown(Collection<String> names, List<String> unknown) {
+        ensureLoaded();
+        long mask = 0L;
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            Integer bit = bitsByKey.get(key(name));
+            if (bit == null) {
+                unknown.add(name);
+            } else {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    // Alle bekannten Muskelgruppen in Bit-Reihenfolge
+    public synchronized List<String> names() {
+        ensureLoaded();
+        List<String> result = new ArrayList<>();
+        for (String name : namesByBit) {
+            if (name != null) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    // Name der Muskelgruppe zu einem Bit (null, wenn das Bit nicht vergeben ist)
+    public synchronized String nameOf(int bit) {
+        ensureLoaded();
+        return bit >= 0 && bit < namesByBit.length ? namesByBit[bit] : null;
+    }
+
+    // true, wenn alle Bits vergeben sind: Unbekannte Namen können dann in Übungen vorkommen, ohne ein Bit zu haben
+    public synchronized boolean isFull() {
+        ensureLoaded();
+        return freeBit() < 0;
+    }
+
+    /**
+     * Normalisierter Schlüssel eines Namens: Unicode-NFKC, Leerraum zusammengefasst, Groß-/Kleinschreibung
+     * gefaltet (über Großbuchstaben, damit z. B. "ß" und "ss" gleich sind)
+     */
+    public static String key(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC);
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    // Vergibt das nächste freie Bit; null, wenn alle Bits belegt sind
+    private Integer register(String name) {
+        int bit = freeBit();
+        if (bit < 0) {
+            log.warn("All {} muscle group bits are taken, '{}' is filtered without index", MuscleGroup.MAX_GROUPS, name);
+            return null;
+        }
+        MuscleGroup group = MuscleGroup.builder().bit(bit).name(name).normalizedKey(key(name)).build();
+        requiresNew.executeWithoutResult(status -> muscleGroupRepository.save(group));
+        bitsByKey.put(group.getNormalizedKey(), bit);
+        namesByBit[bit] = name;
+        return bit;
+    }
+
+    private int freeBit() {
+        for (int bit = 0; bit < namesByBit.length; bit++) {
+            if (namesByBit[bit] == null) {
+                return bit;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        // Fallen zwei Einträge auf denselben Schlüssel, gilt das kleinere Bit; das andere bleibt frei und wird
+        // wieder vergeben (die Masken zieht MuscleGroupFilterIndex beim Start nach)
+        List<MuscleGroup> groups = new ArrayList<>(muscleGroupRepository.findAll());
+        groups.sort(Comparator.comparing(MuscleGroup::getBit));
+        for (MuscleGroup group : groups) {
+            if (bitsByKey.putIfAbsent(key(group.getName()), group.getBit()) == null) {
+                namesByBit[group.getBit()] = group.getName();
+            }
+        }
+        loaded = true;
+    }
+}
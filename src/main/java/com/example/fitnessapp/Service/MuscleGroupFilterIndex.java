@@ -0,0 +1,108 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Filtert Übungen nach Muskelgruppen über ein Array von 64-Bit-Masken im Speicher.
+ * "Brust UND Trizeps" ist damit ein bitweises UND je Übung, ohne Join auf exercise_muscle_groups.
+ * Die Arrays sind unveränderlich und werden bei einer Katalogänderung als Kopie ersetzt.
+ */
+@Component
+public class MuscleGroupFilterIndex {
+
+    // IDs aufsteigend sortiert, masks[i] gehört zu ids[i]
+    private record Masks(long[] ids, long[] masks) {
+    }
+
+    private final ExerciseRepository1 exerciseRepository;
+    private final MuscleGroupDictionary dictionary;
+
+    private volatile Masks current = new Masks(new long[0], new long[0]);
+
+    public MuscleGroupFilterIndex(ExerciseRepository1 exerciseRepository, MuscleGroupDictionary dictionary) {
+        this.exerciseRepository = exerciseRepository;
+        this.dictionary = dictionary;
+    }
+
+    // Beim Start: Masken von Übungen nachziehen, die ohne ExerciseService1 angelegt wurden, dann Index aufbauen
+    // (Gruppen ohne freies Bit fehlen nur in der Maske, der Start schlägt dadurch nicht fehl)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        for (Exercise1 exercise : exerciseRepository.findAllWithMuscleGroups()) {
+            long mask = dictionary.encode(exercise.getMuscleGroups());
+            if (mask != exercise.getMuscleGroupMask()) {
+                exerciseRepository.updateMuscleGroupMask(exercise.getId(), mask);
+            }
+        }
+        List<Object[]> rows = exerciseRepository.findAllMuscleGroupMasks();
+        long[] ids = new long[rows.size()];
+        long[] masks = new long[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = (Long) rows.get(i)[0];
+            masks[i] = (Long) rows.get(i)[1];
+        }
+        current = new Masks(ids, masks);
+    }
+
+    // Ersetzt nur den Eintrag der geänderten Übung (bzw. entfernt ihn nach dem Löschen)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(ExerciseCatalogChangedEvent event) {
+        Long mask = exerciseRepository.findMuscleGroupMaskById(event.exerciseId()).orElse(null);
+        Masks before = current;
+        int pos = Arrays.binarySearch(before.ids(), event.exerciseId());
+        if (pos >= 0 && mask != null) {
+            long[] masks = before.masks().clone();
+            masks[pos] = mask;
+            current = new Masks(before.ids(), masks);
+        } else if (pos >= 0) {
+            current = new Masks(removeAt(before.ids(), pos), removeAt(before.masks(), pos));
+        } else if (mask != null) {
+            int insert = -pos - 1;
+            current = new Masks(insertAt(before.ids(), insert, event.exerciseId()), insertAt(before.masks(), insert, mask));
+        }
+    }
+
+    /**
+     * Liefert die IDs aller Übungen, die alle Gruppen aus allMask, mindestens eine aus anyMask (falls != 0)
+     * und keine aus noneMask enthalten
+     */
+    public List<Long> filter(long allMask, long anyMask, long noneMask) {
+        Masks snapshot = current;
+        long[] ids = snapshot.ids();
+        long[] masks = snapshot.masks();
+        List<Long> result = new ArrayList<>();
+        for (int i = 0; i < masks.length; i++) {
+            long mask = masks[i];
+            if ((mask & allMask) == allMask
+                    && (anyMask == 0 || (mask & anyMask) != 0)
+                    && (mask & noneMask) == 0) {
+                result.add(ids[i]);
+            }
+        }
+        return result;
+    }
+
+    private static long[] removeAt(long[] array, int index) {
+        long[] result = new long[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static long[] insertAt(long[] array, int index, long value) {
+        long[] result = new long[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+}
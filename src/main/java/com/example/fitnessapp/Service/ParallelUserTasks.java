@@ -0,0 +1,48 @@
+package com.example.fitnessapp.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ToIntFunction;
+
+/**
+ * Führt eine Aufgabe je Benutzer parallel auf einem begrenzten Thread-Pool aus (z. B. Neuaufbau von Auswertungen)
+ */
+final class ParallelUserTasks {
+
+    private ParallelUserTasks() {
+    }
+
+    /**
+     * @param task Aufgabe für einen Benutzer; liefert die Anzahl geschriebener Zeilen
+     * @return Summe der Rückgaben aller Aufgaben
+     * @throws IllegalStateException wenn eine Aufgabe fehlschlägt (die übrigen werden abgebrochen)
+     */
+    static int run(List<Long> userIds, int threads, ToIntFunction<Long> task) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, userIds.size())));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                futures.add(pool.submit(() -> task.applyAsInt(userId)));
+            }
+            int rows = 0;
+            for (Future<Integer> future : futures) {
+                rows += future.get();
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rebuild was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rebuild failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.PersonalRecordAchievement;
+import com.example.fitnessapp.DTOs.PersonalRecordResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.PersonalRecord;
+import com.example.fitnessapp.Model.PersonalRecordType;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.PersonalRecordRepository;
+import com.example.fitnessapp.Security.CurrentUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persönliche Bestleistungen je Benutzer und Übung: höchstes Gewicht, geschätztes 1RM und Volumen einer Ausführung.
+ * Beim Abschluss einer Session werden nur deren Übungen mit den gespeicherten Werten verglichen (O(1) je Übung);
+ * Lesezugriffe kommen aus einem kleinen Cache je Benutzer, der nach jeder Änderung verworfen wird.
+ */
+@Service
+public class PersonalRecordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonalRecordService.class);
+
+    // Versuche je Abschluss, wenn ein paralleler Abschluss den ersten Eintrag einer Übung zuerst angelegt hat
+    private static final int MAX_APPLY_ATTEMPTS = 3;
+
+    private static final Comparator<PersonalRecordAchievement> ACHIEVEMENT_ORDER = Comparator
+            .comparing(PersonalRecordAchievement::getExerciseName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PersonalRecordAchievement::getType);
+
+    private final PersonalRecordRepository recordRepository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final ExerciseRepository1 exerciseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, List<PersonalRecordResponse>> cache;
+
+    public PersonalRecordService(PersonalRecordRepository recordRepository,
+                                 ExecutionLogRepository executionLogRepository,
+                                 ExerciseRepository1 exerciseRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${fitness.analytics.records-cache.max-size:1000}") long maxSize,
+                                 @Value("${fitness.analytics.records-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.recordRepository = recordRepository;
+        this.executionLogRepository = executionLogRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.eventPublisher = eventPublisher;
+        // Läuft nach dem Commit von complete(), deren Transaktion ist dann noch gebunden: immer eine neue starten
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    // Geschätztes 1RM nach Epley: Gewicht × (1 + Wiederholungen / 30); bei einer Wiederholung das Gewicht selbst
+    public static double epley(double weight, int reps) {
+        return reps <= 1 ? weight : weight * (1 + reps / 30.0);
+    }
+
+    // Geschätztes 1RM nach Brzycki: Gewicht × 36 / (37 − Wiederholungen); ab 37 Wiederholungen nicht definiert
+    public static Double brzycki(double weight, int reps) {
+        if (reps >= 37) {
+            return null;
+        }
+        return reps <= 1 ? weight : weight * 36.0 / (37 - reps);
+    }
+
+    /**
+     * Vergleicht die abgeschlossenen Übungen einer Session mit den Bestleistungen und schreibt Verbesserungen fort.
+     * Läuft nach dem Commit des Abschlusses in eigener Transaktion: Legt ein paralleler Abschluss den ersten Eintrag
+     * derselben Übung zuerst an, wird neu verglichen; andere Fehler werden nur protokolliert.
+     * @param achievedAt Zeitpunkt, der bei neuen Bestleistungen gespeichert wird (Beginn der Session)
+     * @return Übertroffene Bestleistungen; der erste Eintrag für eine Übung zählt nicht als Rekord
+     */
+    public List<PersonalRecordAchievement> applyCompletedSession(Long sessionLogId, Long userId, LocalDateTime achievedAt) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> compareAndSave(sessionLogId, userId, achievedAt));
+            } catch (DataIntegrityViolationException e) {
+                // Die Transaktion ist vollständig zurückgerollt, der nächste Versuch findet den neuen Eintrag vor
+                if (attempt >= MAX_APPLY_ATTEMPTS) {
+                    log.error("Updating personal records for SessionLog {} failed after {} attempts",
+                            sessionLogId, attempt, e);
+                    return List.of();
+                }
+            } catch (RuntimeException e) {
+                log.error("Updating personal records for SessionLog {} failed", sessionLogId, e);
+                return List.of();
+            }
+        }
+    }
+
+    private List<PersonalRecordAchievement> compareAndSave(Long sessionLogId, Long userId, LocalDateTime achievedAt) {
+        List<Object[]> rows = executionLogRepository.findCompletedSetsBySessionLogId(sessionLogId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> exerciseIds = new HashSet<>();
+        for (Object[] row : rows) {
+            exerciseIds.add((Long) row[0]);
+        }
+        Map<Long, PersonalRecord> records = new HashMap<>();
+        Map<Long, Best> before = new HashMap<>();
+        for (PersonalRecord record : recordRepository.findByUserIdAndExerciseIdIn(userId, exerciseIds)) {
+            records.put(record.getExerciseId(), record);
+            before.put(record.getExerciseId(), Best.of(record));
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        boolean changed = false;
+        for (Object[] row : rows) {
+            Long exerciseId = (Long) row[0];
+            names.put(exerciseId, (String) row[1]);
+            PersonalRecord record = records.computeIfAbsent(exerciseId, id -> PersonalRecord.builder()
+                    .userId(userId)
+                    .exerciseId(id)
+                    .build());
+            changed |= apply(record, (Integer) row[2], (Integer) row[3], (Double) row[4], achievedAt);
+        }
+        if (!changed) {
+            return List.of();
+        }
+        recordRepository.saveAll(records.values());
+        eventPublisher.publishEvent(new PersonalRecordsChangedEvent(userId));
+
+        List<PersonalRecordAchievement> achievements = new ArrayList<>();
+        for (Map.Entry<Long, Best> entry : before.entrySet()) {
+            PersonalRecord record = records.get(entry.getKey());
+            Best previous = entry.getValue();
+            String name = names.get(entry.getKey());
+            addIfImproved(achievements, record, name, PersonalRecordType.MAX_WEIGHT, previous.maxWeight(), record.getMaxWeight());
+            addIfImproved(achievements, record, name, PersonalRecordType.ESTIMATED_ONE_REP_MAX,
+                    previous.estimatedOneRepMax(), record.getEstimatedOneRepMax());
+            addIfImproved(achievements, record, name, PersonalRecordType.MAX_VOLUME, previous.maxVolume(), record.getMaxVolume());
+        }
+        achievements.sort(ACHIEVEMENT_ORDER);
+        return achievements;
+    }
+
+    /**
+     * Bestleistungen des angemeldeten Benutzers, alphabetisch nach Übung
+     */
+    public List<PersonalRecordResponse> getRecords() {
+        return cache.get(CurrentUser.id(), this::loadRecords);
+    }
+
+    // Erst nach dem Commit verwerfen, damit kein paralleler Lesezugriff den alten Stand erneut cacht
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecordsChanged(PersonalRecordsChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    private List<PersonalRecordResponse> loadRecords(Long userId) {
+        List<PersonalRecord> records = recordRepository.findByUserId(userId);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> exerciseIds = new HashSet<>();
+        for (PersonalRecord record : records) {
+            exerciseIds.add(record.getExerciseId());
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Exercise1 exercise : exerciseRepository.findAllById(exerciseIds)) {
+            names.put(exercise.getId(), exercise.getName());
+        }
+
+        List<PersonalRecordResponse> result = new ArrayList<>(records.size());
+        for (PersonalRecord record : records) {
+            result.add(PersonalRecordResponse.builder()
+                    .exerciseId(record.getExerciseId())
+                    .exerciseName(names.get(record.getExerciseId()))
+                    .maxWeight(record.getMaxWeight())
+                    .maxWeightReps(record.getMaxWeightReps())
+                    .maxWeightAchievedAt(record.getMaxWeightAchievedAt())
+                    .epleyOneRepMax(record.getEstimatedOneRepMax())
+                    .brzyckiOneRepMax(record.getOneRepMaxWeight() != null
+                            ? brzycki(record.getOneRepMaxWeight(), record.getOneRepMaxReps()) : null)
+                    .oneRepMaxWeight(record.getOneRepMaxWeight())
+                    .oneRepMaxReps(record.getOneRepMaxReps())
+                    .oneRepMaxAchievedAt(record.getOneRepMaxAchievedAt())
+                    .maxVolume(record.getMaxVolume())
+                    .maxVolumeAchievedAt(record.getMaxVolumeAchievedAt())
+                    .build());
+        }
+        result.sort(Comparator.comparing(PersonalRecordResponse::getExerciseName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return List.copyOf(result);
+    }
+
+    // Übernimmt die Werte einer Übungsausführung, wenn sie eine Bestleistung übertreffen
+    private static boolean apply(PersonalRecord record, int sets, int reps, double weight, LocalDateTime achievedAt) {
+        boolean changed = false;
+        // Gleiches Gewicht mit mehr Wiederholungen zählt ebenfalls als höchstes Gewicht
+        if (record.getMaxWeight() == null || weight > record.getMaxWeight()
+                || (weight == record.getMaxWeight() && reps > record.getMaxWeightReps())) {
+            record.setMaxWeight(weight);
+            record.setMaxWeightReps(reps);
+            record.setMaxWeightAchievedAt(achievedAt);
+            changed = true;
+        }
+        double oneRepMax = epley(weight, reps);
+        if (record.getEstimatedOneRepMax() == null || oneRepMax > record.getEstimatedOneRepMax()) {
+            record.setEstimatedOneRepMax(oneRepMax);
+            record.setOneRepMaxWeight(weight);
+            record.setOneRepMaxReps(reps);
+            record.setOneRepMaxAchievedAt(achievedAt);
+            changed = true;
+        }
+        double volume = sets * reps * weight;
+        if (record.getMaxVolume() == null || volume > record.getMaxVolume()) {
+            record.setMaxVolume(volume);
+            record.setMaxVolumeAchievedAt(achievedAt);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static void addIfImproved(List<PersonalRecordAchievement> achievements, PersonalRecord record, String name,
+                                      PersonalRecordType type, Double previous, Double current) {
+        if (previous != null && current != null && current > previous) {
+            achievements.add(PersonalRecordAchievement.builder()
+                    .exerciseId(record.getExerciseId())
+                    .exerciseName(name)
+                    .type(type)
+                    .previousValue(previous)
+                    .value(current)
+                    .build());
+        }
+    }
+
+    // Stand der Bestleistungen vor dem Abschluss (für die Benachrichtigung)
+    private record Best(Double maxWeight, Double estimatedOneRepMax, Double maxVolume) {
+        static Best of(PersonalRecord record) {
+            return new Best(record.getMaxWeight(), record.getEstimatedOneRepMax(), record.getMaxVolume());
+        }
+    }
+}
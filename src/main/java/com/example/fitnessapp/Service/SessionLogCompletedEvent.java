@@ -0,0 +1,10 @@
+package com.example.fitnessapp.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wird beim Abschluss eines SessionLogs innerhalb der Transaktion veröffentlicht;
+ * Auswertungen reagieren erst nach deren Commit (siehe CompletedSessionProjection)
+ */
+public record SessionLogCompletedEvent(Long sessionLogId, Long userId, LocalDateTime startTime) {
+}
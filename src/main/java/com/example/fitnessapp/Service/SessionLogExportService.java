@@ -0,0 +1,114 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.SessionLogExportRow;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exportiert die komplette Trainingshistorie eines Benutzers als NDJSON oder CSV.
+ * Die Zeilen werden direkt vom Datenbank-Cursor in den Ausgabestrom geschrieben,
+ * der Speicherbedarf hängt daher nicht von der Länge der Historie ab.
+ */
+@Service
+public class SessionLogExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] CSV_HEADER = {
+            "sessionLogId", "sessionName", "startTime", "endTime", "status", "sessionNotes",
+            "executionLogId", "exerciseName", "orderIndex", "plannedSets", "plannedReps", "plannedWeight",
+            "actualSets", "actualReps", "actualWeight", "completed", "executionNotes"
+    };
+
+    private final SessionLogRepository sessionLogRepository;
+    private final ObjectWriter rowWriter;
+
+    public SessionLogExportService(SessionLogRepository sessionLogRepository, ObjectMapper objectMapper) {
+        this.sessionLogRepository = sessionLogRepository;
+        this.rowWriter = objectMapper.writerFor(SessionLogExportRow.class);
+    }
+
+    // Wandelt den Query-Parameter in ein Format um (400 bei unbekanntem Format)
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Schreibt alle Zeilen des Benutzers in den Stream (der Stream wird nicht geschlossen)
+     * @return Anzahl exportierter Zeilen
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        try (Stream<SessionLogExportRow> rows = sessionLogRepository.streamExportRows(userId)) {
+            if (format == Format.CSV) {
+                writeCsvLine(writer, CSV_HEADER);
+            }
+            Iterator<SessionLogExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SessionLogExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, toCsvValues(row));
+                } else {
+                    writer.write(rowWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static Object[] toCsvValues(SessionLogExportRow row) {
+        return new Object[]{
+                row.getSessionLogId(), row.getSessionName(), row.getStartTime(), row.getEndTime(),
+                row.getStatus(), row.getSessionNotes(), row.getExecutionLogId(), row.getExerciseName(),
+                row.getOrderIndex(), row.getPlannedSets(), row.getPlannedReps(), row.getPlannedWeight(),
+                row.getActualSets(), row.getActualReps(), row.getActualWeight(), row.getCompleted(),
+                row.getExecutionNotes()
+        };
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: Felder mit Trennzeichen, Anführungszeichen oder Zeilenumbruch werden in "..." gesetzt
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -5,65 +5,92 @@ import com.example.fitnessapp.Model.*;
 import com.example.fitnessapp.Repository.ExecutionLogRepository;
 import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
 import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.SetLogRepository;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
 import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.CurrentUser;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class SessionLogService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    private static final Comparator<ExecutionLog> EXECUTION_ORDER = Comparator
+            .comparing((ExecutionLog e) -> e.getExerciseTemplate().getOrderIndex(),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ExecutionLog::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     private final SessionLogRepository sessionLogRepository;
     private final ExecutionLogRepository executionLogRepository;
     private final ExerciseExecutionTemplateRepository templateRepository;
     private final TrainingSessionRepository1 trainingSessionRepository;
     private final UserRepository userRepository;
+    private final SetLogRepository setLogRepository;
+    private final SetLogIngestionBuffer setLogBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PersonalRecordService personalRecordService;
 
     public SessionLogService(SessionLogRepository sessionLogRepository,
                              ExecutionLogRepository executionLogRepository,
                              ExerciseExecutionTemplateRepository templateRepository,
                              TrainingSessionRepository1 trainingSessionRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             SetLogRepository setLogRepository,
+                             SetLogIngestionBuffer setLogBuffer,
+                             ApplicationEventPublisher eventPublisher,
+                             PersonalRecordService personalRecordService) {
         this.sessionLogRepository = sessionLogRepository;
         this.executionLogRepository = executionLogRepository;
         this.templateRepository = templateRepository;
         this.trainingSessionRepository = trainingSessionRepository;
         this.userRepository = userRepository;
+        this.setLogRepository = setLogRepository;
+        this.setLogBuffer = setLogBuffer;
+        this.eventPublisher = eventPublisher;
+        this.personalRecordService = personalRecordService;
     }
 
     /**
-     * Hilfsmethode zum Abrufen des aktuell angemeldeten Benutzers aus dem SecurityContext
-     * @return Der aktuelle User
+     * Hilfsmethode zum Abrufen der User-ID des angemeldeten Benutzers aus dem Principal (ohne Datenbankabfrage)
+     * @return Die ID des aktuellen Users
      * @throws ResponseStatusException wenn der Benutzer nicht authentifiziert ist
      */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated() || 
-            authentication.getPrincipal() == null || authentication.getPrincipal().equals("anonymousUser")) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Benutzer nicht authentifiziert");
-        }
-        
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Benutzer nicht gefunden"));
+    private Long getCurrentUserId() {
+        return CurrentUser.id();
     }
 
+    @Transactional
     public SessionLogDetailResponse start(SessionLogCreateRequest request) {
-        // Hole aktuellen Benutzer (automatische Zuweisung)
-        User currentUser = getCurrentUser();
+        // Aktueller Benutzer als Referenz (automatische Zuweisung, keine zusätzliche Abfrage)
+        User currentUser = userRepository.getReferenceById(getCurrentUserId());
         
         TrainingSession1 templateSession = trainingSessionRepository.findById(request.getSessionTemplateId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "TrainingSession template not found"));
 
+        // Vorlagen inkl. Übung laden, daraus wird später die Antwort gebaut
         List<ExerciseExecutionTemplate> templates =
-                templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(templateSession.getId());
+                templateRepository.findWithExerciseByTrainingSessionId(templateSession.getId());
 
         if (templates.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
@@ -79,31 +106,48 @@ public class SessionLogService {
                 .build();
 
         log = sessionLogRepository.save(log);
+        trainingSessionRepository.adjustExecutionCount(templateSession.getId(), 1); // Zähler der Vorlage mitführen
+
+        // Geplante Werte mit einer Anweisung in die ExecutionLogs kopieren (unabhängig von der Anzahl der Übungen)
+        executionLogRepository.insertFromTemplates(log.getId(), templateSession.getId());
+
+        // Nur die neuen IDs nachladen; alle übrigen Werte sind bereits bekannt
+        Map<Long, Long> executionIdByTemplateId = new HashMap<>();
+        for (Object[] row : executionLogRepository.findIdAndTemplateIdBySessionLogId(log.getId())) {
+            executionIdByTemplateId.put((Long) row[1], (Long) row[0]);
+        }
 
+        List<ExecutionLogResponse> executions = new ArrayList<>(templates.size());
         for (ExerciseExecutionTemplate t : templates) {
-            ExecutionLog exec = ExecutionLog.builder()
-                    .sessionLog(log)
-                    .exerciseTemplate(t)
+            executions.add(ExecutionLogResponse.builder()
+                    .id(executionIdByTemplateId.get(t.getId()))
+                    .exerciseTemplateId(t.getId())
+                    .exerciseName(t.getExercise().getName())
+                    .plannedSets(t.getPlannedSets())
+                    .plannedReps(t.getPlannedReps())
+                    .plannedWeight(t.getPlannedWeight())
                     .actualSets(t.getPlannedSets())
                     .actualReps(t.getPlannedReps())
                     .actualWeight(t.getPlannedWeight())
                     .completed(false)
-                    .notes(null)
-                    .build();
-            executionLogRepository.save(exec);
+                    .build());
         }
 
-        // Nach dem Anlegen der Exercise-Logs erneut laden, damit die Beziehung gefüllt ist
-        SessionLog reloaded = sessionLogRepository.findById(log.getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Created log not found"));
-
-        return toDetail(reloaded);
+        return SessionLogDetailResponse.builder()
+                .id(log.getId())
+                .sessionTemplateId(templateSession.getId())
+                .sessionName(templateSession.getName())
+                .startTime(log.getStartTime())
+                .status(log.getStatus())
+                .notes(log.getNotes())
+                .executions(executions)
+                .build();
     }
 
     public SessionLogDetailResponse getDetail(Long id) {
-        User currentUser = getCurrentUser();
         // Nur SessionLogs des aktuellen Benutzers können abgerufen werden (User-Isolation)
-        SessionLog log = sessionLogRepository.findByIdAndUser(id, currentUser)
+        // Eine Abfrage für SessionLog, Vorlage, Ausführungen, Templates und Übungen
+        SessionLog log = sessionLogRepository.findWithExecutionsByIdAndUserId(id, getCurrentUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
         return toDetail(log);
     }
@@ -111,19 +155,25 @@ public class SessionLogService {
     public ExecutionLogResponse updateExecution(ExecutionLogUpdateRequest request) {
         ExecutionLog exec;
         SessionLog log;
+        Long currentUserId = getCurrentUserId();
+
+        // Lädt ExecutionLog inkl. SessionLog in einer Abfrage (negative IDs oder nicht vorhandene IDs bedeuten: neu erstellen)
+        ExecutionLog existing = request.getExecutionLogId() != null && request.getExecutionLogId() > 0
+                ? executionLogRepository.findWithSessionLogById(request.getExecutionLogId()).orElse(null)
+                : null;
 
-        // Prüfe ob ExecutionLog existiert (negative IDs oder nicht vorhandene IDs bedeuten: neu erstellen)
-        if (request.getExecutionLogId() == null || request.getExecutionLogId() <= 0 || 
-            !executionLogRepository.existsById(request.getExecutionLogId())) {
+        if (existing == null) {
             // Neuen ExecutionLog erstellen
             if (request.getSessionLogId() == null || request.getExerciseTemplateId() == null) {
+                if (request.getExecutionLogId() != null && request.getExecutionLogId() > 0) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "ExecutionLog not found");
+                }
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "sessionLogId and exerciseTemplateId are required when creating a new ExecutionLog");
             }
 
-            User currentUser = getCurrentUser();
             // Nur SessionLogs des aktuellen Benutzers können bearbeitet werden (User-Isolation)
-            log = sessionLogRepository.findByIdAndUser(request.getSessionLogId(), currentUser)
+            log = sessionLogRepository.findByIdAndUser_Id(request.getSessionLogId(), currentUserId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
 
             if (log.getStatus() != LogStatus.IN_PROGRESS) {
@@ -135,11 +185,7 @@ public class SessionLogService {
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ExerciseExecutionTemplate not found"));
 
             // Validiere Ist-Werte
-            if (request.getActualSets() == null || request.getActualSets() <= 0 ||
-                    request.getActualReps() == null || request.getActualReps() <= 0 ||
-                    request.getActualWeight() == null || request.getActualWeight() < 0) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid actual values");
-            }
+            validateActualValues(request);
 
             // Prüfe ob bereits ein ExecutionLog für diese Kombination existiert
             exec = executionLogRepository.findBySessionLogAndExerciseTemplate(log, template)
@@ -169,14 +215,11 @@ public class SessionLogService {
             }
         } else {
             // Bestehenden ExecutionLog aktualisieren
-            exec = executionLogRepository.findById(request.getExecutionLogId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ExecutionLog not found"));
-
+            exec = existing;
             log = exec.getSessionLog();
             
             // Prüfe User-Isolation: Nur der Besitzer kann ExecutionLogs bearbeiten
-            User currentUser = getCurrentUser();
-            if (!log.getUser().getId().equals(currentUser.getId())) {
+            if (!log.getUser().getId().equals(currentUserId)) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Zugriff verweigert: SessionLog gehört nicht dem aktuellen Benutzer");
             }
             
@@ -185,11 +228,7 @@ public class SessionLogService {
                         "Changes only allowed while training is IN_PROGRESS");
             }
 
-            if (request.getActualSets() == null || request.getActualSets() <= 0 ||
-                    request.getActualReps() == null || request.getActualReps() <= 0 ||
-                    request.getActualWeight() == null || request.getActualWeight() < 0) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid actual values");
-            }
+            validateActualValues(request);
 
             exec.setActualSets(request.getActualSets());
             exec.setActualReps(request.getActualReps());
@@ -202,45 +241,275 @@ public class SessionLogService {
         return toExecutionResponse(executionLogRepository.save(exec));
     }
 
+    /**
+     * Aktualisiert mehrere ExecutionLogs eines SessionLogs in einer Transaktion.
+     * SessionLog und alle ExecutionLogs werden mit einer Abfrage geladen, die Prüfung erfolgt im Speicher
+     * und die Änderungen werden beim Commit gesammelt (JDBC-Batch) geschrieben.
+     * @param sessionLogId ID des SessionLogs aus der URL
+     * @param requests Änderungen; bestehende Einträge werden über executionLogId oder exerciseTemplateId gefunden
+     * @return Die aktualisierten bzw. neu angelegten ExecutionLogs in Reihenfolge der Requests
+     */
+    @Transactional
+    public List<ExecutionLogResponse> updateExecutions(Long sessionLogId, List<ExecutionLogUpdateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one execution update is required");
+        }
+
+        // Nur SessionLogs des aktuellen Benutzers können bearbeitet werden (User-Isolation)
+        SessionLog log = sessionLogRepository.findWithExecutionsByIdAndUserId(sessionLogId, getCurrentUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
+
+        if (log.getStatus() != LogStatus.IN_PROGRESS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Changes only allowed while training is IN_PROGRESS");
+        }
+
+        Map<Long, ExecutionLog> byId = new HashMap<>();
+        Map<Long, ExecutionLog> byTemplateId = new HashMap<>();
+        for (ExecutionLog exec : log.getExerciseLogs()) {
+            byId.put(exec.getId(), exec);
+            byTemplateId.put(exec.getExerciseTemplate().getId(), exec);
+        }
+
+        // Zuerst alles im Speicher prüfen, damit ungültige Batches nichts schreiben
+        Set<Long> missingTemplateIds = new HashSet<>();
+        for (ExecutionLogUpdateRequest request : requests) {
+            validateActualValues(request);
+            if (resolveExecution(request, byId, byTemplateId) == null) {
+                if (request.getExerciseTemplateId() == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "ExecutionLog not found in this SessionLog");
+                }
+                missingTemplateIds.add(request.getExerciseTemplateId());
+            }
+        }
+
+        // Templates für neue Einträge mit einer Abfrage laden
+        Map<Long, ExerciseExecutionTemplate> newTemplates = missingTemplateIds.isEmpty()
+                ? Map.of()
+                : templateRepository.findAllById(missingTemplateIds).stream()
+                        .collect(Collectors.toMap(ExerciseExecutionTemplate::getId, Function.identity()));
+        for (Long templateId : missingTemplateIds) {
+            ExerciseExecutionTemplate template = newTemplates.get(templateId);
+            if (template == null || !template.getTrainingSession().getId().equals(log.getTemplateSession().getId())) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "ExerciseExecutionTemplate not found");
+            }
+        }
+
+        List<ExecutionLog> created = new ArrayList<>();
+        List<ExecutionLog> results = new ArrayList<>(requests.size());
+        for (ExecutionLogUpdateRequest request : requests) {
+            ExecutionLog exec = resolveExecution(request, byId, byTemplateId);
+            if (exec == null) {
+                exec = ExecutionLog.builder()
+                        .sessionLog(log)
+                        .exerciseTemplate(newTemplates.get(request.getExerciseTemplateId()))
+                        .build();
+                byTemplateId.put(request.getExerciseTemplateId(), exec);
+                created.add(exec);
+            }
+            exec.setActualSets(request.getActualSets());
+            exec.setActualReps(request.getActualReps());
+            exec.setActualWeight(request.getActualWeight());
+            exec.setCompleted(request.getCompleted() != null ? request.getCompleted() : false);
+            exec.setNotes(request.getNotes());
+            results.add(exec);
+        }
+
+        // Neue Einträge anlegen, Änderungen an bestehenden werden per Dirty Checking beim Commit geschrieben
+        if (!created.isEmpty()) {
+            log.getExerciseLogs().addAll(executionLogRepository.saveAll(created));
+        }
+
+        return results.stream()
+                .map(this::toExecutionResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Nimmt einzelne Sätze einer laufenden Session an und legt sie in den Ingestion-Puffer.
+     * Geschrieben wird gesammelt im Hintergrund; Prüfung mit zwei schlanken Abfragen ohne Entities.
+     * @return Anzahl der angenommenen Sätze
+     */
+    public int ingestSets(Long sessionLogId, List<SetLogRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one set is required");
+        }
+
+        // Nur SessionLogs des aktuellen Benutzers (User-Isolation)
+        LogStatus status = sessionLogRepository.findStatusByIdAndUserId(sessionLogId, getCurrentUserId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
+        if (status != LogStatus.IN_PROGRESS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Changes only allowed while training is IN_PROGRESS");
+        }
+
+        Set<Long> executionIds = executionLogRepository.findIdsBySessionLogId(sessionLogId);
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<SetLog> events = new ArrayList<>(requests.size());
+        for (SetLogRequest request : requests) {
+            if (request.getExecutionLogId() == null || !executionIds.contains(request.getExecutionLogId())) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "ExecutionLog not found in this SessionLog");
+            }
+            if (request.getSetNumber() == null || request.getSetNumber() <= 0 ||
+                    request.getReps() == null || request.getReps() <= 0 ||
+                    request.getWeight() == null || request.getWeight() < 0 ||
+                    (request.getRpe() != null && (request.getRpe() < 1 || request.getRpe() > 10))) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid set values");
+            }
+            events.add(SetLog.builder()
+                    .sessionLogId(sessionLogId)
+                    .executionLogId(request.getExecutionLogId())
+                    .setNumber(request.getSetNumber())
+                    .reps(request.getReps())
+                    .weight(request.getWeight())
+                    .rpe(request.getRpe())
+                    .performedAt(request.getPerformedAt() != null ? request.getPerformedAt() : receivedAt)
+                    .build());
+        }
+
+        setLogBuffer.enqueueAll(events);
+        return events.size();
+    }
+
+    @Transactional
     public SessionLogSummaryResponse complete(Long logId) {
-        User currentUser = getCurrentUser();
-        // Nur SessionLogs des aktuellen Benutzers können abgeschlossen werden (User-Isolation)
-        SessionLog log = sessionLogRepository.findByIdAndUser(logId, currentUser)
+        Long currentUserId = getCurrentUserId();
+        // Nur SessionLogs des aktuellen Benutzers können abgeschlossen werden (User-Isolation).
+        // Die Zeilensperre verhindert, dass parallele Requests dieselbe Session zweimal abschließen.
+        SessionLog log = sessionLogRepository.findForUpdateByIdAndUserId(logId, currentUserId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
 
         if (log.getStatus() != LogStatus.IN_PROGRESS) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only IN_PROGRESS logs can be completed");
         }
 
+        // Gepufferte Sätze dieser Session schreiben (eigene Transaktion, andere Sessions bleiben im Puffer)
+        setLogBuffer.flushSession(logId);
+
         log.setStatus(LogStatus.COMPLETED);
         log.setEndTime(LocalDateTime.now());
+        log = sessionLogRepository.save(log);
 
-        return toSummary(sessionLogRepository.save(log));
+        // Auswertungen (z. B. Volumen je Zeitraum) werden nach dem Commit in eigenen Transaktionen fortgeschrieben
+        eventPublisher.publishEvent(new SessionLogCompletedEvent(log.getId(), currentUserId, log.getStartTime()));
+
+        // Bestleistungen erst nach dem Commit vergleichen (eigene Transaktion, siehe PersonalRecordService);
+        // der Commit läuft vor der Rückgabe an den Controller, übertroffene werden daher mit der Antwort gemeldet
+        SessionLogSummaryResponse summary = toSummary(log);
+        Long completedId = log.getId();
+        LocalDateTime startTime = log.getStartTime();
+        Runnable applyRecords = () -> summary.setNewRecords(
+                personalRecordService.applyCompletedSession(completedId, currentUserId, startTime));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRecords.run();
+                }
+            });
+        } else {
+            applyRecords.run();
+        }
+        return summary;
     }
 
+    @Transactional
     public void abort(Long logId) {
-        User currentUser = getCurrentUser();
         // Nur SessionLogs des aktuellen Benutzers können abgebrochen werden (User-Isolation)
-        SessionLog log = sessionLogRepository.findByIdAndUser(logId, currentUser)
+        SessionLog log = sessionLogRepository.findForUpdateByIdAndUserId(logId, getCurrentUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "SessionLog not found"));
 
         if (log.getStatus() != LogStatus.IN_PROGRESS) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only IN_PROGRESS logs can be deleted");
         }
 
+        // Gepufferte und bereits geschriebene Sätze der Session verwerfen
+        setLogBuffer.discard(logId);
+        setLogRepository.deleteBySessionLogId(logId);
         sessionLogRepository.delete(log);
+        trainingSessionRepository.adjustExecutionCount(log.getTemplateSession().getId(), -1); // Zähler der Vorlage mitführen
     }
 
     /**
-     * Gibt die Trainingshistorie des aktuell angemeldeten Benutzers zurück
-     * @return Liste aller SessionLogs des Benutzers, sortiert nach Startzeit (neueste zuerst)
+     * Trainingshistorie des Benutzers seitenweise (Keyset-Pagination auf (startTime, id), neueste zuerst).
+     * Jede Seite kostet eine Abfrage, unabhängig davon, wie weit hinten sie liegt.
+     * @param cursor nextCursor der vorherigen Seite oder null für die erste Seite
      */
-    public List<SessionLogSummaryResponse> getTrainingHistory() {
-        User currentUser = getCurrentUser();
-        List<SessionLog> logs = sessionLogRepository.findByUserOrderByStartTimeDesc(currentUser);
-        return logs.stream()
-                .map(this::toSummary)
-                .collect(Collectors.toList());
+    public SessionLogHistoryPage getTrainingHistory(LogStatus status, Long templateId,
+                                                    LocalDateTime from, LocalDateTime to,
+                                                    String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        LocalDateTime cursorStart = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorStart = LocalDateTime.parse(parts[0]);
+            cursorId = Long.parseLong(parts[1]);
+        }
+
+        // Einen Eintrag mehr laden, um zu erkennen, ob es eine weitere Seite gibt
+        List<SessionLogSummaryResponse> rows = sessionLogRepository.findHistoryPage(getCurrentUserId(),
+                status, templateId, from, to, cursorStart, cursorId, PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<SessionLogSummaryResponse> items = hasMore ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            SessionLogSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getStartTime(), last.getId());
+        }
+
+        return SessionLogHistoryPage.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Cursor = Base64url("startTime|id") des letzten Eintrags einer Seite
+    private static String encodeCursor(LocalDateTime startTime, Long id) {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    // Prüft die Ist-Werte eines Updates
+    private void validateActualValues(ExecutionLogUpdateRequest request) {
+        if (request.getActualSets() == null || request.getActualSets() <= 0 ||
+                request.getActualReps() == null || request.getActualReps() <= 0 ||
+                request.getActualWeight() == null || request.getActualWeight() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid actual values");
+        }
+    }
+
+    // Findet das ExecutionLog eines Batch-Eintrags über die ID oder das Template (null = neu anlegen)
+    private ExecutionLog resolveExecution(ExecutionLogUpdateRequest request,
+                                          Map<Long, ExecutionLog> byId,
+                                          Map<Long, ExecutionLog> byTemplateId) {
+        if (request.getExecutionLogId() != null && request.getExecutionLogId() > 0) {
+            ExecutionLog exec = byId.get(request.getExecutionLogId());
+            if (exec != null) {
+                return exec;
+            }
+        }
+        return request.getExerciseTemplateId() != null ? byTemplateId.get(request.getExerciseTemplateId()) : null;
     }
 
     private SessionLogSummaryResponse toSummary(SessionLog log) {
@@ -255,8 +524,10 @@ public class SessionLogService {
     }
 
     private SessionLogDetailResponse toDetail(SessionLog log) {
+        // exerciseLogs ist ein Set: feste Reihenfolge nach Position der Übung in der Session
         List<ExecutionLogResponse> executions = log.getExerciseLogs()
                 .stream()
+                .sorted(EXECUTION_ORDER)
                 .map(this::toExecutionResponse)
                 .collect(Collectors.toList());
 
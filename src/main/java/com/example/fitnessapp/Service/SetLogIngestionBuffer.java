@@ -0,0 +1,199 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.Model.SetLog;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.SetLogRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Begrenzter In-Memory-Puffer für Satz-Ereignisse (SetLog).
+ * Requests hängen nur an den Puffer an; ein Hintergrund-Job schreibt die Einträge gesammelt per Batch-Insert.
+ * Ist der Puffer voll, wird der Request mit 503 abgelehnt (Backpressure), statt die Datenbank zu überlasten.
+ * Sätze von Sessions, die inzwischen abgebrochen (gelöscht) wurden, werden beim Schreiben verworfen.
+ */
+@Component
+public class SetLogIngestionBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(SetLogIngestionBuffer.class);
+
+    private final SetLogRepository setLogRepository;
+    private final SessionLogRepository sessionLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<SetLog> queue;
+    private final int flushBatchSize;
+    private final int maxWriteAttempts;
+    private final Object producerLock = new Object();
+
+    public SetLogIngestionBuffer(SetLogRepository setLogRepository,
+                                 SessionLogRepository sessionLogRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${fitness.setlog.buffer-capacity:10000}") int capacity,
+                                 @Value("${fitness.setlog.flush-batch-size:500}") int flushBatchSize,
+                                 @Value("${fitness.setlog.max-write-attempts:3}") int maxWriteAttempts) {
+        this.setLogRepository = setLogRepository;
+        this.sessionLogRepository = sessionLogRepository;
+        // Jeder Batch in eigener Transaktion, auch wenn der Aufrufer (z. B. complete()) bereits eine hat
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushBatchSize = flushBatchSize;
+        this.maxWriteAttempts = Math.max(1, maxWriteAttempts);
+    }
+
+    /**
+     * Hängt alle Ereignisse an oder keines (kein teilweises Annehmen eines Requests)
+     * @throws ResponseStatusException 503, wenn der Puffer nicht genug freie Plätze hat
+     */
+    public void enqueueAll(List<SetLog> events) {
+        synchronized (producerLock) {
+            // Der Drain-Job gibt nur Plätze frei, daher reicht die Prüfung unter dem Producer-Lock
+            if (queue.remainingCapacity() < events.size()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Set ingestion buffer is full, please retry later");
+            }
+            queue.addAll(events);
+        }
+    }
+
+    // Schreibt periodisch alle gepufferten Einträge
+    @Scheduled(fixedDelayString = "${fitness.setlog.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Writing set logs failed, {} entries stay buffered for the next run", queue.size(), e);
+        }
+    }
+
+    /**
+     * Schreibt alle aktuell gepufferten Einträge in Batches von flushBatchSize.
+     * Ein Batch wird erst nach erfolgreichem Schreiben aus dem Puffer entfernt; schlägt er auch nach
+     * maxWriteAttempts Versuchen fehl, wird er protokolliert und verworfen, damit er die übrigen Sessions nicht blockiert.
+     * @return Anzahl geschriebener Einträge
+     */
+    public synchronized int flush() {
+        int written = 0;
+        List<SetLog> batch;
+        while (!(batch = head()).isEmpty()) {
+            try {
+                written += write(batch);
+            } catch (RuntimeException e) {
+                log.error("Writing {} set logs of sessions {} failed after {} attempts, dropping them",
+                        batch.size(), sessionLogIds(batch), maxWriteAttempts, e);
+            }
+            // Nur flush und discard entfernen Einträge (beide unter diesem Lock), der Batch steht also noch vorne
+            for (int i = 0; i < batch.size(); i++) {
+                queue.poll();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Schreibt nur die gepufferten Einträge einer Session (z. B. vor deren Abschluss), Einträge anderer Sessions
+     * bleiben für den nächsten Lauf im Puffer. Jeder Batch wird erst nach erfolgreichem Schreiben entfernt;
+     * anders als bei flush wird ein Fehler weitergegeben (der Abschluss soll keine Sätze verlieren).
+     * @return Anzahl geschriebener Einträge
+     */
+    public synchronized int flushSession(Long sessionLogId) {
+        List<SetLog> entries = queue.stream()
+                .filter(event -> event.getSessionLogId().equals(sessionLogId))
+                .toList();
+        int written = 0;
+        for (int from = 0; from < entries.size(); from += flushBatchSize) {
+            List<SetLog> batch = entries.subList(from, Math.min(from + flushBatchSize, entries.size()));
+            written += write(batch);
+            queue.removeAll(new HashSet<>(batch)); // SetLog vergleicht per Identität
+        }
+        return written;
+    }
+
+    /**
+     * Verwirft noch nicht geschriebene Einträge einer Session (z. B. beim Abbruch).
+     * Läuft unter demselben Lock wie flush: Ein gerade laufender Batch ist danach geschrieben
+     * und kann anschließend zusammen mit den übrigen Sätzen der Session gelöscht werden.
+     */
+    public synchronized void discard(Long sessionLogId) {
+        queue.removeIf(event -> event.getSessionLogId().equals(sessionLogId));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    // Beim Herunterfahren keine gepufferten Sätze verlieren
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Writing set logs on shutdown failed, {} entries are lost", queue.size(), e);
+        }
+    }
+
+    // Die ältesten Einträge (höchstens flushBatchSize), ohne sie aus dem Puffer zu nehmen
+    private List<SetLog> head() {
+        List<SetLog> batch = new ArrayList<>(flushBatchSize);
+        Iterator<SetLog> it = queue.iterator();
+        while (it.hasNext() && batch.size() < flushBatchSize) {
+            batch.add(it.next());
+        }
+        return batch;
+    }
+
+    // Schreibt einen Batch mit begrenzter Anzahl an Versuchen und liefert die Anzahl geschriebener Einträge
+    private int write(List<SetLog> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer written = transactionTemplate.execute(status -> insertExisting(batch));
+                return written != null ? written : 0;
+            } catch (RuntimeException e) {
+                // Beim Rollback vergebene IDs zurücksetzen, damit der nächste Versuch wieder einfügt statt zu mergen
+                batch.forEach(event -> event.setId(null));
+                if (attempt >= maxWriteAttempts) {
+                    throw e;
+                }
+                log.warn("Writing {} set logs failed (attempt {} of {}), retrying", batch.size(), attempt, maxWriteAttempts, e);
+            }
+        }
+    }
+
+    // Fügt nur Sätze noch vorhandener Sessions ein; bricht eine Session parallel ab, greift der Fremdschlüssel
+    // und der nächste Versuch verwirft ihre Sätze
+    private int insertExisting(List<SetLog> batch) {
+        Set<Long> existing = sessionLogRepository.findExistingIds(sessionLogIds(batch));
+        List<SetLog> writable = batch.stream()
+                .filter(event -> existing.contains(event.getSessionLogId()))
+                .toList();
+        if (writable.size() < batch.size()) {
+            log.warn("Dropping {} set logs of deleted sessions", batch.size() - writable.size());
+        }
+        if (!writable.isEmpty()) {
+            setLogRepository.saveAll(writable);
+        }
+        return writable.size();
+    }
+
+    private static Set<Long> sessionLogIds(List<SetLog> batch) {
+        return batch.stream().map(SetLog::getSessionLogId).collect(Collectors.toSet());
+    }
+}
@@ -15,11 +15,12 @@ import com.example.fitnessapp.Repository.TrainingPlanSessionTemplateRepository;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @SuppressWarnings("unused")
 @Service //markiert die Klasse als Service-Komponente
@@ -35,35 +36,20 @@ public class TrainingPlanService1 {
     private TrainingPlanSessionTemplateRepository planTemplateRepository;
     // Methode gibt alle Trainingspläne zurück
     public List<TrainingPlanOverviewResponse> getAllTrainingPlans() {
-        return trainingPlanRepository.findAll().stream()
-                .map(plan -> TrainingPlanOverviewResponse.builder()
-                        .id(plan.getId())
-                        .name(plan.getName())
-                        .description(plan.getDescription())
-                        .sessionCount(trainingSessionRepository.countByTrainingPlan_Id(plan.getId()))
-                        .build())
-                .collect(Collectors.toList());
+        // Eine Abfrage für alle Pläne inkl. Anzahl Sessions
+        return trainingPlanRepository.findAllOverviews();
     }
     // Methode sucht Trainingsplan nach seiner ID
     public TrainingPlanDetailResponse getTrainingPlanById(Long id) {
         TrainingPlan1 plan = trainingPlanRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "TrainingPlan not found"));
 
-        // Hole die verknüpften Session-Vorlagen über die Link-Tabelle und sortiere nach Position
-        List<TrainingSessionSummaryResponse> sessions = planTemplateRepository
-                .findByTrainingPlan_IdOrderByPositionAsc(id)
-                .stream()
-                .map(link -> {
-                    TrainingSession1 sess = link.getTrainingSession();
-                    int exerciseCount = exerciseTemplateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(sess.getId()).size();
-                    return TrainingSessionSummaryResponse.builder()
-                            .id(sess.getId())
-                            .name(sess.getName())
-                            .orderIndex(link.getPosition() == null ? sess.getOrderIndex() : link.getPosition())
-                            .exerciseCount(exerciseCount)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Verknüpfte Session-Vorlagen inkl. Anzahl Übungen in einer Abfrage (sortiert nach Position)
+        List<TrainingSessionSummaryResponse> sessions = planTemplateRepository.findSessionSummariesByPlanId(id);
+        // Intern lückenhafte Schlüssel, nach außen fortlaufende Positionen 1..n
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).setOrderIndex(i + 1);
+        }
 
         boolean hasSessions = !sessions.isEmpty();
         return TrainingPlanDetailResponse.builder()
@@ -106,6 +92,8 @@ public class TrainingPlanService1 {
     }
 
     // Fügt eine Session-Vorlage als Referenz in einen Plan ein. Wenn position null, wird ans Ende gehängt.
+    // Die Position wird als Schlüssel in die Lücke zwischen den Nachbarn gelegt, es wird nur der neue Link geschrieben.
+    @Transactional
     public void addTemplateToPlan(Long planId, Long templateId, Integer position) {
         TrainingPlan1 plan = trainingPlanRepository.findById(planId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "TrainingPlan not found"));
@@ -117,49 +105,63 @@ public class TrainingPlanService1 {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Template already added to plan");
         }
 
-        List<TrainingPlanSessionTemplate> existing = planTemplateRepository.findByTrainingPlan_IdOrderByPositionAsc(planId);
-        // Normalisiere Positionen (1..n) entsprechend der aktuellen Reihenfolge
-        for (int i = 0; i < existing.size(); i++) {
-            TrainingPlanSessionTemplate l = existing.get(i);
-            l.setPosition(i + 1);
-        }
-        planTemplateRepository.saveAll(existing);
-
-        int insertPos = (position == null) ? existing.size() + 1 : Math.max(1, Math.min(position, existing.size() + 1));
+        List<Integer> keys = planTemplateRepository.findPositionsByPlanId(planId);
+        // Gewünschte Position (1..n+1) in einen Index der sortierten Schlüssel umrechnen
+        int insertIndex = (position == null) ? keys.size() : Math.max(0, Math.min(position - 1, keys.size()));
 
-        // Verschiebe nachfolgende Positionen um +1
-        for (TrainingPlanSessionTemplate link : existing) {
-            if (link.getPosition() >= insertPos) {
-                link.setPosition(link.getPosition() + 1);
-            }
+        Integer key = keyBetween(keys, insertIndex);
+        if (key == null) {
+            // Keine Lücke mehr frei (oder Altdaten ohne Schlüssel): einmalig alle Links neu verteilen
+            key = renormalizePositions(planId, insertIndex);
         }
-        planTemplateRepository.saveAll(existing);
 
         TrainingPlanSessionTemplate newLink = TrainingPlanSessionTemplate.builder()
                 .trainingPlan(plan)
                 .trainingSession(sessionTemplate)
-                .position(insertPos)
+                .position(key)
                 .build();
         planTemplateRepository.save(newLink);
     }
 
-    // Entfernt eine Session-Vorlage aus dem Plan und rückt Positionen nach
+    // Entfernt eine Session-Vorlage aus dem Plan; die übrigen Schlüssel bleiben unverändert (Reihenfolge bleibt erhalten)
+    @Transactional
     public void removeTemplateFromPlan(Long planId, Long templateId) {
         TrainingPlanSessionTemplate link = planTemplateRepository.findByTrainingPlan_IdAndTrainingSession_Id(planId, templateId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Template link not found in plan"));
         planTemplateRepository.delete(link);
+    }
+
+    // Liefert einen freien Schlüssel vor dem Element an insertIndex, oder null wenn zwischen den Nachbarn kein Platz ist
+    private static Integer keyBetween(List<Integer> keys, int insertIndex) {
+        if (keys.stream().anyMatch(Objects::isNull)) { // contains(null) wirft bei unveränderlichen Listen
+            return null;
+        }
+        long lower = insertIndex > 0 ? keys.get(insertIndex - 1) : 0L;
+        if (insertIndex == keys.size()) {
+            long appended = lower + TrainingPlanSessionTemplate.POSITION_GAP;
+            return appended <= Integer.MAX_VALUE ? (int) appended : null;
+        }
+        long upper = keys.get(insertIndex);
+        if (upper - lower < 2) {
+            return null;
+        }
+        return (int) (lower + (upper - lower) / 2);
+    }
 
-        // Neu: verbleibende Links sequenziell neu nummerieren
-        List<TrainingPlanSessionTemplate> remaining = planTemplateRepository.findByTrainingPlan_IdOrderByPositionAsc(planId);
-        for (int i = 0; i < remaining.size(); i++) {
-            remaining.get(i).setPosition(i + 1);
+    // Verteilt die Schlüssel eines Plans neu (GAP, 2*GAP, ...) und lässt an insertIndex eine Lücke für den neuen Link
+    private int renormalizePositions(Long planId, int insertIndex) {
+        List<TrainingPlanSessionTemplate> links = planTemplateRepository.findByTrainingPlan_IdOrderByPositionAsc(planId);
+        for (int i = 0; i < links.size(); i++) {
+            int slot = i < insertIndex ? i + 1 : i + 2;
+            links.get(i).setPosition(slot * TrainingPlanSessionTemplate.POSITION_GAP);
         }
-        planTemplateRepository.saveAll(remaining);
+        planTemplateRepository.saveAll(links);
+        return (insertIndex + 1) * TrainingPlanSessionTemplate.POSITION_GAP;
     }
 
     private TrainingSessionSummaryResponse mapToSummary(TrainingSession1 session) {
         // Anzahl Übungen über ExerciseExecutionTemplate zählen
-        int exerciseCount = exerciseTemplateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(session.getId()).size();
+        int exerciseCount = (int) exerciseTemplateRepository.countByTrainingSession_Id(session.getId());
         
         return TrainingSessionSummaryResponse.builder()
                 .id(session.getId())
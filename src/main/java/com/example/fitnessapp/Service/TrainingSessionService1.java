@@ -9,6 +9,7 @@ import com.example.fitnessapp.Repository.TrainingPlanRepository1;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
@@ -56,7 +57,12 @@ public class TrainingSessionService1 {
     }
 
     //Löscht eine Trainingssession anhand der ID
+    @Transactional
     public void deleteTrainingSession(Long id) {
+        Long planId = trainingSessionRepository.findTrainingPlanIdById(id).orElse(null);
         trainingSessionRepository.deleteById(id);
+        if (planId != null) {
+            trainingPlanRepository.adjustSessionCount(planId, -1); // Zähler des Plans mitführen
+        }
     }
 }
\ No newline at end of file
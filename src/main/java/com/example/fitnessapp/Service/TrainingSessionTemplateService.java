@@ -17,7 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 public class TrainingSessionTemplateService {
@@ -53,15 +53,13 @@ public class TrainingSessionTemplateService {
     }
 
     public List<TrainingSessionTemplateOverviewResponse> getAllSessions() {
-        return sessionRepository.findAllByOrderByIdAsc().stream()
-                .map(this::toOverviewResponse)
-                .collect(Collectors.toList());
+        // Eine Abfrage inkl. Plan und Zählern (keine Abfragen pro Session)
+        return sessionRepository.findAllOverviews();
     }
 
     public TrainingSessionTemplateOverviewResponse getSessionById(Long id) {
-        TrainingSession1 session = sessionRepository.findById(id)
+        return sessionRepository.findOverviewById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session-Vorlage nicht gefunden"));
-        return toOverviewResponse(session);
     }
 
     @Transactional
@@ -104,6 +102,9 @@ public class TrainingSessionTemplateService {
                 .build();
 
         session = sessionRepository.save(session);
+        if (plan != null) {
+            planRepository.adjustSessionCount(plan.getId(), 1); // Zähler des Plans mitführen
+        }
         return toOverviewResponse(session);
     }
 
@@ -137,6 +138,18 @@ public class TrainingSessionTemplateService {
             }
         }
 
+        // Zähler der Pläne mitführen, wenn sich die Zuordnung ändert
+        Long oldPlanId = session.getTrainingPlan() != null ? session.getTrainingPlan().getId() : null;
+        Long newPlanId = plan != null ? plan.getId() : null;
+        if (!Objects.equals(oldPlanId, newPlanId)) {
+            if (oldPlanId != null) {
+                planRepository.adjustSessionCount(oldPlanId, -1);
+            }
+            if (newPlanId != null) {
+                planRepository.adjustSessionCount(newPlanId, 1);
+            }
+        }
+
         session.setName(request.getName());
         session.setTrainingPlan(plan);
         session.setOrderIndex(request.getOrderIndex());
@@ -163,23 +176,20 @@ public class TrainingSessionTemplateService {
 
         // Session löschen
         sessionRepository.delete(session);
+        if (session.getTrainingPlan() != null) {
+            planRepository.adjustSessionCount(session.getTrainingPlan().getId(), -1); // Zähler des Plans mitführen
+        }
     }
 
     private TrainingSessionTemplateOverviewResponse toOverviewResponse(TrainingSession1 session) {
-        // Anzahl Übungen
-        int exerciseCount = exerciseTemplateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(session.getId()).size();
-
-        // Anzahl Durchführungen
-        long executionCount = sessionLogRepository.countByTemplateSession_Id(session.getId());
-
         return TrainingSessionTemplateOverviewResponse.builder()
                 .id(session.getId())
                 .name(session.getName())
                 .planId(session.getTrainingPlan() != null ? session.getTrainingPlan().getId() : null)
                 .planName(session.getTrainingPlan() != null ? session.getTrainingPlan().getName() : "Kein Plan")
                 .orderIndex(session.getOrderIndex())
-                .exerciseCount(exerciseCount)
-                .executionCount(executionCount)
+                .exerciseCount(session.getExerciseCount()) // Anzahl Übungen (Zählerspalte)
+                .executionCount(session.getExecutionCount()) // Anzahl Durchführungen (Zählerspalte)
                 .build();
     }
 }
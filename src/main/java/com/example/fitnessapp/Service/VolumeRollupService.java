@@ -0,0 +1,210 @@
+package com.example.fitnessapp.Service;
+
+import com.example.fitnessapp.DTOs.VolumeBucketResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Model.VolumeRollup;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.VolumeRollupRepository;
+import com.example.fitnessapp.Security.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pflegt das Trainingsvolumen (Sätze × Wiederholungen × Gewicht) je Benutzer, Zeitraum und Übung bzw. Muskelgruppe.
+ * Beim Abschluss einer Session werden nur deren Summen atomar auf die betroffenen Tages-, Wochen- und Monatszeilen
+ * addiert (nach dem Commit, siehe CompletedSessionProjection); Auswertungen lesen die vorberechneten Zeilen und hängen damit nicht von der Länge der Historie ab.
+ * Das Volumen einer Übung zählt für jede ihrer Muskelgruppen voll.
+ */
+@Service
+public class VolumeRollupService extends CompletedSessionProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(VolumeRollupService.class);
+
+    // Anzahl Zeiträume, die ohne Angabe von "from" geliefert werden
+    private static final int DEFAULT_BUCKETS = 12;
+
+    private final VolumeRollupRepository rollupRepository;
+    private final ExecutionLogRepository executionLogRepository;
+    private final ExerciseRepository1 exerciseRepository;
+    private final MuscleGroupDictionary muscleGroupDictionary;
+
+    public VolumeRollupService(VolumeRollupRepository rollupRepository,
+                               ExecutionLogRepository executionLogRepository,
+                               SessionLogRepository sessionLogRepository,
+                               ExerciseRepository1 exerciseRepository,
+                               MuscleGroupDictionary muscleGroupDictionary,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${fitness.analytics.rebuild-threads:4}") int rebuildThreads) {
+        super(sessionLogRepository, transactionManager, rebuildThreads);
+        this.rollupRepository = rollupRepository;
+        this.executionLogRepository = executionLogRepository;
+        this.exerciseRepository = exerciseRepository;
+        this.muscleGroupDictionary = muscleGroupDictionary;
+    }
+
+    /**
+     * Addiert das Volumen der abgeschlossenen Session auf die Zeilen des Benutzers.
+     * Bestehende Zeilen werden per UPDATE ... SET volume = volume + ? erhöht, fehlende angelegt; legt ein paralleler
+     * Abschluss dieselbe Zeile zuerst an, verletzt das Einfügen uk_volume_rollup_bucket und der Aufruf wird wiederholt.
+     */
+    @Override
+    protected void apply(SessionLogCompletedEvent event) {
+        List<Object[]> rows = executionLogRepository.sumVolumeBySessionLogId(event.sessionLogId());
+        LocalDate day = event.startTime().toLocalDate();
+
+        // Summen der Session je Zeile, danach eine Anweisung je Zeile
+        Map<RollupKey, VolumeRollup> deltas = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            accumulate(deltas, event.userId(), day, row, 0);
+        }
+        List<VolumeRollup> missing = new ArrayList<>();
+        for (VolumeRollup delta : deltas.values()) {
+            int updated = rollupRepository.addToBucket(delta.getUserId(), delta.getGranularity(), delta.getBucketStart(),
+                    delta.getDimension(), delta.getDimensionId(), delta.getVolume(), delta.getSets(), delta.getReps());
+            if (updated == 0) {
+                missing.add(delta);
+            }
+        }
+        if (!missing.isEmpty()) {
+            rollupRepository.saveAll(missing); // Neue Zeilen per Batch-Insert
+        }
+    }
+
+    /**
+     * Liefert das Volumen des angemeldeten Benutzers im Zeitraum
+     * @param from erster Tag (optional; Standard: die letzten 12 Zeiträume bis "to")
+     * @param to letzter Tag (optional; Standard: heute)
+     */
+    public List<VolumeBucketResponse> getVolume(VolumeGranularity granularity, VolumeDimension dimension,
+                                                LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = granularity.bucketStart(from != null ? from : defaultFrom(granularity, end));
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+
+        List<VolumeRollup> rollups = rollupRepository.findSeries(CurrentUser.id(), granularity, dimension, start, end);
+        Map<Long, String> labels = labels(dimension, rollups);
+
+        List<VolumeBucketResponse> result = new ArrayList<>(rollups.size());
+        for (VolumeRollup rollup : rollups) {
+            result.add(VolumeBucketResponse.builder()
+                    .granularity(rollup.getGranularity())
+                    .bucketStart(rollup.getBucketStart())
+                    .dimension(rollup.getDimension())
+                    .dimensionId(rollup.getDimensionId())
+                    .label(labels.get(rollup.getDimensionId()))
+                    .volume(rollup.getVolume())
+                    .sets(rollup.getSets())
+                    .reps(rollup.getReps())
+                    .build());
+        }
+        return result;
+    }
+
+    // Berechnet die Zeilen eines Benutzers aus seinen abgeschlossenen Sessions neu
+    @Override
+    protected int rebuildRows(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        Map<RollupKey, VolumeRollup> byKey = new LinkedHashMap<>();
+        for (Object[] row : executionLogRepository.sumVolumeByUserId(userId)) {
+            LocalDateTime startTime = (LocalDateTime) row[0];
+            if (startTime == null) {
+                log.warn("Completed SessionLog of user {} has no start time, skipping its volume", userId);
+                continue;
+            }
+            accumulate(byKey, userId, startTime.toLocalDate(), row, 1);
+        }
+        rollupRepository.saveAll(byKey.values());
+        return byKey.size();
+    }
+
+    @Override
+    protected String description() {
+        return "volume rollup";
+    }
+
+    // Addiert eine Aggregat-Zeile [exerciseId, muscleGroupMask, Volumen, Sätze, Wiederholungen] ab offset auf alle Zeiträume
+    private static void accumulate(Map<RollupKey, VolumeRollup> byKey, Long userId, LocalDate day, Object[] row, int offset) {
+        Long exerciseId = (Long) row[offset];
+        long mask = ((Number) row[offset + 1]).longValue();
+        double volume = row[offset + 2] != null ? ((Number) row[offset + 2]).doubleValue() : 0.0;
+        long sets = row[offset + 3] != null ? ((Number) row[offset + 3]).longValue() : 0L;
+        long reps = row[offset + 4] != null ? ((Number) row[offset + 4]).longValue() : 0L;
+
+        for (VolumeGranularity granularity : VolumeGranularity.values()) {
+            LocalDate bucketStart = granularity.bucketStart(day);
+            add(byKey, userId, new RollupKey(granularity, bucketStart, VolumeDimension.EXERCISE, exerciseId),
+                    volume, sets, reps);
+            for (long rest = mask; rest != 0; rest &= rest - 1) {
+                long bit = Long.numberOfTrailingZeros(rest);
+                add(byKey, userId, new RollupKey(granularity, bucketStart, VolumeDimension.MUSCLE_GROUP, bit),
+                        volume, sets, reps);
+            }
+        }
+    }
+
+    private static void add(Map<RollupKey, VolumeRollup> byKey, Long userId, RollupKey key,
+                            double volume, long sets, long reps) {
+        VolumeRollup rollup = byKey.computeIfAbsent(key, k -> VolumeRollup.builder()
+                .userId(userId)
+                .granularity(k.granularity())
+                .bucketStart(k.bucketStart())
+                .dimension(k.dimension())
+                .dimensionId(k.dimensionId())
+                .build());
+        rollup.setVolume(rollup.getVolume() + volume);
+        rollup.setSets(rollup.getSets() + sets);
+        rollup.setReps(rollup.getReps() + reps);
+    }
+
+    // Namen der Übungen (eine Abfrage, meist aus dem Second-Level-Cache) bzw. der Muskelgruppen (Wörterbuch)
+    private Map<Long, String> labels(VolumeDimension dimension, List<VolumeRollup> rollups) {
+        Set<Long> ids = rollups.stream().map(VolumeRollup::getDimensionId).collect(Collectors.toSet());
+        Map<Long, String> labels = new HashMap<>();
+        if (ids.isEmpty()) {
+            return labels;
+        }
+        if (dimension == VolumeDimension.EXERCISE) {
+            for (Exercise1 exercise : exerciseRepository.findAllById(ids)) {
+                labels.put(exercise.getId(), exercise.getName());
+            }
+        } else {
+            for (Long bit : ids) {
+                labels.put(bit, muscleGroupDictionary.nameOf(bit.intValue()));
+            }
+        }
+        return labels;
+    }
+
+    private static LocalDate defaultFrom(VolumeGranularity granularity, LocalDate to) {
+        return switch (granularity) {
+            case DAY -> to.minusDays(DEFAULT_BUCKETS - 1);
+            case WEEK -> to.minusWeeks(DEFAULT_BUCKETS - 1);
+            case MONTH -> to.minusMonths(DEFAULT_BUCKETS - 1);
+        };
+    }
+
+    // Eindeutiger Schlüssel einer Zeile innerhalb eines Benutzers
+    private record RollupKey(VolumeGranularity granularity, LocalDate bucketStart, VolumeDimension dimension, Long dimensionId) {
+    }
+}
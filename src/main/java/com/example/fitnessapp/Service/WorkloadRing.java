@@ -0,0 +1,120 @@
+package com.example.fitnessapp.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Ringpuffer mit der Belastung der letzten 28 Tage (ein Eintrag pro Tag, Index = Epochentag modulo 28).
+ * Weiterschieben, Addieren und die Summen über 7 bzw. 28 Tage kosten unabhängig von der Historie konstante Zeit.
+ */
+public final class WorkloadRing {
+
+    public static final int WINDOW_DAYS = 28;
+    public static final int ACUTE_DAYS = 7;
+
+    private final double[] loads;
+    private LocalDate lastDay;
+
+    private WorkloadRing(double[] loads, LocalDate lastDay) {
+        this.loads = loads;
+        this.lastDay = lastDay;
+    }
+
+    public static WorkloadRing empty(LocalDate day) {
+        return new WorkloadRing(new double[WINDOW_DAYS], day);
+    }
+
+    public static WorkloadRing decode(byte[] bytes, LocalDate lastDay) {
+        double[] loads = new double[WINDOW_DAYS];
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(loads);
+        return new WorkloadRing(loads, lastDay);
+    }
+
+    public byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * WINDOW_DAYS);
+        buffer.asDoubleBuffer().put(loads);
+        return buffer.array();
+    }
+
+    public LocalDate lastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Schiebt das Fenster bis einschließlich day weiter; herausfallende Tage werden geleert
+     * @return true, wenn sich das Fenster verändert hat
+     */
+    public boolean advanceTo(LocalDate day) {
+        long gap = ChronoUnit.DAYS.between(lastDay, day);
+        if (gap <= 0) {
+            return false;
+        }
+        if (gap >= WINDOW_DAYS) {
+            Arrays.fill(loads, 0.0);
+        } else {
+            for (int i = 1; i <= gap; i++) {
+                loads[slot(lastDay.plusDays(i))] = 0.0;
+            }
+        }
+        lastDay = day;
+        return true;
+    }
+
+    /**
+     * Addiert die Belastung eines Tages; ein jüngerer Tag schiebt das Fenster vorher weiter
+     * @return false, wenn der Tag bereits aus dem Fenster gefallen ist
+     */
+    public boolean add(LocalDate day, double load) {
+        advanceTo(day);
+        if (!day.isAfter(lastDay.minusDays(WINDOW_DAYS))) {
+            return false;
+        }
+        loads[slot(day)] += load;
+        return true;
+    }
+
+    // Summe der letzten 7 Tage (einschließlich lastDay)
+    public double acuteLoad() {
+        return sum(ACUTE_DAYS);
+    }
+
+    // Summe der letzten 28 Tage (einschließlich lastDay)
+    public double chronicLoad() {
+        return sum(WINDOW_DAYS);
+    }
+
+    public boolean isEmpty() {
+        for (double load : loads) {
+            if (load != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verhältnis akute/chronische Belastung als Tagesdurchschnitte (7 bzw. 28 Tage)
+     * @return null, wenn in den letzten 28 Tagen keine Belastung vorliegt
+     */
+    public Double ratio() {
+        double chronic = chronicLoad();
+        if (chronic == 0.0) {
+            return null;
+        }
+        return (acuteLoad() / ACUTE_DAYS) / (chronic / WINDOW_DAYS);
+    }
+
+    private double sum(int days) {
+        double total = 0.0;
+        for (int i = 0; i < days; i++) {
+            total += loads[slot(lastDay.minusDays(i))];
+        }
+        return total;
+    }
+
+    private static int slot(LocalDate day) {
+        return Math.floorMod(day.toEpochDay(), WINDOW_DAYS);
+    }
+}
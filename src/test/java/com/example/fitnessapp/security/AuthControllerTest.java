@@ -0,0 +1,126 @@
+package com.example.fitnessapp.security;
+
+import com.example.fitnessapp.DTOs.CredentialCacheStatsResponse;
+import com.example.fitnessapp.DTOs.LoginResponse;
+import com.example.fitnessapp.Model.User;
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.VerifiedCredentialCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Regressionstest über die komplette Security-Filterkette (H2-Datenbank):
+// Login/Logout mit Bearer-Token und Zähler des Caches für geprüfte Basic-Anmeldedaten
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    private static final String PASSWORD = "geheim123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private VerifiedCredentialCache credentialCache;
+
+    private String username;
+
+    // Legt einen eigenen Benutzer an, damit dessen erste Basic-Anmeldung garantiert ein Cache-Miss ist
+    @BeforeEach
+    void setUp() {
+        username = "berta-" + UUID.randomUUID();
+        userRepository.save(User.builder()
+                .username(username)
+                .password(passwordEncoder.encode(PASSWORD))
+                .build());
+    }
+
+    // Testfall:
+    // Erste Basic-Anmeldung → genau ein Fehlzugriff (BCrypt), zweite mit denselben Daten → genau ein Treffer
+    @Test
+    void credentialCache_countsMissThenHit() throws Exception {
+        CredentialCacheStatsResponse before = credentialCache.stats();
+
+        validateWithBasic();
+        CredentialCacheStatsResponse afterFirst = credentialCache.stats();
+        validateWithBasic();
+        CredentialCacheStatsResponse afterSecond = credentialCache.stats();
+
+        assertEquals(before.getMissCount() + 1, afterFirst.getMissCount());
+        assertEquals(before.getHitCount(), afterFirst.getHitCount());
+        assertEquals(afterFirst.getMissCount(), afterSecond.getMissCount());
+        assertEquals(afterFirst.getHitCount() + 1, afterSecond.getHitCount());
+        assertEquals(afterFirst.getSize(), afterSecond.getSize());
+    }
+
+    // Testfall:
+    // Die Zähler sind nicht per API abrufbar (auch nicht für angemeldete Benutzer)
+    @Test
+    void credentialCacheStats_isNotExposed() throws Exception {
+        mockMvc.perform(get("/api/auth/credential-cache/stats").header(HttpHeaders.AUTHORIZATION, basic()))
+                .andExpect(status().isNotFound());
+    }
+
+    // Testfall:
+    // Login liefert ein Token, das bis zum Logout gilt und danach abgelehnt wird
+    @Test
+    void login_thenLogout_revokesToken() throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readValue(body, LoginResponse.class).getToken();
+
+        mockMvc.perform(get("/api/auth/validate").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/auth/validate").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // Testfall:
+    // Falsches Passwort → 401, kein Token
+    @Test
+    void login_withWrongPassword_isRejected() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"falsch\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private void validateWithBasic() throws Exception {
+        mockMvc.perform(get("/api/auth/validate").header(HttpHeaders.AUTHORIZATION, basic()))
+                .andExpect(status().isOk());
+    }
+
+    private String basic() {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.fitnessapp.security;
+
+import com.example.fitnessapp.Security.SignedTokenCodec;
+import com.example.fitnessapp.Security.TokenClaims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedTokenCodecTest {
+
+    private static final String KEY_A = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String KEY_B = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    // Testfall (Happy Path):
+    // Ein ausgestelltes Token liefert Benutzername, User-ID und Ablaufzeit zurück
+    @Test
+    void verify_returnsClaimsOfIssuedToken() {
+        SignedTokenCodec codec = new SignedTokenCodec("a:" + KEY_A, "a");
+        Instant exp = Instant.now().plusSeconds(600);
+
+        TokenClaims claims = codec.verify(codec.issue("max|mustermann", 7L, exp));
+
+        assertNotNull(claims);
+        assertEquals("max|mustermann", claims.username());
+        assertEquals(7L, claims.userId());
+        assertEquals(exp.getEpochSecond(), claims.expiresAt().getEpochSecond());
+    }
+
+    // Testfall:
+    // Manipulierte oder abgelaufene Tokens werden abgelehnt
+    @Test
+    void verify_rejectsTamperedAndExpiredTokens() {
+        SignedTokenCodec codec = new SignedTokenCodec("a:" + KEY_A, "a");
+        String token = codec.issue("max", 1L, Instant.now().plusSeconds(600));
+        String tampered = (token.charAt(0) == 'A' ? 'B' : 'A') + token.substring(1);
+
+        assertNull(codec.verify(tampered));
+        assertNull(codec.verify("kein-token"));
+        assertNull(codec.verify(codec.issue("max", 1L, Instant.now().minusSeconds(1))));
+    }
+
+    // Testfall:
+    // Nach der Rotation (neuer aktiver Schlüssel) bleiben alte Tokens gültig, solange der alte Schlüssel konfiguriert ist
+    @Test
+    void verify_acceptsTokensOfRotatedKey() {
+        SignedTokenCodec before = new SignedTokenCodec("a:" + KEY_A, "a");
+        SignedTokenCodec after = new SignedTokenCodec("a:" + KEY_A + ",b:" + KEY_B, "b");
+        SignedTokenCodec withoutOldKey = new SignedTokenCodec("b:" + KEY_B, "b");
+        String oldToken = before.issue("anna", 2L, Instant.now().plusSeconds(600));
+
+        assertNotNull(after.verify(oldToken));
+        assertNull(withoutOldKey.verify(oldToken));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.fitnessapp.security;
+
+import com.example.fitnessapp.Model.User;
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.CachingAuthenticationProvider;
+import com.example.fitnessapp.Security.VerifiedCredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Regressionstest gegen die echte (H2-)Datenbank:
+// Der JPA-EntityListener verwirft gecachte Anmeldedaten, sobald sich das Passwort eines Benutzers ändert
+@SpringBootTest
+class UserCredentialListenerTest {
+
+    @Autowired
+    private CachingAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private VerifiedCredentialCache credentialCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    // Legt einen Benutzer mit dem Passwort "alt" an
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("anna-" + UUID.randomUUID())
+                .password(passwordEncoder.encode("alt"))
+                .build());
+    }
+
+    // Testfall:
+    // Passwortänderung → alter Cache-Eintrag entfällt, das alte Passwort wird wieder geprüft und abgelehnt
+    @Test
+    void passwordChange_invalidatesCachedCredential() {
+        authenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), "alt"));
+        assertNotNull(credentialCache.get(user.getUsername(), "alt"));
+
+        user.setPassword(passwordEncoder.encode("neu"));
+        userRepository.saveAndFlush(user);
+
+        assertNull(credentialCache.get(user.getUsername(), "alt"));
+        assertThrows(BadCredentialsException.class, () -> authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), "alt")));
+        assertNotNull(authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), "neu")));
+    }
+
+    // Testfall:
+    // Passwortänderung in einer Transaktion → Eintrag bleibt bis zum Commit (parallele Anmeldungen sehen noch den alten Hash),
+    // danach verworfen; bei Rollback bleibt er erhalten
+    @Test
+    void passwordChange_invalidatesOnlyAfterCommit() {
+        authenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(user.getUsername(), "alt"));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setPassword(passwordEncoder.encode("neu"));
+            userRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertNotNull(credentialCache.get(user.getUsername(), "alt"));
+
+        transaction.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setPassword(passwordEncoder.encode("neu"));
+            userRepository.flush();
+            assertNotNull(credentialCache.get(user.getUsername(), "alt"));
+        });
+        assertNull(credentialCache.get(user.getUsername(), "alt"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.fitnessapp.security;
+
+import com.example.fitnessapp.Security.VerifiedCredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedCredentialCacheTest {
+
+    private VerifiedCredentialCache cache;
+    private Authentication auth;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedCredentialCache(100, 60);
+        auth = new UsernamePasswordAuthenticationToken("max", null, List.of());
+    }
+
+    // Testfall:
+    // Gleiche Anmeldedaten → Treffer, anderes Passwort → kein Treffer
+    @Test
+    void get_returnsCachedOnlyForSamePassword() {
+        cache.put("max", "passwort123", auth);
+
+        assertSame(auth, cache.get("max", "passwort123"));
+        assertNull(cache.get("max", "falsch"));
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    // Testfall:
+    // Nach einer Passwortänderung dürfen alte Einträge nicht mehr gelten
+    @Test
+    void invalidateUser_removesOnlyEntriesOfThatUser() {
+        Authentication other = new UsernamePasswordAuthenticationToken("anna", null, List.of());
+        cache.put("max", "passwort123", auth);
+        cache.put("anna", "passwort456", other);
+
+        cache.invalidateUser("max");
+
+        assertNull(cache.get("max", "passwort123"));
+        assertSame(other, cache.get("anna", "passwort456"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.WorkloadRatioResponse;
+import com.example.fitnessapp.Model.WorkloadWindow;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.WorkloadWindowRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.AcuteChronicWorkloadService;
+import com.example.fitnessapp.Service.MuscleGroupDictionary;
+import com.example.fitnessapp.Service.SessionLogCompletedEvent;
+import com.example.fitnessapp.Service.WorkloadRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für das Verhältnis akute/chronische Belastung (Ringpuffer mit Tagesvolumen)
+@ExtendWith(MockitoExtension.class)
+class AcuteChronicWorkloadServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final long BRUST = 1L;
+    private static final long TRIZEPS = 1L << 1;
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 15);
+
+    @Mock// Mock für die gespeicherten Fenster
+    private WorkloadWindowRepository windowRepository;
+
+    @Mock// Mock für die Aggregat-Abfragen über ExecutionLogs
+    private ExecutionLogRepository executionLogRepository;
+
+    @Mock// Mock für SessionLogRepository (Benutzer für den Neuaufbau)
+    private SessionLogRepository sessionLogRepository;
+
+    @Mock// Mock für das Wörterbuch (Namen der Muskelgruppen)
+    private MuscleGroupDictionary dictionary;
+
+    @Mock// Mock für den TransactionManager von Abschluss, Tageslauf und Neuaufbau
+    private PlatformTransactionManager transactionManager;
+
+    private AcuteChronicWorkloadService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AcuteChronicWorkloadService(windowRepository, executionLogRepository, sessionLogRepository,
+                dictionary, transactionManager, 2);
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "max", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Ringpuffer: 7-/28-Tage-Summen, Vorschub leert herausfallende Tage, zu alte Tage werden ignoriert
+    @Test
+    void ring_sumsAdvancesAndDropsExpiredDays() {
+        WorkloadRing ring = WorkloadRing.empty(DAY);
+        ring.add(DAY.minusDays(20), 400.0);
+        ring.add(DAY.minusDays(3), 100.0);
+        ring.add(DAY, 200.0);
+
+        assertEquals(300.0, ring.acuteLoad());
+        assertEquals(700.0, ring.chronicLoad());
+        assertEquals((300.0 / 7) / (700.0 / 28), ring.ratio(), 1e-9);
+        assertFalse(ring.add(DAY.minusDays(28), 50.0));
+
+        // Nach 8 Tagen: 100 und 200 sind nicht mehr akut, 400 fällt aus dem 28-Tage-Fenster
+        ring.advanceTo(DAY.plusDays(8));
+        assertEquals(0.0, ring.acuteLoad());
+        assertEquals(300.0, ring.chronicLoad());
+
+        WorkloadRing copy = WorkloadRing.decode(ring.encode(), ring.lastDay());
+        assertEquals(300.0, copy.chronicLoad());
+
+        ring.advanceTo(DAY.plusDays(60));
+        assertTrue(ring.isEmpty());
+        assertNull(ring.ratio());
+    }
+
+    // Testfall:
+    // Abschluss → Volumen landet im Fenster jeder Muskelgruppe, bestehende Fenster werden fortgeschrieben
+    @Test
+    @SuppressWarnings("unchecked")
+    void onSessionLogCompleted_addsLoadPerMuscleGroup() {
+        when(executionLogRepository.sumVolumeBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, BRUST | TRIZEPS, 1800.0, 3L, 30L}));
+        WorkloadRing previous = WorkloadRing.empty(DAY.minusDays(2));
+        previous.add(DAY.minusDays(2), 1000.0);
+        WorkloadWindow brust = WorkloadWindow.builder().id(3L).userId(USER_ID).muscleGroupBit(0)
+                .lastDay(previous.lastDay()).dailyLoads(previous.encode()).build();
+        when(windowRepository.findForUpdateByUserId(USER_ID)).thenReturn(List.of(brust));
+
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(7L, USER_ID, DAY.atTime(18, 0)));
+
+        ArgumentCaptor<Iterable<WorkloadWindow>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(windowRepository).saveAll(captor.capture());
+        List<WorkloadWindow> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+        assertEquals(2, saved.size());
+        assertEquals(DAY, brust.getLastDay());
+        assertEquals(2800.0, WorkloadRing.decode(brust.getDailyLoads(), brust.getLastDay()).acuteLoad());
+        WorkloadWindow trizeps = saved.stream().filter(w -> w.getMuscleGroupBit() == 1).findFirst().orElseThrow();
+        assertEquals(1800.0, WorkloadRing.decode(trizeps.getDailyLoads(), trizeps.getLastDay()).chronicLoad());
+    }
+
+    // Testfall:
+    // Abfrage → Fenster werden bis heute weitergeschoben, leere Fenster entfallen
+    @Test
+    void getWorkload_advancesWindowsToToday() {
+        LocalDate today = LocalDate.now();
+        WorkloadRing active = WorkloadRing.empty(today.minusDays(1));
+        active.add(today.minusDays(1), 700.0);
+        WorkloadRing idle = WorkloadRing.empty(today.minusDays(40));
+        idle.add(today.minusDays(40), 500.0);
+        when(windowRepository.findByUserId(USER_ID)).thenReturn(List.of(
+                WorkloadWindow.builder().userId(USER_ID).muscleGroupBit(0)
+                        .lastDay(active.lastDay()).dailyLoads(active.encode()).build(),
+                WorkloadWindow.builder().userId(USER_ID).muscleGroupBit(1)
+                        .lastDay(idle.lastDay()).dailyLoads(idle.encode()).build()));
+        when(dictionary.nameOf(0)).thenReturn("Brust");
+
+        List<WorkloadRatioResponse> result = service.getWorkload();
+
+        assertEquals(1, result.size());
+        assertEquals("Brust", result.get(0).getMuscleGroup());
+        assertEquals(700.0, result.get(0).getAcuteLoad());
+        assertEquals(4.0, result.get(0).getRatio(), 1e-9); // Gesamte Belastung in der letzten Woche
+    }
+
+    // Testfall:
+    // Tageslauf → veraltete Fenster werden weitergeschoben, leere gelöscht
+    @Test
+    void tick_advancesAndRemovesIdleWindows() {
+        WorkloadRing active = WorkloadRing.empty(DAY.minusDays(1));
+        active.add(DAY.minusDays(1), 700.0);
+        WorkloadRing idle = WorkloadRing.empty(DAY.minusDays(30));
+        idle.add(DAY.minusDays(30), 500.0);
+        WorkloadWindow activeWindow = WorkloadWindow.builder().id(1L).userId(USER_ID).muscleGroupBit(0)
+                .lastDay(active.lastDay()).dailyLoads(active.encode()).build();
+        WorkloadWindow idleWindow = WorkloadWindow.builder().id(2L).userId(USER_ID).muscleGroupBit(1)
+                .lastDay(idle.lastDay()).dailyLoads(idle.encode()).build();
+        when(windowRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(activeWindow, idleWindow));
+
+        assertEquals(1, service.tick(DAY));
+
+        assertEquals(DAY, activeWindow.getLastDay());
+        verify(windowRepository).deleteAll(List.of(idleWindow));
+    }
+}
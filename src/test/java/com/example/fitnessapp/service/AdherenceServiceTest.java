@@ -0,0 +1,199 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.AdherenceReportResponse;
+import com.example.fitnessapp.DTOs.AdherenceStatsResponse;
+import com.example.fitnessapp.Model.SessionAdherence;
+import com.example.fitnessapp.Model.TrainingPlan1;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.SessionAdherenceRepository;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.TrainingPlanRepository1;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.AdherenceChangedEvent;
+import com.example.fitnessapp.Service.AdherenceService;
+import com.example.fitnessapp.Service.SessionLogCompletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für die Plantreue (Abschlussquote, Gewichtsabweichung, übersprungene Übungen)
+@ExtendWith(MockitoExtension.class)
+class AdherenceServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 13);
+
+    @Mock// Mock für die gespeicherten Plantreue-Zeilen
+    private SessionAdherenceRepository adherenceRepository;
+
+    @Mock// Mock für die Aggregat-Abfragen über ExecutionLogs
+    private ExecutionLogRepository executionLogRepository;
+
+    @Mock// Mock für SessionLogRepository (Benutzer für den Neuaufbau)
+    private SessionLogRepository sessionLogRepository;
+
+    @Mock// Mock für TrainingPlanRepository1 (Namen der Pläne)
+    private TrainingPlanRepository1 trainingPlanRepository;
+
+    @Mock// Mock für Ereignisse (Verwerfen des Caches nach dem Commit)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock// Mock für den TransactionManager (Fortschreiben und Neuaufbau in eigener Transaktion)
+    private PlatformTransactionManager transactionManager;
+
+    private AdherenceService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdherenceService(adherenceRepository, executionLogRepository, sessionLogRepository,
+                trainingPlanRepository, eventPublisher, transactionManager, 2, 100, 600);
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "max", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Score = Abschlussquote × (1 − min(1, mittlere Gewichtsabweichung)); ohne geplante Übungen 0
+    @Test
+    void score_combinesCompletionAndWeightDeviation() {
+        assertEquals(1.0, AdherenceService.score(4, 4, 0.0, 4));
+        assertEquals(0.75 * 0.9, AdherenceService.score(4, 3, 0.3, 3), 1e-9);
+        assertEquals(0.5, AdherenceService.score(2, 1, 0.0, 0)); // Nur Übungen ohne geplantes Gewicht
+        assertEquals(0.0, AdherenceService.score(2, 2, 5.0, 2)); // Abweichung wird bei 100 % gekappt
+        assertEquals(0.0, AdherenceService.score(0, 0, 0.0, 0));
+    }
+
+    // Testfall:
+    // Abschluss → eine Zeile mit den Summen der Session, Cache-Ereignis wird veröffentlicht
+    @Test
+    void onSessionLogCompleted_writesSessionRow() {
+        when(executionLogRepository.sumAdherenceBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{7L, MONDAY.atTime(18, 0), 3L, 5L, 4L, 0.25, 3L}));
+        when(adherenceRepository.findBySessionLogId(7L)).thenReturn(Optional.empty());
+
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(7L, USER_ID, MONDAY.atTime(18, 0)));
+
+        ArgumentCaptor<SessionAdherence> captor = ArgumentCaptor.forClass(SessionAdherence.class);
+        verify(adherenceRepository).save(captor.capture());
+        SessionAdherence saved = captor.getValue();
+        assertEquals(7L, saved.getSessionLogId());
+        assertEquals(USER_ID, saved.getUserId());
+        assertEquals(3L, saved.getPlanId());
+        assertEquals(MONDAY, saved.getSessionDay());
+        assertEquals(5, saved.getPlannedExercises());
+        assertEquals(4, saved.getCompletedExercises());
+        assertEquals(0.25, saved.getWeightDeviationSum());
+        assertEquals(3, saved.getWeightDeviationCount());
+        verify(eventPublisher).publishEvent(new AdherenceChangedEvent(USER_ID));
+    }
+
+    // Testfall:
+    // Bericht → Summen gesamt, je Plan, je Woche und je Session (neueste zuerst); zweiter Aufruf aus dem Cache
+    @Test
+    void getReport_aggregatesAndIsCachedUntilChanged() {
+        LocalDate nextMonday = MONDAY.plusDays(7);
+        when(adherenceRepository.findByUserIdAndSessionDayBetweenOrderBySessionDayAscIdAsc(USER_ID, MONDAY, nextMonday.plusDays(6)))
+                .thenReturn(List.of(
+                        row(10L, 3L, MONDAY, 4, 4, 0.4, 4),
+                        row(11L, null, MONDAY.plusDays(2), 2, 1, 0.0, 0),
+                        row(12L, 3L, nextMonday, 4, 2, 0.0, 2)));
+        when(trainingPlanRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(TrainingPlan1.builder().id(3L).name("Push/Pull").build()));
+
+        AdherenceReportResponse report = service.getReport(VolumeGranularity.WEEK, MONDAY, nextMonday.plusDays(6));
+        service.getReport(VolumeGranularity.WEEK, MONDAY, nextMonday.plusDays(6));
+
+        AdherenceStatsResponse overall = report.getOverall();
+        assertEquals(3, overall.getSessions());
+        assertEquals(3, overall.getSkippedExercises());
+        assertEquals(7.0 / 10, overall.getCompletionRate(), 1e-9);
+        assertEquals(0.4 / 6, overall.getAvgWeightDeviation(), 1e-9);
+
+        assertEquals(2, report.getPlans().size());
+        assertEquals("Push/Pull", report.getPlans().get(0).getPlanName());
+        assertEquals(2, report.getPlans().get(0).getSessions());
+        assertNull(report.getPlans().get(1).getPlanId()); // Vorlage ohne Plan zuletzt
+
+        assertEquals(List.of(MONDAY, nextMonday), report.getSeries().stream().map(AdherenceStatsResponse::getBucketStart).toList());
+        assertEquals(List.of(12L, 11L, 10L), report.getSessions().stream().map(AdherenceStatsResponse::getSessionLogId).toList());
+        assertEquals(0.9, report.getSessions().get(2).getScore(), 1e-9); // 4/4 abgeschlossen, 10 % Abweichung
+        verify(adherenceRepository, times(1)).findByUserIdAndSessionDayBetweenOrderBySessionDayAscIdAsc(any(), any(), any());
+
+        service.onAdherenceChanged(new AdherenceChangedEvent(USER_ID));
+        service.getReport(VolumeGranularity.WEEK, MONDAY, nextMonday.plusDays(6));
+        verify(adherenceRepository, times(2)).findByUserIdAndSessionDayBetweenOrderBySessionDayAscIdAsc(any(), any(), any());
+    }
+
+    // Testfall:
+    // Ungültiger Zeitraum → 400
+    @Test
+    void getReport_whenFromAfterTo_throwsBadRequest() {
+        assertThrows(ResponseStatusException.class,
+                () -> service.getReport(VolumeGranularity.DAY, MONDAY.plusDays(1), MONDAY));
+        verifyNoInteractions(adherenceRepository);
+    }
+
+    // Testfall:
+    // Neuaufbau eines Benutzers → alte Zeilen werden gelöscht, je Session eine neue geschrieben
+    @Test
+    void rebuildUser_replacesRows() {
+        when(executionLogRepository.sumAdherenceByUserId(USER_ID)).thenReturn(List.<Object[]>of(
+                new Object[]{10L, LocalDateTime.of(2024, 5, 13, 18, 0), 3L, 4L, 4L, 0.0, 4L},
+                new Object[]{11L, LocalDateTime.of(2024, 5, 15, 7, 0), null, 2L, 1L, null, 0L}));
+
+        assertEquals(2, service.rebuildUser(USER_ID));
+
+        verify(adherenceRepository).deleteByUserId(USER_ID);
+        verify(adherenceRepository).saveAll(anyIterable());
+        verify(eventPublisher).publishEvent(new AdherenceChangedEvent(USER_ID));
+    }
+
+    // Testfall:
+    // Session ohne Startzeit → keinem Tag zuzuordnen, ihre Zeile wird beim Neuaufbau übersprungen statt auf heute gelegt
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildUser_skipsSessionsWithoutStartTime() {
+        when(executionLogRepository.sumAdherenceByUserId(USER_ID)).thenReturn(List.<Object[]>of(
+                new Object[]{10L, LocalDateTime.of(2024, 5, 13, 18, 0), 3L, 4L, 4L, 0.0, 4L},
+                new Object[]{11L, null, 3L, 2L, 1L, null, 0L}));
+
+        assertEquals(1, service.rebuildUser(USER_ID));
+
+        ArgumentCaptor<Iterable<SessionAdherence>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(adherenceRepository).saveAll(captor.capture());
+        List<Long> saved = new ArrayList<>();
+        captor.getValue().forEach(row -> saved.add(row.getSessionLogId()));
+        assertEquals(List.of(10L), saved);
+    }
+
+    private static SessionAdherence row(Long sessionLogId, Long planId, LocalDate day, int planned, int completed,
+                                        double deviationSum, int deviationCount) {
+        return SessionAdherence.builder().sessionLogId(sessionLogId).userId(USER_ID).planId(planId).sessionDay(day)
+                .plannedExercises(planned).completedExercises(completed)
+                .weightDeviationSum(deviationSum).weightDeviationCount(deviationCount).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.SignedTokenCodec;
+import com.example.fitnessapp.Service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit-Tests für die Widerrufsliste abgemeldeter Tokens
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @Mock// Mock für UserRepository (wird beim Widerruf nicht benötigt)
+    private UserRepository userRepository;
+
+    @Mock// Mock für PasswordEncoder (wird beim Widerruf nicht benötigt)
+    private PasswordEncoder passwordEncoder;
+
+    private SignedTokenCodec tokenCodec;
+    private AuthService authService;
+
+    // Widerrufsliste mit Platz für genau zwei Tokens
+    @BeforeEach
+    void setUp() {
+        tokenCodec = new SignedTokenCodec("a:" + KEY, "a");
+        authService = new AuthService(userRepository, passwordEncoder, tokenCodec, 60, 2);
+    }
+
+    // Testfall:
+    // Logout → Token wird bis zum Ablauf abgelehnt
+    @Test
+    void invalidateToken_revokesToken() {
+        String token = issue("max");
+        assertNotNull(authService.resolveToken(token));
+
+        authService.invalidateToken(token);
+
+        assertNull(authService.resolveToken(token));
+    }
+
+    // Testfall:
+    // Volle Widerrufsliste → weiterer Logout wird mit 503 abgelehnt, bestehende Widerrufe bleiben erhalten
+    @Test
+    void invalidateToken_whenFull_rejectsInsteadOfEvicting() {
+        String first = issue("max");
+        String second = issue("anna");
+        String third = issue("max");
+        authService.invalidateToken(first);
+        authService.invalidateToken(second);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> authService.invalidateToken(third));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertNull(authService.resolveToken(first));
+        assertNull(authService.resolveToken(second));
+        assertNotNull(authService.resolveToken(third));
+        // Erneuter Logout eines bereits widerrufenen Tokens belegt keinen weiteren Platz
+        assertDoesNotThrow(() -> authService.invalidateToken(first));
+    }
+
+    private String issue(String username) {
+        return tokenCodec.issue(username, 1L, Instant.now().plusSeconds(600));
+    }
+}
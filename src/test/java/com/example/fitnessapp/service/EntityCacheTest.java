@@ -0,0 +1,135 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.ExerciseRequest;
+import com.example.fitnessapp.Model.TrainingSession1;
+import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.Service.EntityCacheStatsService;
+import com.example.fitnessapp.Service.ExerciseService1;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Regressionstest gegen die echte (H2-)Datenbank:
+// Katalogdaten kommen nach dem ersten Laden aus dem Second-Level-Cache und bleiben bei Änderungen aktuell
+// (die Test-Konfiguration überschreibt application.properties, daher werden Cache und Statistiken hier eingeschaltet)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+class EntityCacheTest {
+
+    @Autowired
+    private ExerciseService1 exerciseService;
+
+    @Autowired
+    private EntityCacheStatsService cacheStatsService;
+
+    @Autowired
+    private TrainingSessionRepository1 sessionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long exerciseId;
+
+    // Legt eine Übung an und leert den Cache, damit jeder Test "kalt" beginnt
+    @BeforeEach
+    void setUp() {
+        exerciseId = exerciseService.createExercise(request("Klimmzug " + UUID.randomUUID())).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Testfall:
+    // Zweites Laden derselben Übung → keine Datenbankabfrage, Treffer in der Region "exercise"
+    @Test
+    void getExerciseById_secondCall_isServedFromCache() {
+        exerciseService.getExerciseById(exerciseId);
+        long afterFirst = statistics.getPrepareStatementCount();
+
+        exerciseService.getExerciseById(exerciseId);
+
+        assertEquals(afterFirst, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics("exercise").getHitCount() >= 1);
+        assertTrue(cacheStatsService.stats().stream().anyMatch(r -> r.getRegion().equals("exercise") && r.getHitCount() >= 1));
+    }
+
+    // Testfall:
+    // Änderung und Löschen über den Service → Cache liefert keine veralteten Daten
+    @Test
+    void updateAndDelete_keepCacheConsistent() {
+        exerciseService.getExerciseById(exerciseId);
+        String newName = "Klimmzug breit " + UUID.randomUUID();
+
+        exerciseService.updateExercise(exerciseId, request(newName));
+        assertEquals(newName, exerciseService.getExerciseById(exerciseId).getName());
+        assertTrue(exerciseService.getAllExercises().stream().anyMatch(e -> e.getName().equals(newName)));
+
+        exerciseService.deleteExercise(exerciseId);
+        assertThrows(ResponseStatusException.class, () -> exerciseService.getExerciseById(exerciseId));
+        assertTrue(exerciseService.getAllExercises().stream().noneMatch(e -> e.getId().equals(exerciseId)));
+    }
+
+    // Testfall:
+    // Zähleränderung an einer Session → nur deren Cache-Eintrag wird aktualisiert, andere Sessions bleiben gecacht
+    @Test
+    void adjustExecutionCount_keepsOtherSessionsCached() {
+        Long changedId = sessionRepository.save(session("Push " + UUID.randomUUID())).getId();
+        Long otherId = sessionRepository.save(session("Pull " + UUID.randomUUID())).getId();
+        sessionRepository.findById(changedId);
+        sessionRepository.findById(otherId);
+        statistics.clear();
+
+        sessionRepository.adjustExecutionCount(changedId, 1);
+
+        long afterAdjust = statistics.getPrepareStatementCount();
+        sessionRepository.findById(otherId);
+        assertEquals(afterAdjust, statistics.getPrepareStatementCount());
+        assertEquals(1L, sessionRepository.findById(changedId).orElseThrow().getExecutionCount());
+    }
+
+    // Testfall:
+    // Zähleränderung in einer Transaktion mit ungespeicherter Änderung an der Session → beides bleibt erhalten
+    @Test
+    void adjustExecutionCount_keepsUnflushedChanges() {
+        Long id = sessionRepository.save(session("Legs " + UUID.randomUUID())).getId();
+        String renamed = "Legs " + UUID.randomUUID();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            sessionRepository.findById(id).orElseThrow().setName(renamed);
+            sessionRepository.adjustExecutionCount(id, 1);
+        });
+
+        TrainingSession1 stored = sessionRepository.findById(id).orElseThrow();
+        assertEquals(renamed, stored.getName());
+        assertEquals(1L, stored.getExecutionCount());
+    }
+
+    private static TrainingSession1 session(String name) {
+        return TrainingSession1.builder().name(name).orderIndex(1).build();
+    }
+
+    private ExerciseRequest request(String name) {
+        return new ExerciseRequest(name, "Körpergewicht", new HashSet<>(Set.of("Rücken")), null);
+    }
+}
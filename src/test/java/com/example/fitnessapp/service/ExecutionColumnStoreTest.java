@@ -0,0 +1,139 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Service.ExecutionColumnStore;
+import com.example.fitnessapp.Service.SessionLogCompletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den spaltenorientierten Speicher der Übungsausführungen
+@ExtendWith(MockitoExtension.class)
+class ExecutionColumnStoreTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 5, 13);
+
+    @Mock// Mock für ExecutionLogRepository (liefert die Zeilen beim Laden und Anhängen)
+    private ExecutionLogRepository executionLogRepository;
+
+    private ExecutionColumnStore store;
+
+    // Benutzer 1: Bankdrücken (100) Mo + Mi, Kniebeugen (200) in der Folgewoche; Benutzer 2: Bankdrücken Mo
+    @BeforeEach
+    void setUp() {
+        store = new ExecutionColumnStore(executionLogRepository);
+        when(executionLogRepository.streamColumnRows()).thenReturn(Stream.of(
+                row(1L, 1L, MONDAY.atTime(18, 0), 100L, 3, 10, 60.0, 3, 10, 60.0),
+                row(2L, 1L, MONDAY.plusDays(2).atTime(7, 30), 100L, 3, 10, 60.0, 3, 8, 65.0),
+                row(3L, 1L, MONDAY.plusDays(7).atTime(18, 0), 200L, 5, 5, 100.0, 4, 5, 100.0),
+                row(4L, 2L, MONDAY.atTime(18, 0), 100L, 3, 10, 40.0, 3, 10, 40.0)));
+        store.load();
+    }
+
+    // Testfall:
+    // Gruppierung nach Übung → Summen, Durchschnittsgrundlagen und Maximum je Übung, nur eigene Partition
+    @Test
+    void aggregate_byExercise_sumsPerExercise() {
+        List<ExecutionColumnStore.Group> groups = store.aggregate(1L, new ExecutionColumnStore.Query(
+                null, MONDAY, MONDAY.plusDays(13), ExecutionColumnStore.GroupBy.EXERCISE));
+
+        assertEquals(2, groups.size());
+        ExecutionColumnStore.Group bench = groups.get(0);
+        assertEquals(100L, bench.exerciseId());
+        assertEquals(2, bench.count());
+        assertEquals(20L, bench.plannedReps());
+        assertEquals(18L, bench.actualReps());
+        assertEquals(65.0f, bench.maxActualWeight());
+        assertEquals(3 * 10 * 60.0 + 3 * 8 * 65.0, bench.actualVolume(), 1e-6);
+        assertEquals(4L, groups.get(1).actualSets());
+        assertEquals(4, store.rowCount());
+    }
+
+    // Testfall:
+    // Gruppierung nach Woche mit Übungsfilter und Zeitraum (Grenzen inklusive)
+    @Test
+    void aggregate_byWeek_filtersExerciseAndRange() {
+        List<ExecutionColumnStore.Group> weeks = store.aggregate(1L, new ExecutionColumnStore.Query(
+                null, MONDAY.plusDays(2), MONDAY.plusDays(7), ExecutionColumnStore.GroupBy.WEEK));
+
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(7)), weeks.stream().map(ExecutionColumnStore.Group::bucketStart).toList());
+        assertEquals(1, weeks.get(0).count()); // Montag liegt vor "from"
+
+        List<ExecutionColumnStore.Group> benchOnly = store.aggregate(1L, new ExecutionColumnStore.Query(
+                100L, MONDAY, MONDAY.plusDays(13), ExecutionColumnStore.GroupBy.DAY));
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(2)),
+                benchOnly.stream().map(ExecutionColumnStore.Group::bucketStart).toList());
+
+        assertTrue(store.aggregate(1L, new ExecutionColumnStore.Query(
+                999L, MONDAY, MONDAY, ExecutionColumnStore.GroupBy.DAY)).isEmpty());
+        assertTrue(store.aggregate(3L, new ExecutionColumnStore.Query(
+                null, MONDAY, MONDAY, ExecutionColumnStore.GroupBy.DAY)).isEmpty());
+    }
+
+    // Testfall:
+    // Abschluss einer Session → Zeilen werden an die Partition angehängt (auch über die Anfangskapazität hinaus)
+    @Test
+    void onSessionLogCompleted_appendsRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            rows.add(row(9L, 1L, MONDAY.plusDays(1).atTime(9, 0), 300L, 3, 12, 20.0, 3, 12, 22.5));
+        }
+        when(executionLogRepository.findColumnRowsBySessionLogId(9L)).thenReturn(rows);
+
+        store.onSessionLogCompleted(new SessionLogCompletedEvent(9L, 1L, MONDAY.plusDays(1).atTime(9, 0)));
+
+        List<ExecutionColumnStore.Group> groups = store.aggregate(1L, new ExecutionColumnStore.Query(
+                300L, MONDAY, MONDAY.plusDays(1), ExecutionColumnStore.GroupBy.MONTH));
+        assertEquals(1, groups.size());
+        assertEquals(LocalDate.of(2024, 5, 1), groups.get(0).bucketStart());
+        assertEquals(40, groups.get(0).count());
+        assertEquals(44, store.rowCount());
+    }
+
+    // Testfall:
+    // Sessions, die während des Ladens abgeschlossen werden → danach angehängt, außer der Cursor hat sie schon gelesen
+    @Test
+    void load_appendsSessionsCompletedDuringLoad() {
+        ExecutionColumnStore loading = new ExecutionColumnStore(executionLogRepository);
+        loading.onSessionLogCompleted(new SessionLogCompletedEvent(20L, 5L, MONDAY.atTime(6, 0))); // Vor dem Start
+        when(executionLogRepository.streamColumnRows()).thenReturn(Stream.<Object[]>of(
+                        row(21L, 5L, MONDAY.atTime(7, 0), 100L, 3, 10, 50.0, 3, 10, 50.0))
+                .peek(r -> {
+                    loading.onSessionLogCompleted(new SessionLogCompletedEvent(21L, 5L, MONDAY.atTime(7, 0)));
+                    loading.onSessionLogCompleted(new SessionLogCompletedEvent(22L, 5L, MONDAY.atTime(8, 0)));
+                }));
+        when(executionLogRepository.findColumnRowsBySessionLogId(20L)).thenReturn(List.<Object[]>of(
+                row(20L, 5L, MONDAY.atTime(6, 0), 100L, 3, 10, 50.0, 3, 10, 50.0)));
+        when(executionLogRepository.findColumnRowsBySessionLogId(22L)).thenReturn(List.<Object[]>of(
+                row(22L, 5L, MONDAY.atTime(8, 0), 100L, 3, 10, 50.0, 3, 10, 50.0)));
+
+        loading.load();
+
+        verify(executionLogRepository, never()).findColumnRowsBySessionLogId(21L); // Bereits vom Cursor gelesen
+        assertEquals(3, loading.rowCount());
+
+        // Nach dem Laden wird direkt angehängt
+        when(executionLogRepository.findColumnRowsBySessionLogId(23L)).thenReturn(List.<Object[]>of(
+                row(23L, 5L, MONDAY.atTime(9, 0), 100L, 3, 10, 50.0, 3, 10, 50.0)));
+        loading.onSessionLogCompleted(new SessionLogCompletedEvent(23L, 5L, MONDAY.atTime(9, 0)));
+        assertEquals(4, loading.rowCount());
+    }
+
+    private static Object[] row(Long sessionLogId, Long userId, LocalDateTime start, Long exerciseId,
+                                int plannedSets, int plannedReps, double plannedWeight,
+                                int actualSets, int actualReps, double actualWeight) {
+        return new Object[]{userId, start, exerciseId, plannedSets, plannedReps, plannedWeight,
+                actualSets, actualReps, actualWeight, sessionLogId};
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Service.ExerciseCatalogChangedEvent;
+import com.example.fitnessapp.Service.ExerciseCatalogSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den serialisierten Übungskatalog (Schnappschuss + ETag)
+@ExtendWith(MockitoExtension.class)
+class ExerciseCatalogSnapshotTest {
+
+    @Mock// Mock für ExerciseRepository1 (liefert den Katalog)
+    private ExerciseRepository1 exerciseRepository;
+
+    private ExerciseCatalogSnapshot catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ExerciseCatalogSnapshot(exerciseRepository, new ObjectMapper());
+    }
+
+    // Testfall:
+    // Wiederholte Zugriffe → Katalog wird nur einmal geladen, ETag bleibt gleich
+    @Test
+    void get_isLoadedOnceAndReused() {
+        when(exerciseRepository.findAllWithMuscleGroups()).thenReturn(List.of(exercise("Bankdrücken")));
+
+        var first = catalog.get();
+        var second = catalog.get();
+
+        assertSame(first, second);
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"name\":\"Bankdrücken\""));
+        verify(exerciseRepository, times(1)).findAllWithMuscleGroups();
+    }
+
+    // Testfall:
+    // Katalogänderung → Schnappschuss wird neu aufgebaut und erhält einen neuen ETag
+    @Test
+    void onCatalogChanged_rebuildsWithNewEtag() {
+        when(exerciseRepository.findAllWithMuscleGroups())
+                .thenReturn(List.of(exercise("Bankdrücken")))
+                .thenReturn(List.of(exercise("Bankdrücken eng")));
+        String before = catalog.get().etag();
+
+        catalog.onCatalogChanged(new ExerciseCatalogChangedEvent(1L));
+
+        var after = catalog.get();
+        assertNotEquals(before, after.etag());
+        assertTrue(new String(after.json(), StandardCharsets.UTF_8).contains("Bankdrücken eng"));
+        verify(exerciseRepository, times(2)).findAllWithMuscleGroups();
+    }
+
+    private Exercise1 exercise(String name) {
+        return Exercise1.builder().id(1L).name(name).category("Kraft").muscleGroups(Set.of("Brust")).build();
+    }
+}
@@ -7,7 +7,9 @@ import com.example.fitnessapp.Model.TrainingSession1;
 import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
 import com.example.fitnessapp.Repository.ExerciseRepository1;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
 import com.example.fitnessapp.Service.ExerciseExecutionTemplateService;
+import com.example.fitnessapp.Service.ExerciseSimilarityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +39,9 @@ class ExerciseExecutionTemplateServiceUnitTest {
     @Mock// Mock für Übungen
     private ExerciseRepository1 exerciseRepository;
 
+    @Mock// Mock für den Ähnlichkeitsindex (Ersatzübungen)
+    private ExerciseSimilarityIndex similarityIndex;
+
     @InjectMocks// Das zu testende Service-Objekt
     // Mockito injiziert automatisch alle oben definierten Mocks
     private ExerciseExecutionTemplateService service;
@@ -188,6 +193,7 @@ class ExerciseExecutionTemplateServiceUnitTest {
         var resp = service.create(req);
         assertEquals(77L, resp.getId());
         assertEquals(3, resp.getPlannedSets());
+        verify(trainingSessionRepository).adjustExerciseCount(2L, 1);
     }
 
     // Testfall:
@@ -312,8 +318,10 @@ class ExerciseExecutionTemplateServiceUnitTest {
     // Test sagt: service.delete muss templateRepository.deleteById ausführen
     @Test
     void delete_callsRepository() {
+        when(templateRepository.findTrainingSessionIdById(4L)).thenReturn(Optional.of(2L));
         service.delete(4L);
         verify(templateRepository).deleteById(4L);
+        verify(trainingSessionRepository).adjustExerciseCount(2L, -1);
     }
     // Test sagt: jede einzelne ungültige Eingabe (Sets/Reps/Weight/OrderIndex) muss eine Exception auslösen
     @Test
@@ -392,4 +400,60 @@ class ExerciseExecutionTemplateServiceUnitTest {
 
         assertThrows(ResponseStatusException.class, () -> service.create(req));
     }
-}
\ No newline at end of file
+
+    // Testfall:
+    // Vollständige Liste in neuer Reihenfolge → orderIndex 1..n ohne Abfrage pro Template
+    @Test
+    void reorder_happyPath_setsOrderIndexFromList() {
+        ExerciseExecutionTemplate a = ExerciseExecutionTemplate.builder().id(7L).orderIndex(1).trainingSession(session).exercise(exercise).build();
+        ExerciseExecutionTemplate b = ExerciseExecutionTemplate.builder().id(8L).orderIndex(2).trainingSession(session).exercise(exercise).build();
+        when(trainingSessionRepository.existsById(2L)).thenReturn(true);
+        when(templateRepository.findWithExerciseByTrainingSessionId(2L)).thenReturn(List.of(a, b));
+
+        var result = service.reorder(2L, List.of(8L, 7L));
+
+        assertEquals(List.of(8L, 7L), result.stream().map(r -> r.getId()).toList());
+        assertEquals(2, a.getOrderIndex());
+        assertEquals(1, b.getOrderIndex());
+        verify(templateRepository, never()).existsByTrainingSession_IdAndOrderIndex(any(), any());
+    }
+
+    // Testfall:
+    // Unvollständige, doppelte oder fremde IDs → 400
+    @Test
+    void reorder_whenListInvalid_throws() {
+        ExerciseExecutionTemplate a = ExerciseExecutionTemplate.builder().id(7L).orderIndex(1).trainingSession(session).exercise(exercise).build();
+        ExerciseExecutionTemplate b = ExerciseExecutionTemplate.builder().id(8L).orderIndex(2).trainingSession(session).exercise(exercise).build();
+        when(trainingSessionRepository.existsById(2L)).thenReturn(true);
+        when(templateRepository.findWithExerciseByTrainingSessionId(2L)).thenReturn(List.of(a, b));
+
+        assertThrows(ResponseStatusException.class, () -> service.reorder(2L, List.of(7L)));
+        assertThrows(ResponseStatusException.class, () -> service.reorder(2L, List.of(7L, 7L)));
+        assertThrows(ResponseStatusException.class, () -> service.reorder(2L, List.of(7L, 9L)));
+        assertEquals(1, a.getOrderIndex());
+    }
+
+    // Testfall:
+    // Ersatzübungen → Übungen, die bereits in der Session sind, werden ausgeschlossen
+    @Test
+    void getSubstitutes_excludesExercisesAlreadyInSession() {
+        ExerciseExecutionTemplate template = ExerciseExecutionTemplate.builder().id(7L).trainingSession(session).exercise(exercise).build();
+        List<SimilarExerciseResponse> similar = List.of(SimilarExerciseResponse.builder().id(9L).similarity(0.8).build());
+        when(templateRepository.findById(7L)).thenReturn(Optional.of(template));
+        when(templateRepository.findExerciseIdsByTrainingSessionId(2L)).thenReturn(List.of(3L, 4L));
+        when(similarityIndex.findSimilar(3L, 5, java.util.Set.of(3L, 4L))).thenReturn(similar);
+
+        assertEquals(similar, service.getSubstitutes(2L, 7L, 5));
+    }
+
+    // Testfall:
+    // Template gehört zu einer anderen Session → 404
+    @Test
+    void getSubstitutes_whenTemplateInOtherSession_throws() {
+        ExerciseExecutionTemplate template = ExerciseExecutionTemplate.builder().id(7L).trainingSession(session).exercise(exercise).build();
+        when(templateRepository.findById(7L)).thenReturn(Optional.of(template));
+
+        assertThrows(ResponseStatusException.class, () -> service.getSubstitutes(99L, 7L, 5));
+        verifyNoInteractions(similarityIndex);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.ExerciseSearchHit;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Service.ExerciseCatalogChangedEvent;
+import com.example.fitnessapp.Service.ExerciseSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den Trigramm-Suchindex über den Übungskatalog
+@ExtendWith(MockitoExtension.class)
+class ExerciseSearchIndexTest {
+
+    @Mock// Mock für ExerciseRepository1 (liefert die zu indexierenden Übungen)
+    private ExerciseRepository1 exerciseRepository;
+
+    private ExerciseSearchIndex index;
+
+    // Baut den Index mit drei Übungen auf
+    @BeforeEach
+    void setUp() {
+        index = new ExerciseSearchIndex(exerciseRepository);
+        when(exerciseRepository.findAllWithMuscleGroups()).thenReturn(List.of(
+                exercise(1L, "Bankdrücken", Set.of("Brust", "Trizeps"), "Langhantel auf der Flachbank"),
+                exercise(2L, "Kniebeugen", Set.of("Beine"), "Langhantel im Nacken"),
+                exercise(3L, "Schrägbankdrücken", Set.of("Brust"), null)));
+        index.rebuild();
+    }
+
+    // Testfall:
+    // Suchbegriff mit Tippfehler → passende Übung wird trotzdem gefunden und steht vorne
+    @Test
+    void search_withTypo_findsExercise() {
+        var result = index.search("bankdruken", 0, 10);
+
+        assertFalse(result.getItems().isEmpty());
+        assertEquals(1L, result.getItems().get(0).getId());
+    }
+
+    // Testfall:
+    // Suche nach Muskelgruppe und Beschreibung
+    @Test
+    void search_matchesMuscleGroupsAndDescription() {
+        assertEquals(Set.of(1L, 3L), ids(index.search("Brust", 0, 10).getItems()));
+        assertTrue(ids(index.search("langhantel", 0, 10).getItems()).containsAll(Set.of(1L, 2L)));
+    }
+
+    // Testfall:
+    // Paginierung → Gesamtzahl bleibt, Seite enthält höchstens size Einträge
+    @Test
+    void search_paginatesResults() {
+        var first = index.search("bankdrücken", 0, 1);
+        var second = index.search("bankdrücken", 1, 1);
+
+        assertEquals(2, first.getTotal());
+        assertEquals(1, first.getItems().size());
+        assertNotEquals(first.getItems().get(0).getId(), second.getItems().get(0).getId());
+    }
+
+    // Testfall:
+    // Gelöschte Übung → wird nach dem Ereignis nicht mehr gefunden
+    @Test
+    void onCatalogChanged_whenDeleted_removesFromIndex() {
+        when(exerciseRepository.findWithMuscleGroupsById(2L)).thenReturn(Optional.empty());
+
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(2L));
+
+        assertTrue(index.search("Kniebeugen", 0, 10).getItems().isEmpty());
+    }
+
+    // Testfall:
+    // Leere Suche oder ungültige Seitengröße → 400
+    @Test
+    void search_whenInvalid_throws() {
+        assertThrows(ResponseStatusException.class, () -> index.search(" ", 0, 10));
+        assertThrows(ResponseStatusException.class, () -> index.search("bank", 0, 0));
+    }
+
+    private Set<Long> ids(List<ExerciseSearchHit> hits) {
+        return hits.stream().map(ExerciseSearchHit::getId).collect(java.util.stream.Collectors.toSet());
+    }
+
+    private Exercise1 exercise(Long id, String name, Set<String> muscleGroups, String description) {
+        return Exercise1.builder().id(id).name(name).category("Kraft").muscleGroups(muscleGroups).description(description).build();
+    }
+}
@@ -3,16 +3,21 @@ package com.example.fitnessapp.service;
 import com.example.fitnessapp.DTOs.ExerciseRequest;
 import com.example.fitnessapp.Model.Exercise1;
 import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Service.ExerciseCatalogChangedEvent;
 import com.example.fitnessapp.Service.ExerciseService1;
+import com.example.fitnessapp.Service.MuscleGroupDictionary;
+import com.example.fitnessapp.Service.MuscleGroupFilterIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -27,6 +32,15 @@ class ExerciseServiceTest {
     @Mock  // Mock für den Zugriff auf die Exercise-Tabelle
     private ExerciseRepository1 exerciseRepository;
 
+    @Mock // Mock für das Wörterbuch der Muskelgruppen (Bits der Maske)
+    private MuscleGroupDictionary muscleGroupDictionary;
+
+    @Mock // Mock für den Masken-Index (Filter nach Muskelgruppen)
+    private MuscleGroupFilterIndex muscleGroupFilterIndex;
+
+    @Mock // Mock für Katalog-Ereignisse (Schnappschuss wird nach Änderungen neu aufgebaut)
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks// Das zu testende Service-Objekt
     // Mockito injiziert das gemockte Repository automatisch
     private ExerciseService1 exerciseService;
@@ -54,6 +68,8 @@ class ExerciseServiceTest {
         assertNotNull(created);
         assertEquals("Bankdrücken", created.getName());
         verify(exerciseRepository).save(any());
+        verify(eventPublisher).publishEvent(any(ExerciseCatalogChangedEvent.class));
+        verify(muscleGroupDictionary).encode(Set.of("Brust"));
     }
 
     // Testfall:
@@ -178,4 +194,53 @@ class ExerciseServiceTest {
                 () -> exerciseService.createExercise(validRequest));
         assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
     }
-}
\ No newline at end of file
+
+    // Testfall:
+    // Filter mit unbekannter Pflicht-Muskelgruppe → leeres Ergebnis ohne Index- oder DB-Zugriff
+    @Test
+    void filterByMuscleGroups_whenRequiredGroupUnknown_returnsEmpty() {
+        when(muscleGroupDictionary.encodeKnown(anyList(), anyList())).thenAnswer(i -> {
+            List<String> unknown = i.getArgument(1);
+            unknown.add("Flügel");
+            return 0L;
+        });
+
+        assertTrue(exerciseService.filterByMuscleGroups(List.of("Flügel"), List.of(), List.of()).isEmpty());
+        verifyNoInteractions(muscleGroupFilterIndex);
+    }
+
+    // Testfall:
+    // Wörterbuch voll und Name ohne Bit → Filter über die gespeicherten Namen statt über den Index
+    @Test
+    void filterByMuscleGroups_whenGroupHasNoBit_filtersWithoutIndex() {
+        when(muscleGroupDictionary.encodeKnown(anyList(), anyList())).thenAnswer(i -> {
+            List<String> names = i.getArgument(0);
+            List<String> unknown = i.getArgument(1);
+            unknown.addAll(names);
+            return 0L;
+        });
+        when(muscleGroupDictionary.isFull()).thenReturn(true);
+        Exercise1 matching = Exercise1.builder().id(2L).name("Hip Thrust").muscleGroups(Set.of("Gesäß", "Beine")).build();
+        Exercise1 excluded = Exercise1.builder().id(3L).name("Kniebeugen").muscleGroups(Set.of("Gesäß", "Rücken")).build();
+        when(exerciseRepository.findAllWithMuscleGroups()).thenReturn(List.of(excluded, matching));
+
+        var result = exerciseService.filterByMuscleGroups(List.of(" GESÄSS "), List.of(), List.of("rücken"));
+
+        assertEquals(List.of(matching), result);
+        verifyNoInteractions(muscleGroupFilterIndex);
+    }
+
+    // Testfall:
+    // Filter "Brust UND Trizeps" → Masken werden an den Index übergeben, Treffer aus einer Abfrage geladen
+    @Test
+    void filterByMuscleGroups_loadsMatchingExercises() {
+        when(muscleGroupDictionary.encodeKnown(eq(List.of("Brust", "Trizeps")), anyList())).thenReturn(0b11L);
+        when(muscleGroupDictionary.encodeKnown(eq(List.of()), anyList())).thenReturn(0L);
+        when(muscleGroupFilterIndex.filter(0b11L, 0L, 0L)).thenReturn(List.of(1L));
+        when(exerciseRepository.findAllWithMuscleGroupsByIdIn(List.of(1L))).thenReturn(List.of(exercise));
+
+        var result = exerciseService.filterByMuscleGroups(List.of("Brust", "Trizeps"), List.of(), List.of());
+
+        assertEquals(List.of(exercise), result);
+    }
+}
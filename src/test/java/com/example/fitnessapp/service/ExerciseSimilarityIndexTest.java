@@ -0,0 +1,119 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.SimilarExerciseResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Service.ExerciseCatalogChangedEvent;
+import com.example.fitnessapp.Service.ExerciseSimilarityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den Ähnlichkeitsindex (Ersatzübungen)
+@ExtendWith(MockitoExtension.class)
+class ExerciseSimilarityIndexTest {
+
+    private static final long BRUST = 1L;
+    private static final long TRIZEPS = 1L << 1;
+    private static final long SCHULTER = 1L << 2;
+    private static final long BEINE = 1L << 3;
+
+    @Mock// Mock für ExerciseRepository1 (Merkmale und Anzeige-Daten)
+    private ExerciseRepository1 exerciseRepository;
+
+    private ExerciseSimilarityIndex index;
+
+    // Katalog: 1 Bankdrücken, 2 Dips, 3 Schulterdrücken, 4 Kniebeugen
+    @BeforeEach
+    void setUp() {
+        index = new ExerciseSimilarityIndex(exerciseRepository);
+        when(exerciseRepository.findAllSimilarityFeatures()).thenReturn(List.of(
+                new Object[]{1L, BRUST | TRIZEPS | SCHULTER, "Freihantel"},
+                new Object[]{2L, BRUST | TRIZEPS, "Körpergewicht"},
+                new Object[]{3L, SCHULTER | TRIZEPS, "Freihantel"},
+                new Object[]{4L, BEINE, "Freihantel"}));
+        lenient().when(exerciseRepository.findAllWithMuscleGroupsByIdIn(anyCollection())).thenAnswer(i -> {
+            Collection<Long> ids = i.getArgument(0);
+            return ids.stream().map(id -> Exercise1.builder().id(id).name("Übung " + id).build()).toList();
+        });
+    }
+
+    // Testfall:
+    // Ähnlichste Übungen zuerst; Übungen ohne gemeinsame Muskelgruppe nur über die Kategorie
+    @Test
+    void findSimilar_ranksBySharedMuscleGroupsAndCategory() {
+        List<SimilarExerciseResponse> result = index.findSimilar(1L, 3);
+
+        assertEquals(List.of(3L, 2L, 4L), result.stream().map(SimilarExerciseResponse::getId).toList());
+        assertTrue(result.get(0).getSimilarity() > result.get(2).getSimilarity());
+    }
+
+    // Testfall:
+    // Ausgeschlossene IDs (z. B. schon in der Session) und k werden berücksichtigt
+    @Test
+    void findSimilar_respectsExclusionsAndK() {
+        List<SimilarExerciseResponse> result = index.findSimilar(1L, 1, Set.of(3L));
+
+        assertEquals(List.of(2L), result.stream().map(SimilarExerciseResponse::getId).toList());
+    }
+
+    // Testfall:
+    // Katalogänderung → nur die geänderte Übung wird neu geladen
+    @Test
+    void onCatalogChanged_updatesSingleExercise() {
+        index.findSimilar(1L, 3);
+        when(exerciseRepository.findSimilarityFeaturesById(4L)).thenReturn(List.<Object[]>of(
+                new Object[]{4L, BRUST | TRIZEPS | SCHULTER, "Freihantel"}));
+
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(4L));
+
+        assertEquals(4L, index.findSimilar(1L, 1).get(0).getId());
+        verify(exerciseRepository, times(1)).findAllSimilarityFeatures();
+    }
+
+    // Testfall:
+    // Gleiche Ähnlichkeit → die kleinere ID gewinnt, unabhängig von der Reihenfolge im Heap
+    @Test
+    void findSimilar_breaksTiesById() {
+        index.findSimilar(1L, 3);
+        when(exerciseRepository.findSimilarityFeaturesById(3L)).thenReturn(List.<Object[]>of(
+                new Object[]{3L, BRUST | TRIZEPS, "Körpergewicht"})); // Jetzt identisch mit Dips (2)
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(3L));
+
+        assertEquals(List.of(2L), index.findSimilar(1L, 1).stream().map(SimilarExerciseResponse::getId).toList());
+        assertEquals(List.of(2L, 3L, 4L), index.findSimilar(1L, 3).stream().map(SimilarExerciseResponse::getId).toList());
+    }
+
+    // Testfall:
+    // Geänderte Kategorie und Muskelgruppen → Postings der alten Werte finden die Übung nicht mehr
+    @Test
+    void onCatalogChanged_movesExerciseBetweenPostings() {
+        index.findSimilar(1L, 3);
+        when(exerciseRepository.findSimilarityFeaturesById(4L)).thenReturn(List.<Object[]>of(
+                new Object[]{4L, BEINE, "Maschine"}));
+
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(4L));
+
+        // Kniebeugen teilen mit Bankdrücken weder Muskelgruppe noch Kategorie
+        assertEquals(List.of(3L, 2L), index.findSimilar(1L, 3).stream().map(SimilarExerciseResponse::getId).toList());
+    }
+
+    // Testfall:
+    // Unbekannte Übung → 404, ungültiges k → 400
+    @Test
+    void findSimilar_whenInvalid_throws() {
+        assertThrows(ResponseStatusException.class, () -> index.findSimilar(99L, 3));
+        assertThrows(ResponseStatusException.class, () -> index.findSimilar(1L, 0));
+    }
+}
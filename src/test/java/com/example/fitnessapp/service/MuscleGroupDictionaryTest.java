@@ -0,0 +1,79 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Model.MuscleGroup;
+import com.example.fitnessapp.Repository.MuscleGroupRepository;
+import com.example.fitnessapp.Service.MuscleGroupDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für das Wörterbuch der Muskelgruppen (Bitvergabe, Normalisierung, volles Wörterbuch)
+@ExtendWith(MockitoExtension.class)
+class MuscleGroupDictionaryTest {
+
+    @Mock// Mock für die gespeicherten Wörterbuch-Einträge
+    private MuscleGroupRepository muscleGroupRepository;
+
+    @Mock// Mock für den TransactionManager (Einträge werden in eigener Transaktion gespeichert)
+    private PlatformTransactionManager transactionManager;
+
+    private MuscleGroupDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new MuscleGroupDictionary(muscleGroupRepository, transactionManager);
+    }
+
+    // Testfall:
+    // Schreibweisen mit Groß-/Kleinschreibung, Leerraum und ß/ss erhalten dasselbe Bit
+    @Test
+    void encode_normalizesNames() {
+        when(muscleGroupRepository.findAll()).thenReturn(List.of());
+
+        long mask = dictionary.encode(Set.of("Unterer  Rücken"));
+
+        assertEquals(mask, dictionary.encode(Set.of(" unterer rücken ")));
+        assertEquals(dictionary.encode(Set.of("Gesäß")), dictionary.encode(Set.of("GESÄSS")));
+        assertEquals(List.of("Unterer  Rücken", "Gesäß"), dictionary.names());
+    }
+
+    // Testfall:
+    // Alle 64 Bits vergeben → weitere Gruppe bleibt ohne Bit, kein Fehler
+    @Test
+    void encode_whenFull_skipsNameWithoutThrowing() {
+        List<MuscleGroup> groups = new ArrayList<>();
+        for (int bit = 0; bit < MuscleGroup.MAX_GROUPS; bit++) {
+            groups.add(MuscleGroup.builder().bit(bit).name("Gruppe " + bit).normalizedKey("gruppe " + bit).build());
+        }
+        when(muscleGroupRepository.findAll()).thenReturn(groups);
+
+        assertEquals(1L << 3, dictionary.encode(Set.of("Gruppe 3", "Unterarme")));
+        assertTrue(dictionary.isFull());
+        verify(muscleGroupRepository, never()).save(any());
+    }
+
+    // Testfall:
+    // Zwei gespeicherte Einträge mit demselben Schlüssel → das kleinere Bit gilt, das andere wird nicht angezeigt und neu vergeben
+    @Test
+    void load_rekeysStoredEntries() {
+        when(muscleGroupRepository.findAll()).thenReturn(List.of(
+                MuscleGroup.builder().bit(1).name("Gesäss").normalizedKey("gesäss").build(),
+                MuscleGroup.builder().bit(0).name("Gesäß").normalizedKey("gesäß").build()));
+
+        assertEquals(1L, dictionary.encode(Set.of("gesäss")));
+        assertEquals(List.of("Gesäß"), dictionary.names());
+        assertEquals(1L << 1, dictionary.encode(Set.of("Waden"))); // Das unterlegene Bit wird wieder vergeben
+        assertEquals(List.of("Gesäß", "Waden"), dictionary.names());
+        assertFalse(dictionary.isFull());
+    }
+}
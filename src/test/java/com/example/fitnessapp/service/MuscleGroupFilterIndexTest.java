@@ -0,0 +1,86 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Service.ExerciseCatalogChangedEvent;
+import com.example.fitnessapp.Service.MuscleGroupDictionary;
+import com.example.fitnessapp.Service.MuscleGroupFilterIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den Filter nach Muskelgruppen über Bitmasken
+@ExtendWith(MockitoExtension.class)
+class MuscleGroupFilterIndexTest {
+
+    private static final long BRUST = 1L;
+    private static final long TRIZEPS = 1L << 1;
+    private static final long BEINE = 1L << 2;
+
+    @Mock// Mock für ExerciseRepository1 (liefert IDs und Masken)
+    private ExerciseRepository1 exerciseRepository;
+
+    @Mock// Mock für das Wörterbuch (kodiert die Muskelgruppen beim Nachziehen der Masken)
+    private MuscleGroupDictionary dictionary;
+
+    private MuscleGroupFilterIndex index;
+
+    // Index mit drei Übungen: 1 = Brust+Trizeps, 2 = Beine, 3 = Brust
+    @BeforeEach
+    void setUp() {
+        index = new MuscleGroupFilterIndex(exerciseRepository, dictionary);
+        when(exerciseRepository.findAllWithMuscleGroups()).thenReturn(List.of());
+        when(exerciseRepository.findAllMuscleGroupMasks()).thenReturn(List.of(
+                new Object[]{1L, BRUST | TRIZEPS},
+                new Object[]{2L, BEINE},
+                new Object[]{3L, BRUST}));
+        index.rebuild();
+    }
+
+    // Testfall:
+    // UND, ODER und Ausschluss werden bitweise ausgewertet
+    @Test
+    void filter_evaluatesAllAnyAndNone() {
+        assertEquals(List.of(1L), index.filter(BRUST | TRIZEPS, 0, 0));
+        assertEquals(List.of(1L, 2L), index.filter(0, TRIZEPS | BEINE, 0));
+        assertEquals(List.of(3L), index.filter(BRUST, 0, TRIZEPS));
+        assertEquals(List.of(1L, 2L, 3L), index.filter(0, 0, 0));
+    }
+
+    // Testfall:
+    // Änderung, Neuanlage und Löschen → nur der betroffene Eintrag wird ersetzt
+    @Test
+    void onCatalogChanged_updatesInsertsAndRemoves() {
+        when(exerciseRepository.findMuscleGroupMaskById(2L)).thenReturn(Optional.of(BEINE | BRUST));
+        when(exerciseRepository.findMuscleGroupMaskById(4L)).thenReturn(Optional.of(BRUST));
+        when(exerciseRepository.findMuscleGroupMaskById(3L)).thenReturn(Optional.empty());
+
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(2L));
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(4L));
+        index.onCatalogChanged(new ExerciseCatalogChangedEvent(3L));
+
+        assertEquals(List.of(1L, 2L, 4L), index.filter(BRUST, 0, 0));
+    }
+
+    // Testfall:
+    // Beim Start werden abweichende Masken (z. B. aus Initialdaten) korrigiert
+    @Test
+    void rebuild_backfillsOutdatedMasks() {
+        Exercise1 seeded = Exercise1.builder().id(5L).name("Dips").muscleGroups(Set.of("Trizeps")).build();
+        when(exerciseRepository.findAllWithMuscleGroups()).thenReturn(List.of(seeded));
+        when(dictionary.encode(Set.of("Trizeps"))).thenReturn(TRIZEPS);
+
+        index.rebuild();
+
+        verify(exerciseRepository).updateMuscleGroupMask(5L, TRIZEPS);
+    }
+}
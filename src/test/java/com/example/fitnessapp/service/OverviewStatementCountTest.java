@@ -0,0 +1,163 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
+import com.example.fitnessapp.Model.TrainingPlan1;
+import com.example.fitnessapp.Model.TrainingPlanSessionTemplate;
+import com.example.fitnessapp.Model.TrainingSession1;
+import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.TrainingPlanRepository1;
+import com.example.fitnessapp.Repository.TrainingPlanSessionTemplateRepository;
+import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.Service.CounterReconciliationJob;
+import com.example.fitnessapp.Service.TrainingPlanService1;
+import com.example.fitnessapp.Service.TrainingSessionTemplateService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Regressionstest gegen die echte (H2-)Datenbank:
+// Übersichten von Plänen und Session-Vorlagen dürfen nicht eine Abfrage pro Eintrag auslösen
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OverviewStatementCountTest {
+
+    private static final int PLAN_COUNT = 3;
+    private static final int SESSIONS_PER_PLAN = 4;
+
+    @Autowired
+    private TrainingPlanService1 planService;
+
+    @Autowired
+    private TrainingSessionTemplateService sessionTemplateService;
+
+    @Autowired
+    private TrainingPlanRepository1 planRepository;
+
+    @Autowired
+    private TrainingSessionRepository1 sessionRepository;
+
+    @Autowired
+    private TrainingPlanSessionTemplateRepository planTemplateRepository;
+
+    @Autowired
+    private ExerciseExecutionTemplateRepository templateRepository;
+
+    @Autowired
+    private ExerciseRepository1 exerciseRepository;
+
+    @Autowired
+    private CounterReconciliationJob reconciliationJob;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long planId;
+
+    // Legt mehrere Pläne mit je mehreren Sessions (inkl. Übungen und Plan-Verknüpfung) an
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        Exercise1 exercise = exerciseRepository.save(Exercise1.builder()
+                .name("Rudern " + suffix)
+                .category("Freihantel")
+                .muscleGroups(Set.of("Rücken"))
+                .build());
+
+        for (int p = 1; p <= PLAN_COUNT; p++) {
+            TrainingPlan1 plan = planRepository.save(TrainingPlan1.builder()
+                    .name("Plan " + p + " " + suffix)
+                    .description("Beschreibung")
+                    .build());
+            planId = plan.getId();
+            for (int s = 1; s <= SESSIONS_PER_PLAN; s++) {
+                TrainingSession1 session = sessionRepository.save(TrainingSession1.builder()
+                        .name("Session " + p + "-" + s + " " + suffix)
+                        .trainingPlan(plan)
+                        .orderIndex(s)
+                        .build());
+                templateRepository.save(ExerciseExecutionTemplate.builder()
+                        .trainingSession(session)
+                        .exercise(exercise)
+                        .plannedSets(3)
+                        .plannedReps(10)
+                        .plannedWeight(50.0)
+                        .orderIndex(1)
+                        .build());
+                planTemplateRepository.save(TrainingPlanSessionTemplate.builder()
+                        .trainingPlan(plan)
+                        .trainingSession(session)
+                        .position(s)
+                        .build());
+            }
+        }
+        // Die Testdaten werden direkt über die Repositories angelegt; Zähler daher einmal abgleichen
+        reconciliationJob.reconcile();
+        // Second-Level-Cache leeren, damit die Anzahl der Anweisungen für den "kalten" Fall geprüft wird
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Testfall:
+    // Übersicht aller Pläne inkl. Anzahl Sessions → eine Abfrage
+    @Test
+    void getAllTrainingPlans_usesOneStatement() {
+        var plans = planService.getAllTrainingPlans();
+
+        assertTrue(plans.size() >= PLAN_COUNT);
+        assertEquals(SESSIONS_PER_PLAN, plans.stream()
+                .filter(p -> p.getId().equals(planId)).findFirst().orElseThrow().getSessionCount());
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+    // Testfall:
+    // Übersicht aller Session-Vorlagen inkl. Plan und Zählern → eine Abfrage
+    @Test
+    void getAllSessions_usesOneStatement() {
+        var sessions = sessionTemplateService.getAllSessions();
+
+        assertTrue(sessions.size() >= PLAN_COUNT * SESSIONS_PER_PLAN);
+        assertTrue(sessions.stream().filter(s -> planId.equals(s.getPlanId()))
+                .allMatch(s -> s.getExerciseCount() == 1 && s.getExecutionCount() == 0L));
+        assertEquals(1L, statistics.getPrepareStatementCount());
+    }
+
+    // Testfall:
+    // Detail eines Plans inkl. Sessions und Anzahl Übungen → Plan + eine Abfrage für alle Sessions
+    @Test
+    void getTrainingPlanById_usesConstantStatements() {
+        var detail = planService.getTrainingPlanById(planId);
+
+        assertEquals(SESSIONS_PER_PLAN, detail.getSessions().size());
+        assertTrue(detail.getSessions().stream().allMatch(s -> s.getExerciseCount() == 1));
+        assertEquals(2L, statistics.getPrepareStatementCount());
+    }
+
+    // Testfall:
+    // Abweichender Zähler wird vom Abgleich korrigiert
+    @Test
+    void reconcile_repairsDriftedCounters() {
+        Long sessionId = sessionRepository.findAllOverviews().stream()
+                .filter(s -> planId.equals(s.getPlanId())).findFirst().orElseThrow().getId();
+        sessionRepository.adjustExerciseCount(sessionId, 5);
+        planRepository.adjustSessionCount(planId, -2);
+
+        assertEquals(2, reconciliationJob.reconcile());
+        assertEquals(1, sessionRepository.findOverviewById(sessionId).orElseThrow().getExerciseCount());
+        assertEquals(SESSIONS_PER_PLAN, planRepository.findAllOverviews().stream()
+                .filter(p -> p.getId().equals(planId)).findFirst().orElseThrow().getSessionCount());
+        assertEquals(0, reconciliationJob.reconcile());
+    }
+}
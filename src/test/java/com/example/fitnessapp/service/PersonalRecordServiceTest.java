@@ -0,0 +1,183 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.PersonalRecordAchievement;
+import com.example.fitnessapp.DTOs.PersonalRecordResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.PersonalRecord;
+import com.example.fitnessapp.Model.PersonalRecordType;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.PersonalRecordRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.PersonalRecordService;
+import com.example.fitnessapp.Service.PersonalRecordsChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für die persönlichen Bestleistungen (höchstes Gewicht, geschätztes 1RM, Volumen)
+@ExtendWith(MockitoExtension.class)
+class PersonalRecordServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 15, 18, 0);
+
+    @Mock// Mock für die gespeicherten Bestleistungen
+    private PersonalRecordRepository recordRepository;
+
+    @Mock// Mock für die abgeschlossenen Übungen einer Session
+    private ExecutionLogRepository executionLogRepository;
+
+    @Mock// Mock für ExerciseRepository1 (Namen der Übungen)
+    private ExerciseRepository1 exerciseRepository;
+
+    @Mock// Mock für Ereignisse (Verwerfen des Caches nach dem Commit)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock// Mock für den TransactionManager (Vergleich in eigener Transaktion nach dem Abschluss)
+    private PlatformTransactionManager transactionManager;
+
+    private PersonalRecordService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PersonalRecordService(recordRepository, executionLogRepository, exerciseRepository,
+                eventPublisher, transactionManager, 100, 600);
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "max", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Epley und Brzycki liefern bei einer Wiederholung das Gewicht, Brzycki ist ab 37 Wiederholungen nicht definiert
+    @Test
+    void oneRepMaxFormulas() {
+        assertEquals(100.0, PersonalRecordService.epley(100.0, 1));
+        assertEquals(100.0 * (1 + 10 / 30.0), PersonalRecordService.epley(100.0, 10), 1e-9);
+        assertEquals(100.0 * 36.0 / 27.0, PersonalRecordService.brzycki(100.0, 10), 1e-9);
+        assertNull(PersonalRecordService.brzycki(20.0, 37));
+    }
+
+    // Testfall:
+    // Schwereres Gewicht → Rekorde werden überschrieben und gemeldet, der Cache wird verworfen
+    @Test
+    void applyCompletedSession_whenBeaten_updatesAndReportsRecords() {
+        PersonalRecord existing = PersonalRecord.builder().id(5L).userId(USER_ID).exerciseId(100L)
+                .maxWeight(80.0).maxWeightReps(5)
+                .estimatedOneRepMax(PersonalRecordService.epley(80.0, 5)).oneRepMaxWeight(80.0).oneRepMaxReps(5)
+                .maxVolume(3 * 5 * 80.0 + 1000) // Volumen-Rekord bleibt bestehen
+                .build();
+        when(executionLogRepository.findCompletedSetsBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, "Bankdrücken", 3, 5, 85.0}));
+        when(recordRepository.findByUserIdAndExerciseIdIn(USER_ID, Set.of(100L))).thenReturn(List.of(existing));
+
+        List<PersonalRecordAchievement> achievements = service.applyCompletedSession(7L, USER_ID, NOW);
+
+        assertEquals(List.of(PersonalRecordType.MAX_WEIGHT, PersonalRecordType.ESTIMATED_ONE_REP_MAX),
+                achievements.stream().map(PersonalRecordAchievement::getType).toList());
+        assertEquals(80.0, achievements.get(0).getPreviousValue());
+        assertEquals(85.0, achievements.get(0).getValue());
+        assertEquals(85.0, existing.getMaxWeight());
+        assertEquals(NOW, existing.getOneRepMaxAchievedAt());
+        verify(recordRepository).saveAll(anyIterable());
+        verify(eventPublisher).publishEvent(new PersonalRecordsChangedEvent(USER_ID));
+    }
+
+    // Testfall:
+    // Erste Ausführung einer Übung → Eintrag wird angelegt, aber nicht als Rekord gemeldet
+    @Test
+    void applyCompletedSession_firstExecution_createsRecordWithoutNotification() {
+        when(executionLogRepository.findCompletedSetsBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, "Bankdrücken", 3, 5, 85.0}));
+        when(recordRepository.findByUserIdAndExerciseIdIn(USER_ID, Set.of(100L))).thenReturn(List.of());
+
+        assertTrue(service.applyCompletedSession(7L, USER_ID, NOW).isEmpty());
+        verify(recordRepository).saveAll(anyIterable());
+    }
+
+    // Testfall:
+    // Paralleler Abschluss legt den ersten Eintrag zuerst an → neuer Versuch in neuer Transaktion vergleicht mit diesem
+    @Test
+    void applyCompletedSession_whenFirstRecordCreatedConcurrently_retriesAgainstIt() {
+        PersonalRecord concurrent = PersonalRecord.builder().id(5L).userId(USER_ID).exerciseId(100L)
+                .maxWeight(80.0).maxWeightReps(5)
+                .estimatedOneRepMax(PersonalRecordService.epley(80.0, 5)).oneRepMaxWeight(80.0).oneRepMaxReps(5)
+                .maxVolume(3 * 5 * 80.0).build();
+        when(executionLogRepository.findCompletedSetsBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, "Bankdrücken", 3, 5, 85.0}));
+        when(recordRepository.findByUserIdAndExerciseIdIn(USER_ID, Set.of(100L)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(concurrent));
+        when(recordRepository.saveAll(anyIterable()))
+                .thenThrow(new DataIntegrityViolationException("uk_personal_record_user_exercise"))
+                .thenReturn(List.of());
+
+        List<PersonalRecordAchievement> achievements = service.applyCompletedSession(7L, USER_ID, NOW);
+
+        assertEquals(3, achievements.size());
+        assertEquals(85.0, concurrent.getMaxWeight());
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    // Testfall:
+    // Keine Verbesserung → nichts wird geschrieben, kein Ereignis
+    @Test
+    void applyCompletedSession_withoutImprovement_writesNothing() {
+        PersonalRecord existing = PersonalRecord.builder().id(5L).userId(USER_ID).exerciseId(100L)
+                .maxWeight(100.0).maxWeightReps(5)
+                .estimatedOneRepMax(200.0).oneRepMaxWeight(100.0).oneRepMaxReps(5)
+                .maxVolume(5000.0).build();
+        when(executionLogRepository.findCompletedSetsBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, "Bankdrücken", 3, 5, 85.0}));
+        when(recordRepository.findByUserIdAndExerciseIdIn(USER_ID, Set.of(100L))).thenReturn(List.of(existing));
+
+        assertTrue(service.applyCompletedSession(7L, USER_ID, NOW).isEmpty());
+        verify(recordRepository, never()).saveAll(anyIterable());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // Testfall:
+    // Lesen → zweiter Aufruf aus dem Cache, nach einer Änderung wird neu geladen
+    @Test
+    void getRecords_isCachedUntilRecordsChange() {
+        PersonalRecord record = PersonalRecord.builder().id(5L).userId(USER_ID).exerciseId(100L)
+                .maxWeight(100.0).maxWeightReps(3)
+                .estimatedOneRepMax(110.0).oneRepMaxWeight(100.0).oneRepMaxReps(3).build();
+        when(recordRepository.findByUserId(USER_ID)).thenReturn(List.of(record));
+        when(exerciseRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(Exercise1.builder().id(100L).name("Kniebeugen").build()));
+
+        List<PersonalRecordResponse> first = service.getRecords();
+        service.getRecords();
+
+        assertEquals("Kniebeugen", first.get(0).getExerciseName());
+        assertEquals(100.0 * 36.0 / 34.0, first.get(0).getBrzyckiOneRepMax(), 1e-9);
+        verify(recordRepository, times(1)).findByUserId(USER_ID);
+
+        service.onRecordsChanged(new PersonalRecordsChangedEvent(USER_ID));
+        service.getRecords();
+        verify(recordRepository, times(2)).findByUserId(USER_ID);
+    }
+}
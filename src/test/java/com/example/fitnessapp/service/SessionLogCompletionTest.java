@@ -0,0 +1,209 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.SessionLogCreateRequest;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
+import com.example.fitnessapp.Model.TrainingSession1;
+import com.example.fitnessapp.Model.User;
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Model.VolumeRollup;
+import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.PersonalRecordRepository;
+import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Repository.VolumeRollupRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.SessionLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Test gegen die echte (H2-)Datenbank: Abschluss einer Session sperrt das SessionLog,
+// die Volumen-Auswertung wird nach dem Commit genau einmal fortgeschrieben
+@SpringBootTest
+class SessionLogCompletionTest {
+
+    @Autowired
+    private SessionLogService sessionLogService;
+
+    @Autowired
+    private TrainingSessionRepository1 trainingSessionRepository;
+
+    @Autowired
+    private ExerciseExecutionTemplateRepository templateRepository;
+
+    @Autowired
+    private ExerciseRepository1 exerciseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VolumeRollupRepository rollupRepository;
+
+    @Autowired
+    private PersonalRecordRepository recordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UsernamePasswordAuthenticationToken authentication;
+    private Long userId;
+    private Exercise1 exercise;
+    private Long sessionTemplateId;
+
+    // Legt eine Übung und eine Trainingssession mit 2 × (3 × 10 × 80 kg) an und meldet "max" an
+    @BeforeEach
+    void setUp() {
+        exercise = exerciseRepository.save(Exercise1.builder()
+                .name("Kreuzheben " + UUID.randomUUID())
+                .category("Freihantel")
+                .muscleGroups(Set.of("Rücken"))
+                .build());
+        TrainingSession1 session = trainingSessionRepository.save(TrainingSession1.builder()
+                .name("Zugtag " + UUID.randomUUID())
+                .orderIndex(1)
+                .build());
+        for (int i = 1; i <= 2; i++) {
+            templateRepository.save(ExerciseExecutionTemplate.builder()
+                    .trainingSession(session)
+                    .exercise(exercise)
+                    .plannedSets(3)
+                    .plannedReps(10)
+                    .plannedWeight(80.0)
+                    .orderIndex(i)
+                    .build());
+        }
+        sessionTemplateId = session.getId();
+
+        User max = userRepository.findByUsername("max").orElseThrow();
+        userId = max.getId();
+        AuthenticatedUser principal = new AuthenticatedUser(max.getId(), max.getUsername(), null);
+        authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Abschluss → Volumen steht nach dem Commit in der Auswertung; zweiter Abschluss → 400, Volumen unverändert
+    @Test
+    void complete_updatesRollupOnceAfterCommit() {
+        Long logId = startWithCompletedExercises();
+
+        sessionLogService.complete(logId);
+
+        assertEquals(4800.0, dayVolume());
+        assertThrows(ResponseStatusException.class, () -> sessionLogService.complete(logId));
+        assertEquals(4800.0, dayVolume());
+    }
+
+    // Testfall:
+    // Zwei gleichzeitige Abschlüsse derselben Session → genau einer gelingt, das Volumen zählt einmal
+    @Test
+    void complete_concurrently_completesOnce() throws Exception {
+        Long logId = startWithCompletedExercises();
+        CountDownLatch ready = new CountDownLatch(2);
+
+        List<CompletableFuture<Boolean>> attempts = List.of(completeAsync(logId, ready), completeAsync(logId, ready));
+
+        long succeeded = 0;
+        for (CompletableFuture<Boolean> attempt : attempts) {
+            if (attempt.get(10, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        assertEquals(1, succeeded);
+        assertEquals(4800.0, dayVolume());
+    }
+
+    // Testfall:
+    // Zwei Sessions mit einer neuen Übung gleichzeitig abgeschlossen → beide gelingen, genau ein Bestleistungs-Eintrag
+    @Test
+    void complete_twoSessionsConcurrently_createsFirstRecordOnce() throws Exception {
+        Long firstId = startWithCompletedExercises();
+        Long secondId = startWithCompletedExercises();
+        CountDownLatch ready = new CountDownLatch(2);
+
+        List<CompletableFuture<Boolean>> attempts = List.of(completeAsync(firstId, ready), completeAsync(secondId, ready));
+
+        for (CompletableFuture<Boolean> attempt : attempts) {
+            assertTrue(attempt.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, recordRepository.findByUserIdAndExerciseIdIn(userId, Set.of(exercise.getId())).size());
+    }
+
+    // Testfall:
+    // Abschluss → Vergleich der Bestleistungen läuft nach dem Commit, die Antwort enthält trotzdem das Ergebnis
+    @Test
+    void complete_reportsNewRecordsAfterCommit() {
+        sessionLogService.complete(startWithCompletedExercises());
+        Long logId = startWithCompletedExercises();
+        jdbcTemplate.update("UPDATE execution_log SET actual_weight = 90.0 WHERE session_log_id = ?", logId);
+
+        var summary = sessionLogService.complete(logId);
+
+        assertNotNull(summary.getNewRecords());
+        assertFalse(summary.getNewRecords().isEmpty());
+    }
+
+    // Startet eine Session aus der Vorlage und markiert alle Übungen als erledigt
+    private Long startWithCompletedExercises() {
+        SessionLogCreateRequest request = new SessionLogCreateRequest();
+        request.setSessionTemplateId(sessionTemplateId);
+        Long logId = sessionLogService.start(request).getId();
+        jdbcTemplate.update("UPDATE execution_log SET completed = TRUE WHERE session_log_id = ?", logId);
+        return logId;
+    }
+
+    private CompletableFuture<Boolean> completeAsync(Long logId, CountDownLatch ready) {
+        return CompletableFuture.supplyAsync(() -> {
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            try {
+                ready.countDown();
+                ready.await(5, TimeUnit.SECONDS);
+                sessionLogService.complete(logId);
+                return true;
+            } catch (ResponseStatusException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+
+    // Tagesvolumen der Übung (die Übung wird je Test neu angelegt)
+    private double dayVolume() {
+        LocalDate today = LocalDate.now();
+        List<VolumeRollup> rows = rollupRepository.findSeries(userId, VolumeGranularity.DAY, VolumeDimension.EXERCISE,
+                today, today);
+        return rows.stream()
+                .filter(row -> row.getDimensionId().equals(exercise.getId()))
+                .mapToDouble(VolumeRollup::getVolume)
+                .sum();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.SessionLogExportRow;
+import com.example.fitnessapp.Model.LogStatus;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Service.SessionLogExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den Export der Trainingshistorie (NDJSON/CSV)
+@ExtendWith(MockitoExtension.class)
+class SessionLogExportServiceTest {
+
+    @Mock// Mock für SessionLogRepository (liefert die Export-Zeilen als Stream)
+    private SessionLogRepository sessionLogRepository;
+
+    private SessionLogExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SessionLogExportService(sessionLogRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    // Testfall:
+    // NDJSON → eine JSON-Zeile pro Übungsausführung
+    @Test
+    void export_ndjson_writesOneLinePerRow() throws Exception {
+        when(sessionLogRepository.streamExportRows(1L)).thenReturn(Stream.of(row(11L, "Sauber"), row(12L, null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.export(1L, SessionLogExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"executionLogId\":11"));
+        assertTrue(lines[1].contains("\"executionLogId\":12"));
+    }
+
+    // Testfall:
+    // CSV → Kopfzeile und korrekt maskierte Felder (Komma, Anführungszeichen)
+    @Test
+    void export_csv_writesHeaderAndEscapesValues() throws Exception {
+        when(sessionLogRepository.streamExportRows(1L)).thenReturn(Stream.of(row(11L, "Gut, aber \"schwer\"")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = service.export(1L, SessionLogExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(1, count);
+        assertTrue(lines[0].startsWith("sessionLogId,sessionName,startTime"));
+        assertTrue(lines[1].endsWith(",\"Gut, aber \"\"schwer\"\"\""));
+    }
+
+    // Testfall:
+    // Unbekanntes Format → 400
+    @Test
+    void parseFormat_whenUnknown_shouldThrow() {
+        assertEquals(SessionLogExportService.Format.CSV, SessionLogExportService.parseFormat("csv"));
+        assertThrows(ResponseStatusException.class, () -> SessionLogExportService.parseFormat("xml"));
+    }
+
+    private SessionLogExportRow row(Long executionLogId, String executionNotes) {
+        return new SessionLogExportRow(5L, "Push Day", LocalDateTime.of(2024, 5, 1, 18, 0),
+                LocalDateTime.of(2024, 5, 1, 19, 0), LogStatus.COMPLETED, null,
+                executionLogId, "Bankdrücken", 1, 3, 10, 60.0, 3, 10, 62.5, true, executionNotes);
+    }
+}
@@ -1,21 +1,37 @@
 package com.example.fitnessapp.service;
 
 import com.example.fitnessapp.DTOs.ExecutionLogUpdateRequest;
+import com.example.fitnessapp.DTOs.PersonalRecordAchievement;
 import com.example.fitnessapp.DTOs.SessionLogCreateRequest;
+import com.example.fitnessapp.DTOs.SessionLogSummaryResponse;
+import com.example.fitnessapp.DTOs.SetLogRequest;
 import com.example.fitnessapp.Model.*;
 import com.example.fitnessapp.Repository.ExecutionLogRepository;
 import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
 import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.SetLogRepository;
 import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.PersonalRecordService;
+import com.example.fitnessapp.Service.SessionLogCompletedEvent;
 import com.example.fitnessapp.Service.SessionLogService;
+import com.example.fitnessapp.Service.SetLogIngestionBuffer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -40,17 +56,44 @@ class SessionLogServiceUnitTest {
     @Mock// Mock für Trainingssession-Vorlagen
     private TrainingSessionRepository1 trainingSessionRepository;
 
+    @Mock// Mock für Benutzer (nur Referenzen, der Principal trägt bereits die User-ID)
+    private UserRepository userRepository;
+
+    @Mock// Mock für gespeicherte Satz-Ereignisse
+    private SetLogRepository setLogRepository;
+
+    @Mock// Mock für den Ingestion-Puffer der Satz-Ereignisse
+    private SetLogIngestionBuffer setLogBuffer;
+
+    @Mock// Mock für Ereignisse (z. B. Fortschreiben der Volumen-Auswertung beim Abschluss)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock// Mock für die persönlichen Bestleistungen
+    private PersonalRecordService personalRecordService;
+
     @InjectMocks// Das zu testende Service-Objekt
     // Mockito injiziert alle oben definierten Mocks automatisch
     private SessionLogService service;
 
+    private static final Long USER_ID = 1L;
+
     private TrainingSession1 templateSession;
+    private User owner;
 
     // Wird vor jedem Test ausgeführt
-    // Erstellt eine gültige Trainingssession-Vorlage für mehrere Tests
+    // Erstellt eine gültige Trainingssession-Vorlage und meldet den Benutzer im SecurityContext an
     @BeforeEach
     void setUp() {
         templateSession = TrainingSession1.builder().id(10L).name("Temp").build();
+        owner = User.builder().id(USER_ID).username("max").build();
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "max", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     // Testfall:
@@ -59,7 +102,7 @@ class SessionLogServiceUnitTest {
     @Test
     void start_whenNoTemplates_shouldThrow() {
         when(trainingSessionRepository.findById(10L)).thenReturn(Optional.of(templateSession));
-        when(templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(10L))
+        when(templateRepository.findWithExerciseByTrainingSessionId(10L))
                 .thenReturn(List.of());
         SessionLogCreateRequest req = new SessionLogCreateRequest();
         req.setSessionTemplateId(10L);
@@ -78,12 +121,13 @@ class SessionLogServiceUnitTest {
     void start_happyPath_createsLogs() {
         ExerciseExecutionTemplate t = ExerciseExecutionTemplate.builder()
                 .id(5L)
+                .exercise(Exercise1.builder().id(3L).name("Bankdrücken").build())
                 .plannedSets(3)
                 .plannedReps(10)
                 .plannedWeight(0.0)
                 .build();
         when(trainingSessionRepository.findById(10L)).thenReturn(Optional.of(templateSession));
-        when(templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(10L))
+        when(templateRepository.findWithExerciseByTrainingSessionId(10L))
                 .thenReturn(List.of(t));
         // Simuliert das Speichern des SessionLogs inkl. ID-Generierung
         when(sessionLogRepository.save(any(SessionLog.class))).thenAnswer(i -> {
@@ -91,23 +135,23 @@ class SessionLogServiceUnitTest {
             s.setId(99L);
             return s;
         });
-        // Service lädt das gespeicherte Log erneut
-        when(sessionLogRepository.findById(99L)).thenReturn(
-                Optional.of(SessionLog.builder()
-                        .id(99L)
-                        .templateSession(templateSession)
-                        .startTime(java.time.LocalDateTime.now())
-                        .status(LogStatus.IN_PROGRESS)
-                        .build())
-        );
+        when(executionLogRepository.insertFromTemplates(99L, 10L)).thenReturn(1);
+        // Nur die erzeugten IDs werden nachgeladen
+        when(executionLogRepository.findIdAndTemplateIdBySessionLogId(99L))
+                .thenReturn(List.<Object[]>of(new Object[]{500L, 5L}));
         SessionLogCreateRequest req = new SessionLogCreateRequest();
         req.setSessionTemplateId(10L);
         var detail = service.start(req);
-        // Überprüfung der Rückgabe
+        // Überprüfung der Rückgabe (aus den bereits geladenen Vorlagen gebaut)
         assertNotNull(detail);
         assertEquals(99L, detail.getId());
-        // Sicherstellen dass ExecutionLogs erstellt wurden
-        verify(executionLogRepository, times(1)).save(any());
+        assertEquals(1, detail.getExecutions().size());
+        assertEquals(500L, detail.getExecutions().get(0).getId());
+        assertEquals("Bankdrücken", detail.getExecutions().get(0).getExerciseName());
+        assertEquals(3, detail.getExecutions().get(0).getActualSets());
+        // ExecutionLogs werden mengenbasiert angelegt, das SessionLog wird nicht erneut geladen
+        verify(executionLogRepository, never()).save(any());
+        verify(sessionLogRepository, never()).findById(any());
     }
 
     // Testfall:
@@ -121,10 +165,10 @@ class SessionLogServiceUnitTest {
                 .actualReps(10)
                 .actualWeight(0.0)
                 .completed(false)
-                .sessionLog(SessionLog.builder().id(1L).status(LogStatus.IN_PROGRESS).build())
+                .sessionLog(SessionLog.builder().id(1L).user(owner).status(LogStatus.IN_PROGRESS).build())
                 .exerciseTemplate(ExerciseExecutionTemplate.builder().id(5L).build())
                 .build();
-        when(executionLogRepository.findById(7L)).thenReturn(Optional.of(exec));
+        when(executionLogRepository.findWithSessionLogById(7L)).thenReturn(Optional.of(exec));
 
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
         req.setExecutionLogId(7L);
@@ -144,10 +188,10 @@ class SessionLogServiceUnitTest {
     void updateExecution_whenNotInProgress_shouldThrow() {
         ExecutionLog exec = ExecutionLog.builder()
                 .id(7L)
-                .sessionLog(SessionLog.builder().id(1L).status(LogStatus.COMPLETED).build())
+                .sessionLog(SessionLog.builder().id(1L).user(owner).status(LogStatus.COMPLETED).build())
                 .exerciseTemplate(ExerciseExecutionTemplate.builder().id(5L).build())
                 .build();
-        when(executionLogRepository.findById(7L)).thenReturn(Optional.of(exec));
+        when(executionLogRepository.findWithSessionLogById(7L)).thenReturn(Optional.of(exec));
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
         req.setExecutionLogId(7L);
         req.setActualSets(3);
@@ -166,7 +210,7 @@ class SessionLogServiceUnitTest {
     void updateExecution_whenValid_updatesAndReturns() {
         ExecutionLog exec = ExecutionLog.builder()
                 .id(7L)
-                .sessionLog(SessionLog.builder().id(1L).status(LogStatus.IN_PROGRESS).build())
+                .sessionLog(SessionLog.builder().id(1L).user(owner).status(LogStatus.IN_PROGRESS).build())
                 .exerciseTemplate(ExerciseExecutionTemplate.builder()
                         .plannedSets(3)
                         .plannedReps(10)
@@ -175,7 +219,7 @@ class SessionLogServiceUnitTest {
                         .build())
                 .completed(false)
                 .build();
-        when(executionLogRepository.findById(7L)).thenReturn(Optional.of(exec));
+        when(executionLogRepository.findWithSessionLogById(7L)).thenReturn(Optional.of(exec));
         when(executionLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
@@ -198,7 +242,7 @@ class SessionLogServiceUnitTest {
     // ExecutionLog mit der ID existiert nicht → 404 Fehler
     @Test
     void updateExecution_whenNotFound_shouldThrow() {
-        when(executionLogRepository.findById(123L)).thenReturn(Optional.empty());
+        when(executionLogRepository.findWithSessionLogById(123L)).thenReturn(Optional.empty());
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
         req.setExecutionLogId(123L);
         req.setActualSets(1);
@@ -218,12 +262,12 @@ class SessionLogServiceUnitTest {
         ExecutionLog exec = ExecutionLog.builder()
                 .id(8L)
                 .completed(false)
-                .sessionLog(SessionLog.builder().status(LogStatus.IN_PROGRESS).build())
+                .sessionLog(SessionLog.builder().user(owner).status(LogStatus.IN_PROGRESS).build())
                 .exerciseTemplate(ExerciseExecutionTemplate.builder()
                         .exercise(Exercise1.builder().id(2L).build())
                         .build())
                 .build();
-        when(executionLogRepository.findById(8L)).thenReturn(Optional.of(exec));
+        when(executionLogRepository.findWithSessionLogById(8L)).thenReturn(Optional.of(exec));
         when(executionLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
         req.setExecutionLogId(8L);
@@ -239,7 +283,7 @@ class SessionLogServiceUnitTest {
     // Eine Session die nicht IN_PROGRESS ist, darf nicht abgeschlossen werden
     @Test
     void complete_whenNotInProgress_shouldThrow() {
-        when(sessionLogRepository.findById(5L))
+        when(sessionLogRepository.findForUpdateByIdAndUserId(5L, USER_ID))
                 .thenReturn(Optional.of(SessionLog.builder()
                         .id(5L)
                         .status(LogStatus.COMPLETED)
@@ -250,6 +294,7 @@ class SessionLogServiceUnitTest {
                 () -> service.complete(5L)
         );
         assertTrue(ex.getMessage().contains("IN_PROGRESS"));
+        verifyNoInteractions(eventPublisher);
     }
 
     // Testfall (Happy Path):
@@ -262,18 +307,24 @@ class SessionLogServiceUnitTest {
                 .templateSession(templateSession)
                 .startTime(java.time.LocalDateTime.now())
                 .build();
-        when(sessionLogRepository.findById(6L)).thenReturn(Optional.of(log));
+        when(sessionLogRepository.findForUpdateByIdAndUserId(6L, USER_ID)).thenReturn(Optional.of(log));
         when(sessionLogRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        PersonalRecordAchievement record = PersonalRecordAchievement.builder()
+                .exerciseId(100L).type(PersonalRecordType.MAX_WEIGHT).previousValue(80.0).value(82.5).build();
+        when(personalRecordService.applyCompletedSession(6L, USER_ID, log.getStartTime())).thenReturn(List.of(record));
         var summary = service.complete(6L);
         assertEquals(6L, summary.getId());
         assertEquals(LogStatus.COMPLETED, summary.getStatus());
+        verify(setLogBuffer).flushSession(6L);
+        verify(eventPublisher).publishEvent(new SessionLogCompletedEvent(6L, USER_ID, log.getStartTime()));
+        assertEquals(List.of(record), summary.getNewRecords());
     }
 
     // Testfall:
     // Nur IN_PROGRESS Sessions dürfen abgebrochen werden
     @Test
     void abort_whenNotInProgress_shouldThrow() {
-        when(sessionLogRepository.findById(8L))
+        when(sessionLogRepository.findForUpdateByIdAndUserId(8L, USER_ID))
                 .thenReturn(Optional.of(SessionLog.builder()
                         .id(8L)
                         .status(LogStatus.COMPLETED)
@@ -294,10 +345,14 @@ class SessionLogServiceUnitTest {
         SessionLog log = SessionLog.builder()
                 .id(9L)
                 .status(LogStatus.IN_PROGRESS)
+                .templateSession(TrainingSession1.builder().id(20L).build())
                 .build();
-        when(sessionLogRepository.findById(9L)).thenReturn(Optional.of(log));
+        when(sessionLogRepository.findForUpdateByIdAndUserId(9L, USER_ID)).thenReturn(Optional.of(log));
         service.abort(9L);
+        verify(setLogBuffer).discard(9L);
+        verify(setLogRepository).deleteBySessionLogId(9L);
         verify(sessionLogRepository).delete(log);
+        verify(trainingSessionRepository).adjustExecutionCount(20L, -1L);
     }
 
     // Testfall:
@@ -331,7 +386,7 @@ class SessionLogServiceUnitTest {
                 .exerciseLogs(Set.of(exec))
                 .build();
 
-        when(sessionLogRepository.findById(21L)).thenReturn(Optional.of(log));
+        when(sessionLogRepository.findWithExecutionsByIdAndUserId(21L, USER_ID)).thenReturn(Optional.of(log));
 
         var detail = service.getDetail(21L);
 
@@ -344,15 +399,45 @@ class SessionLogServiceUnitTest {
         assertEquals(2, e.getActualSets());
     }
 
+    // Testfall:
+    // Ausführungen werden unabhängig von der Set-Reihenfolge nach orderIndex sortiert
+    @Test
+    void getDetail_sortsExecutionsByOrderIndex() {
+        Set<ExecutionLog> executions = new HashSet<>();
+        for (int orderIndex : new int[]{3, 1, 2}) {
+            executions.add(ExecutionLog.builder()
+                    .id(100L + orderIndex)
+                    .actualSets(1).actualReps(1).actualWeight(1.0).completed(false)
+                    .exerciseTemplate(ExerciseExecutionTemplate.builder()
+                            .id((long) orderIndex)
+                            .orderIndex(orderIndex)
+                            .exercise(Exercise1.builder().name("Ex" + orderIndex).build())
+                            .build())
+                    .build());
+        }
+        SessionLog log = SessionLog.builder()
+                .id(22L)
+                .templateSession(templateSession)
+                .status(LogStatus.IN_PROGRESS)
+                .exerciseLogs(executions)
+                .build();
+        when(sessionLogRepository.findWithExecutionsByIdAndUserId(22L, USER_ID)).thenReturn(Optional.of(log));
+
+        var detail = service.getDetail(22L);
+
+        assertEquals(List.of("Ex1", "Ex2", "Ex3"),
+                detail.getExecutions().stream().map(e -> e.getExerciseName()).toList());
+    }
+
     // Testfall:
     // Deckt ALLE Validierungs-Branches in updateExecution ab
     @Test
     void updateExecution_shouldCoverAllInvalidValueBranches() {
         ExecutionLog exec = ExecutionLog.builder()
                 .id(1L)
-                .sessionLog(SessionLog.builder().status(LogStatus.IN_PROGRESS).build())
+                .sessionLog(SessionLog.builder().user(owner).status(LogStatus.IN_PROGRESS).build())
                 .build();
-        when(executionLogRepository.findById(1L)).thenReturn(Optional.of(exec));
+        when(executionLogRepository.findWithSessionLogById(1L)).thenReturn(Optional.of(exec));
         ExecutionLogUpdateRequest req = new ExecutionLogUpdateRequest();
         req.setExecutionLogId(1L);
         // Fall 1: actualSets == null
@@ -367,4 +452,168 @@ class SessionLogServiceUnitTest {
         req.setActualWeight(null);
         assertThrows(ResponseStatusException.class, () -> service.updateExecution(req));
     }
+
+    // Testfall (Happy Path):
+    // Batch-Update mehrerer ExecutionLogs → alle Werte werden im Speicher übernommen, keine Einzelabfragen
+    @Test
+    void updateExecutions_updatesAllExecutionsOfLog() {
+        ExerciseExecutionTemplate t1 = ExerciseExecutionTemplate.builder().id(5L)
+                .exercise(Exercise1.builder().id(2L).name("A").build()).build();
+        ExerciseExecutionTemplate t2 = ExerciseExecutionTemplate.builder().id(6L)
+                .exercise(Exercise1.builder().id(3L).name("B").build()).build();
+        ExecutionLog e1 = ExecutionLog.builder().id(70L).exerciseTemplate(t1).completed(false).build();
+        ExecutionLog e2 = ExecutionLog.builder().id(71L).exerciseTemplate(t2).completed(false).build();
+        SessionLog log = SessionLog.builder()
+                .id(30L)
+                .user(owner)
+                .templateSession(templateSession)
+                .status(LogStatus.IN_PROGRESS)
+                .exerciseLogs(new HashSet<>(Set.of(e1, e2)))
+                .build();
+        when(sessionLogRepository.findWithExecutionsByIdAndUserId(30L, USER_ID)).thenReturn(Optional.of(log));
+
+        ExecutionLogUpdateRequest r1 = new ExecutionLogUpdateRequest();
+        r1.setExecutionLogId(70L);
+        r1.setActualSets(4);
+        r1.setActualReps(8);
+        r1.setActualWeight(50.0);
+        r1.setCompleted(true);
+        ExecutionLogUpdateRequest r2 = new ExecutionLogUpdateRequest();
+        r2.setExerciseTemplateId(6L); // Auflösung über das Template
+        r2.setActualSets(3);
+        r2.setActualReps(12);
+        r2.setActualWeight(20.0);
+
+        var result = service.updateExecutions(30L, List.of(r1, r2));
+
+        assertEquals(2, result.size());
+        assertEquals(50.0, e1.getActualWeight());
+        assertTrue(e1.getCompleted());
+        assertEquals(12, e2.getActualReps());
+        verify(executionLogRepository, never()).saveAll(any());
+        verify(executionLogRepository, never()).findWithSessionLogById(any());
+    }
+
+    // Testfall:
+    // Ein ungültiger Eintrag im Batch → nichts wird übernommen
+    @Test
+    void updateExecutions_whenOneInvalid_changesNothing() {
+        ExecutionLog e1 = ExecutionLog.builder().id(70L)
+                .exerciseTemplate(ExerciseExecutionTemplate.builder().id(5L).build())
+                .actualSets(3).completed(false).build();
+        SessionLog log = SessionLog.builder()
+                .id(30L)
+                .user(owner)
+                .status(LogStatus.IN_PROGRESS)
+                .exerciseLogs(new HashSet<>(Set.of(e1)))
+                .build();
+        when(sessionLogRepository.findWithExecutionsByIdAndUserId(30L, USER_ID)).thenReturn(Optional.of(log));
+
+        ExecutionLogUpdateRequest valid = new ExecutionLogUpdateRequest();
+        valid.setExecutionLogId(70L);
+        valid.setActualSets(5);
+        valid.setActualReps(5);
+        valid.setActualWeight(5.0);
+        ExecutionLogUpdateRequest invalid = new ExecutionLogUpdateRequest();
+        invalid.setExecutionLogId(70L);
+        invalid.setActualSets(0);
+        invalid.setActualReps(5);
+        invalid.setActualWeight(5.0);
+
+        assertThrows(ResponseStatusException.class, () -> service.updateExecutions(30L, List.of(valid, invalid)));
+        assertEquals(3, e1.getActualSets());
+    }
+
+    // Testfall:
+    // Gültige Sätze einer laufenden Session werden in den Puffer gelegt
+    @Test
+    void ingestSets_whenValid_enqueuesAll() {
+        when(sessionLogRepository.findStatusByIdAndUserId(40L, USER_ID)).thenReturn(Optional.of(LogStatus.IN_PROGRESS));
+        when(executionLogRepository.findIdsBySessionLogId(40L)).thenReturn(Set.of(80L, 81L));
+
+        int accepted = service.ingestSets(40L, List.of(setRequest(80L, 1), setRequest(81L, 1)));
+
+        assertEquals(2, accepted);
+        verify(setLogBuffer).enqueueAll(argThat(events -> events.size() == 2
+                && events.stream().allMatch(e -> e.getSessionLogId().equals(40L) && e.getPerformedAt() != null)));
+    }
+
+    // Testfall:
+    // ExecutionLog gehört nicht zur Session → nichts wird gepuffert
+    @Test
+    void ingestSets_whenExecutionOfOtherSession_shouldThrow() {
+        when(sessionLogRepository.findStatusByIdAndUserId(41L, USER_ID)).thenReturn(Optional.of(LogStatus.IN_PROGRESS));
+        when(executionLogRepository.findIdsBySessionLogId(41L)).thenReturn(Set.of(80L));
+
+        assertThrows(ResponseStatusException.class,
+                () -> service.ingestSets(41L, List.of(setRequest(80L, 1), setRequest(99L, 1))));
+        verifyNoInteractions(setLogBuffer);
+    }
+
+    // Testfall:
+    // Abgeschlossene Sessions nehmen keine Sätze mehr an
+    @Test
+    void ingestSets_whenNotInProgress_shouldThrow() {
+        when(sessionLogRepository.findStatusByIdAndUserId(42L, USER_ID)).thenReturn(Optional.of(LogStatus.COMPLETED));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.ingestSets(42L, List.of(setRequest(80L, 1))));
+        assertTrue(ex.getMessage().contains("IN_PROGRESS"));
+        verifyNoInteractions(setLogBuffer);
+    }
+
+    // Testfall:
+    // Mehr Einträge als die Seitengröße → nextCursor zeigt auf den letzten Eintrag der Seite
+    @Test
+    void getTrainingHistory_whenMoreRows_returnsCursorOfLastItem() {
+        LocalDateTime t1 = LocalDateTime.of(2024, 5, 3, 18, 0);
+        LocalDateTime t2 = LocalDateTime.of(2024, 5, 2, 18, 0);
+        LocalDateTime t3 = LocalDateTime.of(2024, 5, 1, 18, 0);
+        when(sessionLogRepository.findHistoryPage(eq(USER_ID), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), any()))
+                .thenReturn(new ArrayList<>(List.of(
+                        summary(3L, t1), summary(2L, t2), summary(1L, t3))));
+
+        var page = service.getTrainingHistory(null, null, null, null, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+
+        // Der Cursor wird für die nächste Seite wieder in (startTime, id) zerlegt
+        when(sessionLogRepository.findHistoryPage(eq(USER_ID), isNull(), isNull(), isNull(), isNull(),
+                eq(t2), eq(2L), any()))
+                .thenReturn(new ArrayList<>(List.of(summary(1L, t3))));
+        var next = service.getTrainingHistory(null, null, null, null, page.getNextCursor(), 2);
+        assertEquals(1, next.getItems().size());
+        assertFalse(next.isHasMore());
+        assertNull(next.getNextCursor());
+    }
+
+    // Testfall:
+    // Manipulierter Cursor → 400
+    @Test
+    void getTrainingHistory_whenInvalidCursor_shouldThrow() {
+        assertThrows(ResponseStatusException.class,
+                () -> service.getTrainingHistory(null, null, null, null, "kein-cursor", 20));
+    }
+
+    private SessionLogSummaryResponse summary(Long id, LocalDateTime startTime) {
+        return SessionLogSummaryResponse.builder()
+                .id(id)
+                .sessionTemplateId(10L)
+                .sessionName("Temp")
+                .startTime(startTime)
+                .status(LogStatus.COMPLETED)
+                .build();
+    }
+
+    private SetLogRequest setRequest(Long executionLogId, int setNumber) {
+        SetLogRequest request = new SetLogRequest();
+        request.setExecutionLogId(executionLogId);
+        request.setSetNumber(setNumber);
+        request.setReps(8);
+        request.setWeight(60.0);
+        return request;
+    }
 }
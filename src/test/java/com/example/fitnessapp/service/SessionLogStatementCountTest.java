@@ -0,0 +1,173 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.SessionLogCreateRequest;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
+import com.example.fitnessapp.Model.TrainingSession1;
+import com.example.fitnessapp.Model.User;
+import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.TrainingSessionRepository1;
+import com.example.fitnessapp.Repository.UserRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.SessionLogService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Regressionstest gegen die echte (H2-)Datenbank:
+// Die Anzahl der SQL-Anweisungen beim Starten einer Session darf nicht mit der Anzahl der Übungen wachsen
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.fitnessapp.service.SessionLogStatementCountTest$CountingStatementInspector"
+})
+class SessionLogStatementCountTest {
+
+    private static final int EXERCISE_COUNT = 20;
+
+    @Autowired
+    private SessionLogService sessionLogService;
+
+    @Autowired
+    private TrainingSessionRepository1 trainingSessionRepository;
+
+    @Autowired
+    private ExerciseExecutionTemplateRepository templateRepository;
+
+    @Autowired
+    private ExerciseRepository1 exerciseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Exercise1 exercise;
+    private Long sessionTemplateId;
+
+    // Legt eine Übung und eine Trainingssession mit 20 Übungen an und meldet "max" im SecurityContext an
+    @BeforeEach
+    void setUp() {
+        exercise = exerciseRepository.save(Exercise1.builder()
+                .name("Kniebeugen " + UUID.randomUUID())
+                .category("Freihantel")
+                .muscleGroups(Set.of("Beine"))
+                .build());
+        sessionTemplateId = createSessionTemplate(EXERCISE_COUNT);
+
+        User max = userRepository.findByUsername("max").orElseThrow();
+        AuthenticatedUser principal = new AuthenticatedUser(max.getId(), max.getUsername(), null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Start einer Session mit 1 und mit 20 Übungen → gleiche Anzahl an Anweisungen (INSERT ... SELECT)
+    @Test
+    void start_withManyExercises_usesConstantNumberOfStatements() {
+        long single = countStartStatements(createSessionTemplate(1), 1);
+        long many = countStartStatements(sessionTemplateId, EXERCISE_COUNT);
+
+        assertEquals(single, many, "Statements must not grow with the number of exercises");
+    }
+
+    // Testfall:
+    // Detail-Ansicht einer Session → genau eine Abfrage, Ausführungen nach orderIndex sortiert
+    @Test
+    void getDetail_loadsEverythingInOneStatement() {
+        SessionLogCreateRequest request = new SessionLogCreateRequest();
+        request.setSessionTemplateId(sessionTemplateId);
+        Long logId = sessionLogService.start(request).getId();
+        statistics.clear();
+
+        var detail = sessionLogService.getDetail(logId);
+
+        assertEquals(EXERCISE_COUNT, detail.getExecutions().size());
+        assertEquals(1L, statistics.getPrepareStatementCount());
+        // Templates wurden in Reihenfolge 1..n angelegt, ihre IDs steigen daher mit orderIndex
+        List<Long> templateIds = detail.getExecutions().stream().map(e -> e.getExerciseTemplateId()).toList();
+        assertEquals(templateIds.stream().sorted().toList(), templateIds);
+    }
+
+    // Startet eine Session aus der Vorlage und liefert die Anzahl der Anweisungen ohne Sequenzabfragen.
+    // Ein ungemessener Start vorher lädt die session_log-Sequenz (der Pooled-Optimizer fragt sie beim ersten Mal
+    // zweimal ab); spätere Nachladungen eines ID-Blocks zählt der Inspector nicht mit.
+    private long countStartStatements(Long templateId, int expectedExecutions) {
+        SessionLogCreateRequest warmUp = new SessionLogCreateRequest();
+        warmUp.setSessionTemplateId(templateId);
+        sessionLogService.start(warmUp);
+
+        SessionLogCreateRequest request = new SessionLogCreateRequest();
+        request.setSessionTemplateId(templateId);
+        CountingStatementInspector.COUNT.set(0);
+
+        var detail = sessionLogService.start(request);
+
+        assertEquals(expectedExecutions, detail.getExecutions().size());
+        assertTrue(detail.getExecutions().stream().allMatch(e -> e.getId() != null));
+        return CountingStatementInspector.COUNT.get();
+    }
+
+    // Zählt alle von Hibernate vorbereiteten Anweisungen außer dem Nachladen von Sequenzwerten
+    public static class CountingStatementInspector implements StatementInspector {
+
+        static final AtomicLong COUNT = new AtomicLong();
+
+        @Override
+        public String inspect(String sql) {
+            if (!sql.trim().toLowerCase().startsWith("select next value for")) {
+                COUNT.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    // Legt eine Trainingssession mit der angegebenen Anzahl an Übungen an
+    private Long createSessionTemplate(int exerciseCount) {
+        TrainingSession1 session = trainingSessionRepository.save(TrainingSession1.builder()
+                .name("Beintag " + UUID.randomUUID())
+                .orderIndex(1)
+                .build());
+
+        List<ExerciseExecutionTemplate> templates = new ArrayList<>();
+        for (int i = 1; i <= exerciseCount; i++) {
+            templates.add(ExerciseExecutionTemplate.builder()
+                    .trainingSession(session)
+                    .exercise(exercise)
+                    .plannedSets(3)
+                    .plannedReps(10)
+                    .plannedWeight(80.0)
+                    .orderIndex(i)
+                    .build());
+        }
+        templateRepository.saveAll(templates);
+        return session.getId();
+    }
+}
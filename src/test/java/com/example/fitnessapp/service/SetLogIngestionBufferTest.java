@@ -0,0 +1,226 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.Model.SetLog;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.SetLogRepository;
+import com.example.fitnessapp.Service.SetLogIngestionBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für den Puffer der Satz-Ereignisse (Backpressure, Wiederholung, Verwerfen)
+@ExtendWith(MockitoExtension.class)
+class SetLogIngestionBufferTest {
+
+    @Mock// Mock für SetLogRepository (Batch-Insert)
+    private SetLogRepository setLogRepository;
+
+    @Mock// Mock für SessionLogRepository (Prüfung, ob die Session noch existiert)
+    private SessionLogRepository sessionLogRepository;
+
+    @Mock// Mock für den TransactionManager (jeder Batch in eigener Transaktion)
+    private PlatformTransactionManager transactionManager;
+
+    private SetLogIngestionBuffer buffer;
+
+    // Puffer mit 4 Plätzen, Batches zu 2 Einträgen, höchstens 2 Schreibversuche
+    @BeforeEach
+    void setUp() {
+        buffer = new SetLogIngestionBuffer(setLogRepository, sessionLogRepository, transactionManager, 4, 2, 2);
+    }
+
+    // Testfall:
+    // Zu wenig freie Plätze → 503, vom Request wird kein einziger Satz übernommen
+    @Test
+    void enqueueAll_whenNotEnoughCapacity_rejectsWholeRequest() {
+        buffer.enqueueAll(sets(1L, 3));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> buffer.enqueueAll(sets(2L, 2)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals(3, buffer.pending());
+        buffer.enqueueAll(sets(2L, 1)); // Der verbleibende Platz ist weiterhin nutzbar
+        assertEquals(4, buffer.pending());
+    }
+
+    // Testfall:
+    // Flush → alle Einträge in Batches von 2 geschrieben, Puffer danach leer
+    @Test
+    void flush_writesInBatches() {
+        givenAllSessionsExist();
+        buffer.enqueueAll(sets(1L, 3));
+
+        assertEquals(3, buffer.flush());
+
+        verify(setLogRepository, times(2)).saveAll(anyIterable());
+        assertEquals(0, buffer.pending());
+    }
+
+    // Testfall:
+    // Schreiben schlägt dauerhaft fehl → Batch wird nach maxWriteAttempts verworfen, die übrigen Sessions werden geschrieben
+    @Test
+    void flush_whenWriteKeepsFailing_dropsBatchAndContinues() {
+        givenAllSessionsExist();
+        List<SetLog> failing = sets(1L, 2);
+        buffer.enqueueAll(failing);
+        buffer.enqueueAll(sets(2L, 2));
+        when(setLogRepository.saveAll(anyIterable()))
+                .thenAnswer(invocation -> {
+                    failing.forEach(event -> event.setId(99L)); // IDs aus der zurückgerollten Transaktion
+                    throw new DataAccessResourceFailureException("db down");
+                })
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(List.of());
+
+        assertEquals(2, buffer.flush());
+
+        verify(setLogRepository, times(3)).saveAll(anyIterable()); // Begrenzte Anzahl an Versuchen, dann nächster Batch
+        assertEquals(0, buffer.pending());
+        assertTrue(failing.stream().allMatch(event -> event.getId() == null));
+    }
+
+    // Testfall:
+    // Session wurde inzwischen abgebrochen (gelöscht) → ihre Sätze werden verworfen statt verwaist geschrieben
+    @Test
+    void flush_dropsEntriesOfDeletedSessions() {
+        buffer.enqueueAll(sets(1L, 1));
+        buffer.enqueueAll(sets(2L, 1));
+        when(sessionLogRepository.findExistingIds(anyCollection())).thenReturn(Set.of(2L));
+
+        assertEquals(1, buffer.flush());
+
+        assertEquals(0, buffer.pending());
+        verify(setLogRepository).saveAll(argThat(batch -> {
+            List<SetLog> written = new ArrayList<>();
+            batch.forEach(written::add);
+            return written.size() == 1 && written.get(0).getSessionLogId().equals(2L);
+        }));
+    }
+
+    // Testfall:
+    // Einmaliger Fehler → zweiter Versuch im selben Flush schreibt den Batch
+    @Test
+    void flush_whenWriteFailsOnce_retriesBatch() {
+        givenAllSessionsExist();
+        buffer.enqueueAll(sets(1L, 2));
+        when(setLogRepository.saveAll(anyIterable()))
+                .thenThrow(new DataAccessResourceFailureException("deadlock"))
+                .thenReturn(List.of());
+
+        assertEquals(2, buffer.flush());
+        assertEquals(0, buffer.pending());
+    }
+
+    // Testfall:
+    // Flush einer Session → nur deren Einträge werden in neuer Transaktion geschrieben, die übrigen bleiben gepuffert
+    @Test
+    void flushSession_writesOnlyEntriesOfSession() {
+        givenAllSessionsExist();
+        buffer.enqueueAll(sets(2L, 1));
+        buffer.enqueueAll(sets(1L, 3));
+
+        assertEquals(3, buffer.flushSession(1L));
+
+        assertEquals(1, buffer.pending());
+        verify(setLogRepository, times(2)).saveAll(argThat(batch -> {
+            List<SetLog> written = new ArrayList<>();
+            batch.forEach(written::add);
+            return written.stream().allMatch(event -> event.getSessionLogId().equals(1L));
+        }));
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    // Testfall:
+    // Schreiben beim Flush einer Session schlägt fehl → deren Einträge bleiben gepuffert
+    @Test
+    void flushSession_whenWriteFails_keepsEntries() {
+        givenAllSessionsExist();
+        buffer.enqueueAll(sets(1L, 2));
+        when(setLogRepository.saveAll(anyIterable())).thenThrow(new DataAccessResourceFailureException("db down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> buffer.flushSession(1L));
+
+        assertEquals(2, buffer.pending());
+    }
+
+    // Testfall:
+    // Verwerfen → nur Einträge der abgebrochenen Session werden entfernt
+    @Test
+    void discard_removesOnlyEntriesOfSession() {
+        givenAllSessionsExist();
+        buffer.enqueueAll(sets(1L, 2));
+        buffer.enqueueAll(sets(2L, 1));
+
+        buffer.discard(1L);
+
+        assertEquals(1, buffer.pending());
+        buffer.flush();
+        verify(setLogRepository).saveAll(argThat(batch -> {
+            List<SetLog> written = new ArrayList<>();
+            batch.forEach(written::add);
+            return written.size() == 1 && written.get(0).getSessionLogId().equals(2L);
+        }));
+    }
+
+    // Testfall:
+    // Verwerfen während eines laufenden Flush → wartet, bis der Batch geschrieben ist (keine verwaisten Sätze)
+    @Test
+    void discard_waitsForInFlightFlush() throws Exception {
+        givenAllSessionsExist();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        buffer.enqueueAll(sets(1L, 2));
+        when(setLogRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<Integer> flush = CompletableFuture.supplyAsync(buffer::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> discard = CompletableFuture.runAsync(() -> buffer.discard(1L));
+
+        Thread.sleep(100);
+        assertFalse(discard.isDone());
+        release.countDown();
+
+        assertEquals(2, flush.get(5, TimeUnit.SECONDS));
+        discard.get(5, TimeUnit.SECONDS);
+        assertEquals(0, buffer.pending());
+    }
+
+    private void givenAllSessionsExist() {
+        when(sessionLogRepository.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<Long>(invocation.getArgument(0)));
+    }
+
+    private static List<SetLog> sets(Long sessionLogId, int count) {
+        List<SetLog> events = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            events.add(SetLog.builder().sessionLogId(sessionLogId).executionLogId(10L).setNumber(i)
+                    .reps(8).weight(60.0).performedAt(LocalDateTime.now()).build());
+        }
+        return events;
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.fitnessapp.service;
 
 import com.example.fitnessapp.DTOs.TrainingPlanDetailResponse;
+import com.example.fitnessapp.DTOs.TrainingPlanOverviewResponse;
 import com.example.fitnessapp.DTOs.TrainingPlanRequest;
+import com.example.fitnessapp.DTOs.TrainingSessionSummaryResponse;
 import com.example.fitnessapp.Model.ExerciseExecutionTemplate;
 import com.example.fitnessapp.Model.TrainingPlan1;
+import com.example.fitnessapp.Model.TrainingPlanSessionTemplate;
 import com.example.fitnessapp.Model.TrainingSession1;
 import com.example.fitnessapp.Repository.ExerciseExecutionTemplateRepository;
 import com.example.fitnessapp.Repository.TrainingPlanRepository1;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -61,8 +65,9 @@ class TrainingPlanServiceUnitTest {
     // --> Der Service soll eine Übersicht zurückgeben inkl. Anzahl Sessions
     @Test
     void getAllTrainingPlans_returnsOverview() {
-        when(planRepository.findAll()).thenReturn(List.of(plan));
-        when(sessionRepository.countByTrainingPlan_Id(1L)).thenReturn(2L);
+        // Eine Projektionsabfrage liefert Plan und Anzahl Sessions zusammen
+        when(planRepository.findAllOverviews()).thenReturn(List.of(
+                new TrainingPlanOverviewResponse(1L, "Plan", "D", 2L)));
         var list = service.getAllTrainingPlans();
         // Erwartung:Genau ein Plan in der Liste
         assertEquals(1, list.size());
@@ -90,7 +95,7 @@ class TrainingPlanServiceUnitTest {
     @Test
     void getTrainingPlanById_returnsDetail_withSessionsHint() {
         when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
-        when(sessionRepository.findByTrainingPlan_IdOrderByOrderIndexAsc(1L))
+        when(planTemplateRepository.findSessionSummariesByPlanId(1L))
                 .thenReturn(List.of());
         TrainingPlanDetailResponse resp = service.getTrainingPlanById(1L);
         assertFalse(resp.isHasSessions());
@@ -102,17 +107,10 @@ class TrainingPlanServiceUnitTest {
     // Zusätzlich werden die Übungstemplates pro Session gezählt.
     @Test
     void getTrainingPlanById_withSessions_returnsHasSessionsTrueAndSummaries() {
-        TrainingSession1 s = TrainingSession1.builder()
-                .id(7L)
-                .name("S1")
-                .orderIndex(1)
-                .build();
-
         when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
-        when(sessionRepository.findByTrainingPlan_IdOrderByOrderIndexAsc(1L))
-                .thenReturn(List.of(s));
-        when(templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(7L))
-                .thenReturn(List.of(ExerciseExecutionTemplate.builder().id(2L).build()));
+        // Sessions inkl. Anzahl Übungen kommen aus einer Projektionsabfrage
+        when(planTemplateRepository.findSessionSummariesByPlanId(1L))
+                .thenReturn(List.of(new TrainingSessionSummaryResponse(7L, "S1", 1, 1)));
 
         TrainingPlanDetailResponse resp = service.getTrainingPlanById(1L);
         assertTrue(resp.isHasSessions());
@@ -219,37 +217,88 @@ class TrainingPlanServiceUnitTest {
         verify(planRepository).delete(plan);
     }
 
+    // Testfall:
+    // Anhängen ans Ende → nur der neue Link wird geschrieben (Schlüssel = letzter + Lücke)
     @Test
-    void addTemplateToPlan_createsCopyAndCopiesExercises() {
-        TrainingSession1 template = TrainingSession1.builder().id(20L).name("Tpl").orderIndex(1).build();
+    void addTemplateToPlan_append_writesOnlyNewLink() {
+        TrainingSession1 template = TrainingSession1.builder().id(20L).name("Tpl").build();
         when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
         when(sessionRepository.findById(20L)).thenReturn(Optional.of(template));
-        when(sessionRepository.countByTrainingPlan_Id(1L)).thenReturn(0L);
-        when(templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(20L))
-                .thenReturn(List.of(ExerciseExecutionTemplate.builder().id(5L).build()));
-        when(sessionRepository.findByName(anyString())).thenReturn(Optional.empty());
-        when(sessionRepository.save(any())).thenAnswer(i -> {
-            TrainingSession1 s = i.getArgument(0);
-            s.setId(99L);
-            return s;
-        });
+        when(planTemplateRepository.findByTrainingPlan_IdAndTrainingSession_Id(1L, 20L)).thenReturn(Optional.empty());
+        when(planTemplateRepository.findPositionsByPlanId(1L)).thenReturn(List.of(1024, 2048));
 
         service.addTemplateToPlan(1L, 20L, null);
 
-        verify(sessionRepository).save(any());
-        verify(templateRepository).save(any());
+        ArgumentCaptor<TrainingPlanSessionTemplate> captor = ArgumentCaptor.forClass(TrainingPlanSessionTemplate.class);
+        verify(planTemplateRepository).save(captor.capture());
+        assertEquals(3072, captor.getValue().getPosition());
+        verify(planTemplateRepository, never()).saveAll(any());
     }
 
+    // Testfall:
+    // Einfügen zwischen zwei Links → Schlüssel in der Mitte der Lücke, keine Verschiebung der anderen
     @Test
-    void removeTemplateFromPlan_deletesSessionAndExercises() {
-        TrainingSession1 s = TrainingSession1.builder().id(30L).trainingPlan(plan).build();
-        when(sessionRepository.findById(30L)).thenReturn(Optional.of(s));
-        when(templateRepository.findByTrainingSession_IdOrderByOrderIndexAsc(30L))
-                .thenReturn(List.of(ExerciseExecutionTemplate.builder().id(7L).build()));
+    void addTemplateToPlan_insertBetween_usesMidpoint() {
+        TrainingSession1 template = TrainingSession1.builder().id(20L).name("Tpl").build();
+        when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
+        when(sessionRepository.findById(20L)).thenReturn(Optional.of(template));
+        when(planTemplateRepository.findByTrainingPlan_IdAndTrainingSession_Id(1L, 20L)).thenReturn(Optional.empty());
+        when(planTemplateRepository.findPositionsByPlanId(1L)).thenReturn(List.of(1024, 2048));
+
+        service.addTemplateToPlan(1L, 20L, 2);
+
+        ArgumentCaptor<TrainingPlanSessionTemplate> captor = ArgumentCaptor.forClass(TrainingPlanSessionTemplate.class);
+        verify(planTemplateRepository).save(captor.capture());
+        assertEquals(1536, captor.getValue().getPosition());
+        verify(planTemplateRepository, never()).saveAll(any());
+    }
+
+    // Testfall:
+    // Keine Lücke mehr frei → einmalige Neuverteilung mit Platz an der Einfügestelle
+    @Test
+    void addTemplateToPlan_whenGapExhausted_renormalizes() {
+        TrainingSession1 template = TrainingSession1.builder().id(20L).name("Tpl").build();
+        TrainingPlanSessionTemplate first = TrainingPlanSessionTemplate.builder().id(1L).position(5).build();
+        TrainingPlanSessionTemplate second = TrainingPlanSessionTemplate.builder().id(2L).position(6).build();
+        when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
+        when(sessionRepository.findById(20L)).thenReturn(Optional.of(template));
+        when(planTemplateRepository.findByTrainingPlan_IdAndTrainingSession_Id(1L, 20L)).thenReturn(Optional.empty());
+        when(planTemplateRepository.findPositionsByPlanId(1L)).thenReturn(List.of(5, 6));
+        when(planTemplateRepository.findByTrainingPlan_IdOrderByPositionAsc(1L)).thenReturn(List.of(first, second));
+
+        service.addTemplateToPlan(1L, 20L, 2);
+
+        ArgumentCaptor<TrainingPlanSessionTemplate> captor = ArgumentCaptor.forClass(TrainingPlanSessionTemplate.class);
+        verify(planTemplateRepository).save(captor.capture());
+        assertEquals(1024, first.getPosition());
+        assertEquals(3072, second.getPosition());
+        assertEquals(2048, captor.getValue().getPosition());
+    }
+
+    // Testfall:
+    // Entfernen → nur der Link wird gelöscht, keine Neunummerierung
+    @Test
+    void removeTemplateFromPlan_deletesOnlyLink() {
+        TrainingPlanSessionTemplate link = TrainingPlanSessionTemplate.builder().id(8L).position(2048).build();
+        when(planTemplateRepository.findByTrainingPlan_IdAndTrainingSession_Id(1L, 30L)).thenReturn(Optional.of(link));
 
         service.removeTemplateFromPlan(1L, 30L);
 
-        verify(templateRepository).deleteAll(anyList());
-        verify(sessionRepository).delete(s);
+        verify(planTemplateRepository).delete(link);
+        verify(planTemplateRepository, never()).saveAll(any());
+    }
+
+    // Testfall:
+    // Detail-Ansicht → lückenhafte Schlüssel werden als Positionen 1..n ausgegeben
+    @Test
+    void getTrainingPlanById_returnsDensePositions() {
+        when(planRepository.findById(1L)).thenReturn(Optional.of(plan));
+        when(planTemplateRepository.findSessionSummariesByPlanId(1L)).thenReturn(List.of(
+                new TrainingSessionSummaryResponse(4L, "A", 1024, 2),
+                new TrainingSessionSummaryResponse(5L, "B", 1536, 3)));
+
+        var detail = service.getTrainingPlanById(1L);
+
+        assertEquals(List.of(1, 2), detail.getSessions().stream().map(TrainingSessionSummaryResponse::getOrderIndex).toList());
     }
-}
\ No newline at end of file
+}
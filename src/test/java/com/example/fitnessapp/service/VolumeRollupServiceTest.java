@@ -0,0 +1,243 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.DTOs.VolumeBucketResponse;
+import com.example.fitnessapp.Model.Exercise1;
+import com.example.fitnessapp.Model.VolumeDimension;
+import com.example.fitnessapp.Model.VolumeGranularity;
+import com.example.fitnessapp.Model.VolumeRollup;
+import com.example.fitnessapp.Repository.ExecutionLogRepository;
+import com.example.fitnessapp.Repository.ExerciseRepository1;
+import com.example.fitnessapp.Repository.SessionLogRepository;
+import com.example.fitnessapp.Repository.VolumeRollupRepository;
+import com.example.fitnessapp.Security.AuthenticatedUser;
+import com.example.fitnessapp.Service.MuscleGroupDictionary;
+import com.example.fitnessapp.Service.SessionLogCompletedEvent;
+import com.example.fitnessapp.Service.VolumeRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Unit-Tests für die inkrementelle Volumen-Auswertung je Zeitraum, Übung und Muskelgruppe
+@ExtendWith(MockitoExtension.class)
+class VolumeRollupServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final long BRUST = 1L;
+    private static final long TRIZEPS = 1L << 1;
+    // Mittwoch → Woche ab Montag 2024-05-13, Monat ab 2024-05-01
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 15);
+
+    @Mock// Mock für die vorberechneten Zeilen
+    private VolumeRollupRepository rollupRepository;
+
+    @Mock// Mock für die Aggregat-Abfragen über ExecutionLogs
+    private ExecutionLogRepository executionLogRepository;
+
+    @Mock// Mock für SessionLogRepository (Benutzer für den Neuaufbau)
+    private SessionLogRepository sessionLogRepository;
+
+    @Mock// Mock für ExerciseRepository1 (Namen der Übungen)
+    private ExerciseRepository1 exerciseRepository;
+
+    @Mock// Mock für das Wörterbuch (Namen der Muskelgruppen)
+    private MuscleGroupDictionary dictionary;
+
+    @Mock// Mock für den TransactionManager (Fortschreiben und Neuaufbau in eigener Transaktion)
+    private PlatformTransactionManager transactionManager;
+
+    private VolumeRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VolumeRollupService(rollupRepository, executionLogRepository, sessionLogRepository,
+                exerciseRepository, dictionary, transactionManager, 2);
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "max", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Testfall:
+    // Abschluss einer Session → bestehende Wochenzeile wird atomar erhöht, fehlende Zeilen werden angelegt
+    @Test
+    @SuppressWarnings("unchecked")
+    void onSessionLogCompleted_addsToExistingAndCreatesMissingBuckets() {
+        // 3 × 10 × 60 kg Bankdrücken (Brust + Trizeps)
+        when(executionLogRepository.sumVolumeBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, BRUST | TRIZEPS, 1800.0, 3L, 30L}));
+        when(rollupRepository.addToBucket(any(), any(), any(), any(), any(), anyDouble(), anyLong(), anyLong())).thenReturn(0);
+        when(rollupRepository.addToBucket(USER_ID, VolumeGranularity.WEEK, LocalDate.of(2024, 5, 13),
+                VolumeDimension.EXERCISE, 100L, 1800.0, 3L, 30L)).thenReturn(1);
+
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(7L, USER_ID, DAY.atTime(18, 0)));
+
+        // 3 Zeiträume × (1 Übung + 2 Muskelgruppen), davon existiert nur die Wochenzeile der Übung
+        verify(rollupRepository, times(9)).addToBucket(any(), any(), any(), any(), any(), anyDouble(), anyLong(), anyLong());
+        ArgumentCaptor<Iterable<VolumeRollup>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(rollupRepository).saveAll(captor.capture());
+        List<VolumeRollup> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+        assertEquals(8, saved.size());
+        VolumeRollup monthTrizeps = saved.stream()
+                .filter(r -> r.getGranularity() == VolumeGranularity.MONTH
+                        && r.getDimension() == VolumeDimension.MUSCLE_GROUP && r.getDimensionId() == 1L)
+                .findFirst().orElseThrow();
+        assertEquals(LocalDate.of(2024, 5, 1), monthTrizeps.getBucketStart());
+        assertEquals(1800.0, monthTrizeps.getVolume());
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    // Testfall:
+    // Paralleler Abschluss legt eine Zeile zuerst an (uk_volume_rollup_bucket) → zweiter Versuch addiert auf die neue Zeile
+    @Test
+    void onSessionLogCompleted_whenRowInsertedConcurrently_retries() {
+        when(executionLogRepository.sumVolumeBySessionLogId(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{100L, 0L, 1800.0, 3L, 30L}));
+        when(rollupRepository.saveAll(anyIterable()))
+                .thenThrow(new DataIntegrityViolationException("uk_volume_rollup_bucket"));
+        when(rollupRepository.addToBucket(any(), any(), any(), any(), any(), anyDouble(), anyLong(), anyLong()))
+                .thenReturn(0, 0, 0, 1);
+
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(7L, USER_ID, DAY.atTime(18, 0)));
+
+        verify(rollupRepository, times(6)).addToBucket(any(), any(), any(), any(), any(), anyDouble(), anyLong(), anyLong());
+        verify(rollupRepository, times(1)).saveAll(anyIterable()); // Im zweiten Versuch existieren alle Zeilen
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    // Testfall:
+    // Fehler in der Auswertung → wird nur protokolliert, der Abschluss (bereits committet) ist nicht betroffen
+    @Test
+    void onSessionLogCompleted_whenUpdateFails_doesNotThrow() {
+        when(executionLogRepository.sumVolumeBySessionLogId(7L)).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(() -> service.onSessionLogCompleted(new SessionLogCompletedEvent(7L, USER_ID, DAY.atTime(18, 0))));
+
+        verify(transactionManager).rollback(any());
+    }
+
+    // Testfall:
+    // Session ohne abgeschlossene Übungen → nichts wird geschrieben
+    @Test
+    void onSessionLogCompleted_withoutCompletedExercises_writesNothing() {
+        when(executionLogRepository.sumVolumeBySessionLogId(8L)).thenReturn(List.of());
+
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(8L, USER_ID, DAY.atStartOfDay()));
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    // Testfall:
+    // Session ohne Startzeit → lässt sich keinem Zeitraum zuordnen und wird übersprungen
+    @Test
+    void onSessionLogCompleted_withoutStartTime_skips() {
+        service.onSessionLogCompleted(new SessionLogCompletedEvent(8L, USER_ID, null));
+
+        verifyNoInteractions(executionLogRepository, rollupRepository, transactionManager);
+    }
+
+    // Testfall:
+    // Abfrage nach Muskelgruppe → Zeitraum wird auf den Wochenbeginn normalisiert, Namen kommen aus dem Wörterbuch
+    @Test
+    void getVolume_byMuscleGroup_labelsBucketsFromDictionary() {
+        VolumeRollup rollup = VolumeRollup.builder().userId(USER_ID)
+                .granularity(VolumeGranularity.WEEK).bucketStart(LocalDate.of(2024, 5, 13))
+                .dimension(VolumeDimension.MUSCLE_GROUP).dimensionId(1L)
+                .volume(1800.0).sets(3L).reps(30L).build();
+        when(rollupRepository.findSeries(USER_ID, VolumeGranularity.WEEK, VolumeDimension.MUSCLE_GROUP,
+                LocalDate.of(2024, 5, 13), LocalDate.of(2024, 5, 31))).thenReturn(List.of(rollup));
+        when(dictionary.nameOf(1)).thenReturn("Trizeps");
+
+        List<VolumeBucketResponse> result = service.getVolume(VolumeGranularity.WEEK, VolumeDimension.MUSCLE_GROUP,
+                DAY, LocalDate.of(2024, 5, 31));
+
+        assertEquals(1, result.size());
+        assertEquals("Trizeps", result.get(0).getLabel());
+        assertEquals(1800.0, result.get(0).getVolume());
+        verifyNoInteractions(exerciseRepository);
+    }
+
+    // Testfall:
+    // Abfrage nach Übung → Namen mit einer Abfrage für alle IDs
+    @Test
+    void getVolume_byExercise_labelsBucketsWithExerciseNames() {
+        VolumeRollup rollup = VolumeRollup.builder().userId(USER_ID)
+                .granularity(VolumeGranularity.DAY).bucketStart(DAY)
+                .dimension(VolumeDimension.EXERCISE).dimensionId(100L)
+                .volume(1800.0).sets(3L).reps(30L).build();
+        when(rollupRepository.findSeries(USER_ID, VolumeGranularity.DAY, VolumeDimension.EXERCISE, DAY, DAY))
+                .thenReturn(List.of(rollup));
+        when(exerciseRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(Exercise1.builder().id(100L).name("Bankdrücken").build()));
+
+        List<VolumeBucketResponse> result = service.getVolume(VolumeGranularity.DAY, VolumeDimension.EXERCISE, DAY, DAY);
+
+        assertEquals("Bankdrücken", result.get(0).getLabel());
+    }
+
+    // Testfall:
+    // from nach to → 400
+    @Test
+    void getVolume_whenFromAfterTo_shouldThrow() {
+        assertThrows(ResponseStatusException.class, () -> service.getVolume(VolumeGranularity.DAY,
+                VolumeDimension.EXERCISE, DAY.plusDays(1), DAY));
+        verifyNoInteractions(rollupRepository);
+    }
+
+    // Testfall:
+    // Neuaufbau → je Benutzer Löschen und Neuberechnen, zwei Sessions am selben Tag landen in derselben Zeile
+    @Test
+    void rebuildAll_recomputesEveryUser() {
+        when(sessionLogRepository.findUserIdsWithCompletedLogs()).thenReturn(List.of(1L, 2L));
+        LocalDateTime morning = DAY.atTime(8, 0);
+        LocalDateTime evening = DAY.atTime(19, 0);
+        when(executionLogRepository.sumVolumeByUserId(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{morning, 100L, BRUST, 1000.0, 2L, 20L},
+                new Object[]{evening, 100L, BRUST, 500.0, 1L, 10L}));
+        when(executionLogRepository.sumVolumeByUserId(2L)).thenReturn(List.of());
+
+        assertEquals(2, service.rebuildAll());
+
+        verify(rollupRepository).deleteByUserId(1L);
+        verify(rollupRepository).deleteByUserId(2L);
+        verify(rollupRepository, times(2)).saveAll(anyIterable());
+        assertEquals(6, service.rebuildUser(1L)); // 3 Zeiträume × (1 Übung + 1 Muskelgruppe)
+    }
+
+    // Testfall:
+    // Neuaufbau mit einer Session ohne Startzeit → Zeile wird übersprungen statt den Neuaufbau abzubrechen
+    @Test
+    void rebuildUser_skipsSessionsWithoutStartTime() {
+        when(executionLogRepository.sumVolumeByUserId(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{null, 100L, BRUST, 1000.0, 2L, 20L},
+                new Object[]{DAY.atTime(8, 0), 100L, BRUST, 500.0, 1L, 10L}));
+
+        assertEquals(6, service.rebuildUser(1L)); // Nur die Session mit Startzeit: 3 Zeiträume × 2 Dimensionen
+
+        verify(rollupRepository).deleteByUserId(1L);
+    }
+}